@@ -21,13 +21,18 @@ import android.content.Intent;
 import android.net.Uri;
 import android.os.Handler;
 import android.os.Looper;
+import android.util.Log;
 
 import com.facebook.react.bridge.ActivityEventListener;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
 import com.google.vr.sdk.audio.GvrAudioEngine;
 import com.magicleap.magicscript.ar.AnchorCreator;
 import com.magicleap.magicscript.ar.ArResourcesProvider;
@@ -42,20 +47,30 @@ import com.magicleap.magicscript.ar.renderable.CubeRenderableBuilder;
 import com.magicleap.magicscript.ar.renderable.CubeRenderableBuilderImpl;
 import com.magicleap.magicscript.ar.renderable.ModelRenderableLoader;
 import com.magicleap.magicscript.ar.renderable.ModelRenderableLoaderImpl;
+import com.magicleap.magicscript.ar.renderable.RecycledViewPool;
+import com.magicleap.magicscript.ar.renderable.RefCountedLruCache;
 import com.magicleap.magicscript.ar.renderable.VideoRenderableLoader;
 import com.magicleap.magicscript.ar.renderable.VideoRenderableLoaderImpl;
 import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader;
 import com.magicleap.magicscript.ar.renderable.ViewRenderableLoaderImpl;
+import com.magicleap.magicscript.ar.renderable.ViewRenderablePool;
 import com.magicleap.magicscript.font.FontProvider;
 import com.magicleap.magicscript.font.providers.AndroidFontProvider;
 import com.magicleap.magicscript.font.providers.FontProviderImpl;
 import com.magicleap.magicscript.icons.DefaultIconsProvider;
+import com.magicleap.magicscript.icons.DrawableStatesCache;
 import com.magicleap.magicscript.icons.ExternalIconsProvider;
 import com.magicleap.magicscript.icons.IconsRepository;
 import com.magicleap.magicscript.icons.IconsRepositoryImpl;
 import com.magicleap.magicscript.icons.ToggleIconsProviderImpl;
+import com.magicleap.magicscript.images.GlideImageLoader;
+import com.magicleap.magicscript.images.ImageLoader;
+import com.magicleap.magicscript.scene.FrameWorkScheduler;
 import com.magicleap.magicscript.scene.NodesManager;
+import com.magicleap.magicscript.scene.NodesProfiler;
 import com.magicleap.magicscript.scene.ReactScene;
+import com.magicleap.magicscript.scene.SceneMutation;
+import com.magicleap.magicscript.scene.SceneMutationsDecoder;
 import com.magicleap.magicscript.scene.nodes.ContentNode;
 import com.magicleap.magicscript.scene.nodes.GroupNode;
 import com.magicleap.magicscript.scene.nodes.LineNode;
@@ -82,6 +97,7 @@ import com.magicleap.magicscript.scene.nodes.audio.ExternalAudioEngine;
 import com.magicleap.magicscript.scene.nodes.audio.GvrAudioEngineWrapper;
 import com.magicleap.magicscript.scene.nodes.audio.VrAudioEngine;
 import com.magicleap.magicscript.scene.nodes.base.ReactNode;
+import com.magicleap.magicscript.scene.nodes.base.UiNode;
 import com.magicleap.magicscript.scene.nodes.button.UiButtonNode;
 import com.magicleap.magicscript.scene.nodes.dialog.DialogNode;
 import com.magicleap.magicscript.scene.nodes.dropdown.UiDropdownListItemNode;
@@ -99,6 +115,8 @@ import com.magicleap.magicscript.scene.nodes.layouts.params.LayoutParams;
 import com.magicleap.magicscript.scene.nodes.picker.NativeFilePickerNode;
 import com.magicleap.magicscript.scene.nodes.prism.AppInfoProvider;
 import com.magicleap.magicscript.scene.nodes.prism.Prism;
+import com.magicleap.magicscript.scene.nodes.props.NodeProps;
+import com.magicleap.magicscript.scene.nodes.props.PropsDiff;
 import com.magicleap.magicscript.scene.nodes.toggle.LinearToggleViewManager;
 import com.magicleap.magicscript.scene.nodes.toggle.ToggleGroupNode;
 import com.magicleap.magicscript.scene.nodes.toggle.ToggleViewManager;
@@ -110,7 +128,9 @@ import com.magicleap.magicscript.scene.nodes.video.VideoPlayerImpl;
 import com.magicleap.magicscript.scene.nodes.views.DialogProvider;
 import com.magicleap.magicscript.scene.nodes.views.DialogProviderImpl;
 import com.magicleap.magicscript.utils.ArActivityProvider;
+import com.magicleap.magicscript.utils.AssetsIndex;
 import com.magicleap.magicscript.utils.FileProvider;
+import com.magicleap.magicscript.utils.UriFileCache;
 import com.magicleap.magicscript.utils.UriFileProvider;
 
 import org.jetbrains.annotations.NotNull;
@@ -133,11 +153,54 @@ import java.util.concurrent.Executors;
 public class ARComponentManager extends ReactContextBaseJavaModule implements LifecycleEventListener, ActivityEventListener {
 
     private static final String COMPONENT_NAME = "ARComponentManager";
+    private static final String LOG_TAG = "AR_LOG";
+
+    // Node types (element names from JS components mapping)
+    private static final String NODE_SCENE = "scene";
+    private static final String NODE_PRISM = "prism";
+    private static final String NODE_GROUP = "view";
+    private static final String NODE_BUTTON = "button";
+    private static final String NODE_IMAGE = "image";
+    private static final String NODE_TEXT = "text";
+    private static final String NODE_TEXT_EDIT = "textEdit";
+    private static final String NODE_MODEL = "model";
+    private static final String NODE_VIDEO = "video";
+    private static final String NODE_SCROLL_BAR = "scrollBar";
+    private static final String NODE_SCROLL_VIEW = "scrollView";
+    private static final String NODE_SLIDER = "slider";
+    private static final String NODE_SPINNER = "spinner";
+    private static final String NODE_CIRCLE_CONFIRMATION = "circleConfirmation";
+    private static final String NODE_TOGGLE = "toggle";
+    private static final String NODE_TOGGLE_GROUP = "toggleGroup";
+    private static final String NODE_PROGRESS_BAR = "progressBar";
+    private static final String NODE_LINE = "line";
+    private static final String NODE_GRID_LAYOUT = "gridLayout";
+    private static final String NODE_LINEAR_LAYOUT = "linearLayout";
+    private static final String NODE_DROPDOWN_LIST = "dropdownList";
+    private static final String NODE_DROPDOWN_LIST_ITEM = "dropdownListItem";
+    private static final String NODE_COLOR_PICKER = "colorPicker";
+    private static final String NODE_WEB_VIEW = "webView";
+    private static final String NODE_RECT_LAYOUT = "rectLayout";
+    private static final String NODE_LIST_VIEW_ITEM = "listViewItem";
+    private static final String NODE_LIST_VIEW = "listView";
+    private static final String NODE_DATE_PICKER = "datePicker";
+    private static final String NODE_TIME_PICKER = "timePicker";
+    private static final String NODE_DIALOG = "dialog";
+    private static final String NODE_TAB = "tab";
+    private static final String NODE_PANEL = "panel";
+    private static final String NODE_CONTENT = "content";
+    private static final String NODE_PAGE_VIEW = "pageView";
+    private static final String NODE_AUDIO = "audio";
+    private static final String NODE_FILE_PICKER = "filePicker";
+
     // All code inside react method must be called from main thread
     private Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Main thread work is executed in chunks limited by a per-frame budget
+    private FrameWorkScheduler workScheduler;
     private ReactApplicationContext context;
     private NodesManager nodesManager;
     private EventsManager eventsManager;
+    private SceneMutationsDecoder mutationsDecoder = new SceneMutationsDecoder();
     private ArResourcesProvider arResourcesProvider;
     private AppInfoProvider appInfoProvider;
 
@@ -146,10 +209,15 @@ public class ARComponentManager extends ReactContextBaseJavaModule implements Li
     private ModelRenderableLoader modelRenderableLoader;
     private VideoRenderableLoader videoRenderableLoader;
 
+    // Views released by nodes, recycled by next nodes of the same type
+    private RecycledViewPool viewPool = new RecycledViewPool();
+
     // Other resources providers
     private FontProvider fontProvider;
     private IconsRepository iconsRepo;
+    private ImageLoader imageLoader;
     private DialogProvider dialogProvider;
+    private UriFileCache uriFileCache;
 
     private MediaPlayerPool mediaPlayerPool;
     private List<ActivityResultObserver> activityResultObservers = new ArrayList<>();
@@ -167,18 +235,28 @@ public class ARComponentManager extends ReactContextBaseJavaModule implements Li
         this.mediaPlayerPool = mediaPlayerPool;
         this.arResourcesProvider = arResourcesProvider;
         this.appInfoProvider = appInfoProvider;
+        this.workScheduler = new FrameWorkScheduler(arResourcesProvider, mainHandler);
 
         this.viewRenderableLoader = new ViewRenderableLoaderImpl(context, arResourcesProvider);
         this.modelRenderableLoader = new ModelRenderableLoaderImpl(context, arResourcesProvider);
         this.videoRenderableLoader = new VideoRenderableLoaderImpl(context, arResourcesProvider);
 
+        AssetsIndex assetsIndex = new AssetsIndex(context.getAssets());
+        assetsIndex.preloadInBackground(FontProviderImpl.FONTS_DIR, ExternalIconsProvider.ICONS_DIR);
+
         AndroidFontProvider androidFontProvider = new AndroidFontProvider();
-        this.fontProvider = new FontProviderImpl(context, androidFontProvider);
+        FontProviderImpl fontProvider = new FontProviderImpl(context, androidFontProvider, assetsIndex);
+        // loading the fonts before the first text nodes are built
+        fontProvider.preloadFontsInBackground();
+        this.fontProvider = fontProvider;
 
         DefaultIconsProvider defaultIconsProvider = new DefaultIconsProvider(context);
-        ExternalIconsProvider externalIconsProvider = new ExternalIconsProvider(context);
+        ExternalIconsProvider externalIconsProvider =
+                new ExternalIconsProvider(context, assetsIndex, new DrawableStatesCache());
         this.iconsRepo = new IconsRepositoryImpl(defaultIconsProvider, externalIconsProvider);
+        this.imageLoader = new GlideImageLoader(context);
         this.dialogProvider = new DialogProviderImpl(new ArActivityProvider());
+        this.uriFileCache = new UriFileCache(context);
 
         Clipper textureClipper = new TextureClipper();
         Clipper uiColliderClipper = new UiNodeColliderClipper();
@@ -203,30 +281,12 @@ public class ARComponentManager extends ReactContextBaseJavaModule implements Li
 
     @ReactMethod
     public void createScene(final ReadableMap props, final String nodeId) {
-        ReactScene scene = new ReactScene(props, arResourcesProvider);
-
-        Uri deepLink = readDeepLink();
-        if (deepLink != null) {
-            scene.setDeepLink(deepLink.toString());
-        }
-
-        mainHandler.post(() -> addNode(scene, nodeId));
+        workScheduler.schedule(() -> addNode(NODE_SCENE, props, nodeId));
     }
 
     @ReactMethod
     public void createPrism(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            CubeRenderableBuilder cubeRenderableBuilder = new CubeRenderableBuilderImpl(context, arResourcesProvider);
-            AnchorCreator anchorCreator = new SimpleAnchorCreator(arResourcesProvider);
-            Prism prism = new Prism(props,
-                                    context,
-                                    modelRenderableLoader,
-                                    cubeRenderableBuilder,
-                                    anchorCreator,
-                                    arResourcesProvider,
-                                    appInfoProvider);
-            addNode(prism, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_PRISM, props, nodeId));
     }
 
     /**
@@ -237,7 +297,7 @@ public class ARComponentManager extends ReactContextBaseJavaModule implements Li
      */
     @ReactMethod
     public void createGroupNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new GroupNode(props), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_GROUP, props, nodeId));
     }
 
     /**
@@ -248,441 +308,553 @@ public class ARComponentManager extends ReactContextBaseJavaModule implements Li
      */
     @ReactMethod
     public void createButtonNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiButtonNode node = new UiButtonNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider, iconsRepo);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_BUTTON, props, nodeId));
     }
 
     @ReactMethod
     public void createImageNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiImageNode node = new UiImageNode(props, context, viewRenderableLoader, uiNodeClipper, iconsRepo);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_IMAGE, props, nodeId));
     }
 
     @ReactMethod
     public void createTextNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiTextNode node = new UiTextNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_TEXT, props, nodeId));
     }
 
     @ReactMethod
     public void createTextEditNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiTextEditNode node = new UiTextEditNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_TEXT_EDIT, props, nodeId));
     }
 
     @ReactMethod
     public void createModelNode(final ReadableMap props, final String nodeId) {
-        RenderableAnimator animator = new LoopedAnimator();
-        mainHandler.post(() -> addNode(new ModelNode(props, context, modelRenderableLoader, animator), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_MODEL, props, nodeId));
     }
 
     @ReactMethod
     public void createVideoNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            FileProvider fileProvider = new UriFileProvider(context);
-            VideoPlayer videoPlayer = new VideoPlayerImpl(context, fileProvider);
-            addNode(new VideoNode(props,
-                                  context,
-                                  videoPlayer,
-                                  videoRenderableLoader,
-                                  viewRenderableLoader,
-                                  videoNodeClipper,
-                                  fontProvider,
-                                  arResourcesProvider), nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_VIDEO, props, nodeId));
     }
 
     @ReactMethod
     public void createScrollBarNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new UiScrollBarNode(props), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_SCROLL_BAR, props, nodeId));
     }
 
     @ReactMethod
     public void createScrollViewNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new UiScrollViewNode(props, context, viewRenderableLoader, uiNodeClipper), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_SCROLL_VIEW, props, nodeId));
     }
 
     @ReactMethod
     public void createSliderNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new UiSliderNode(props, context, viewRenderableLoader, uiNodeClipper), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_SLIDER, props, nodeId));
     }
 
     @ReactMethod
     public void createSpinnerNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new UiSpinnerNode(props, context, viewRenderableLoader, uiNodeClipper), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_SPINNER, props, nodeId));
     }
 
     @ReactMethod
     public void createCircleConfirmationNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new UiCircleConfirmationNode(props, context, viewRenderableLoader, uiNodeClipper), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_CIRCLE_CONFIRMATION, props, nodeId));
     }
 
     @ReactMethod
     public void createToggleNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            ToggleViewManager manager = new LinearToggleViewManager(fontProvider, new ToggleIconsProviderImpl());
-            UiToggleNode node = new UiToggleNode(props, context, viewRenderableLoader, uiNodeClipper, manager);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_TOGGLE, props, nodeId));
     }
 
     @ReactMethod
     public void createToggleGroupNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new ToggleGroupNode(props), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_TOGGLE_GROUP, props, nodeId));
     }
 
     @ReactMethod
     public void createProgressBarNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new UiProgressBarNode(props, context, viewRenderableLoader, uiNodeClipper), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_PROGRESS_BAR, props, nodeId));
     }
 
     @ReactMethod
     public void createLineNode(final ReadableMap props, final String nodeId) {
-        CubeRenderableBuilder cubeRenderableBuilder = new CubeRenderableBuilderImpl(context, arResourcesProvider);
-        mainHandler.post(() -> addNode(new LineNode(props, cubeRenderableBuilder), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_LINE, props, nodeId));
     }
 
     @ReactMethod
     public void createGridLayoutNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            GridLayoutManager layoutManager = new GridLayoutManager();
-            addNode(new UiGridLayout(props, layoutManager), nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_GRID_LAYOUT, props, nodeId));
     }
 
     @ReactMethod
     public void createLinearLayoutNode(final ReadableMap props, final String nodeId) {
-        VerticalLinearLayoutManager verticalManager = new VerticalLinearLayoutManager<LayoutParams>();
-        HorizontalLinearLayoutManager horizontalManager = new HorizontalLinearLayoutManager<LayoutParams>();
-        LinearLayoutManager manager = new LinearLayoutManager(verticalManager, horizontalManager);
-        mainHandler.post(() -> addNode(new UiLinearLayout(props, manager), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_LINEAR_LAYOUT, props, nodeId));
     }
 
     @ReactMethod
     public void createDropdownListNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiDropdownListNode node = new UiDropdownListNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider, iconsRepo);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_DROPDOWN_LIST, props, nodeId));
     }
 
     @ReactMethod
     public void createDropdownListItemNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiDropdownListItemNode node = new UiDropdownListItemNode(props, fontProvider);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_DROPDOWN_LIST_ITEM, props, nodeId));
     }
 
     @ReactMethod
     public void createColorPickerNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiColorPickerNode node = new UiColorPickerNode(props,
-                                                           context,
-                                                           viewRenderableLoader,
-                                                           uiNodeClipper,
-                                                           fontProvider,
-                                                           iconsRepo,
-                                                           dialogProvider);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_COLOR_PICKER, props, nodeId));
     }
 
     @ReactMethod
     public void createWebViewNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UIWebViewNode node = new UIWebViewNode(props, context, viewRenderableLoader, uiNodeClipper);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_WEB_VIEW, props, nodeId));
     }
 
     @ReactMethod
     public void createRectLayoutNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            VerticalLinearLayoutManager<LayoutParams> layoutManager = new VerticalLinearLayoutManager<>();
-            addNode(new UiRectLayout(props, layoutManager), nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_RECT_LAYOUT, props, nodeId));
     }
 
     @ReactMethod
     public void createListViewItemNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new UiListViewItemNode(props, context, viewRenderableLoader, uiNodeClipper), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_LIST_VIEW_ITEM, props, nodeId));
     }
 
     @ReactMethod
     public void createListViewNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new UiListViewNode(props, context, viewRenderableLoader, uiNodeClipper), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_LIST_VIEW, props, nodeId));
     }
 
     @ReactMethod
     public void createDatePickerNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiDatePickerNode datePickerNode = new UiDatePickerNode(props, context, viewRenderableLoader, uiNodeClipper, dialogProvider);
-            addNode(datePickerNode, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_DATE_PICKER, props, nodeId));
     }
 
     @ReactMethod
     public void createTimePickerNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiTimePickerNode datePickerNode = new UiTimePickerNode(props, context, viewRenderableLoader, uiNodeClipper, dialogProvider);
-            addNode(datePickerNode, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_TIME_PICKER, props, nodeId));
     }
 
     @ReactMethod
     public void createDialogNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            DialogNode node = new DialogNode(props, context, iconsRepo, dialogProvider);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_DIALOG, props, nodeId));
     }
 
     @ReactMethod
     public void createTabNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            UiTabNode node = new UiTabNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider, iconsRepo);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_TAB, props, nodeId));
     }
 
     @ReactMethod
     public void createPanelNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new PanelNode(props), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_PANEL, props, nodeId));
     }
 
     @ReactMethod
     public void createContentNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new ContentNode(props), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_CONTENT, props, nodeId));
     }
 
     @ReactMethod
     public void createPageViewNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> addNode(new PageViewNode(props, new PageViewLayoutManager()), nodeId));
+        workScheduler.schedule(() -> addNode(NODE_PAGE_VIEW, props, nodeId));
     }
 
     @ReactMethod
     public void createAudioNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            GvrAudioEngine gvrAudioEngine = new GvrAudioEngine(context, GvrAudioEngine.RenderingMode.BINAURAL_HIGH_QUALITY);
-            ExternalAudioEngine externalAudioEngine = new GvrAudioEngineWrapper(gvrAudioEngine);
-            VrAudioEngine audioEngine = new VrAudioEngine(Executors.newSingleThreadExecutor(), externalAudioEngine);
-            FileProvider fileProvider = new UriFileProvider(context);
-            AudioNode node = new AudioNode(props, context, audioEngine, fileProvider);
-            addNode(node, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_AUDIO, props, nodeId));
     }
 
     @ReactMethod
     public void createFilePickerNode(final ReadableMap props, final String nodeId) {
-        mainHandler.post(() -> {
-            NativeFilePickerNode filePicker = new NativeFilePickerNode(props,
-                                                                       context,
-                                                                       viewRenderableLoader,
-                                                                       uiNodeClipper,
-                                                                       fontProvider,
-                                                                       iconsRepo);
-            activityResultObservers.add(filePicker);
-            addNode(filePicker, nodeId);
-        });
+        workScheduler.schedule(() -> addNode(NODE_FILE_PICKER, props, nodeId));
     }
 
     @ReactMethod
     public void addChildNode(final String nodeId, final String parentId) {
-        mainHandler.post(() -> nodesManager.addNodeToParent(nodeId, parentId));
+        workScheduler.schedule(() -> nodesManager.addNodeToParent(nodeId, parentId));
     }
 
     @ReactMethod
     public void addChildNodeToContainer(final String nodeId) {
-        mainHandler.post(() -> nodesManager.addNodeToRoot(nodeId));
+        workScheduler.schedule(() -> nodesManager.addNodeToRoot(nodeId));
     }
 
     @ReactMethod
     public void removeChildNode(final String nodeId, final String parentId) {
-        mainHandler.post(() -> nodesManager.removeNode(nodeId));
+        workScheduler.schedule(() -> nodesManager.removeNode(nodeId));
     }
 
     @ReactMethod
     public void removeChildNodeFromRoot(final String nodeId) {
-        mainHandler.post(() -> nodesManager.removeNode(nodeId));
+        workScheduler.schedule(() -> nodesManager.removeNode(nodeId));
     }
 
     @ReactMethod
     public void updateNode(final String nodeId, final ReadableMap properties) {
-        mainHandler.post(() -> nodesManager.updateNode(nodeId, properties));
+        // decoding the properties here (on the native modules thread),
+        // so the main thread only applies the values
+        final NodeProps props = NodeProps.decode(properties);
+        workScheduler.schedule(() -> nodesManager.updateNode(nodeId, props));
     }
 
     @ReactMethod
     public void clearScene() {
-        mainHandler.post(() -> nodesManager.clear());
+        workScheduler.schedule(() -> nodesManager.clear());
+    }
+
+    /**
+     * Applies a whole ordered commit of scene operations (create, add, update,
+     * remove and subscribe) at once, instead of crossing the bridge for
+     * each operation separately.
+     * The operations are decoded on the calling (native modules) thread and
+     * executed as a single work item of the main thread scheduler, so the whole
+     * commit is applied in one pass (it's never split by the frame budget).
+     *
+     * @param ops operations in the format described in {@link SceneMutationsDecoder}
+     */
+    @ReactMethod
+    public void applyMutations(final ReadableArray ops) {
+        final List<SceneMutation> mutations = mutationsDecoder.decode(ops);
+        if (mutations.isEmpty()) {
+            return;
+        }
+        workScheduler.schedule(() -> {
+            for (SceneMutation mutation : mutations) {
+                applyMutation(mutation);
+            }
+        });
+    }
+
+    /**
+     * Sets the maximum time per frame spent on creating, building
+     * and updating the nodes (the rest of work is carried over to the next frame)
+     *
+     * @param budgetMs budget in milliseconds
+     */
+    @ReactMethod
+    public void setFrameBudget(final double budgetMs) {
+        if (budgetMs <= 0) {
+            Log.w(LOG_TAG, "frame budget should be positive: " + budgetMs);
+            return;
+        }
+        workScheduler.setFrameBudget(budgetMs);
+    }
+
+    /**
+     * Returns metrics of the main thread work queue (queue depth, budget overruns, etc.)
+     */
+    @ReactMethod
+    public void getFrameSchedulerMetrics(final Callback callback) {
+        FrameWorkScheduler.Metrics metrics = workScheduler.getMetrics();
+        WritableMap result = Arguments.createMap();
+        result.putInt("queueDepth", metrics.getQueueDepth());
+        result.putInt("maxQueueDepth", metrics.getMaxQueueDepth());
+        result.putDouble("executedWork", metrics.getExecutedWork());
+        result.putDouble("drainPasses", metrics.getDrainPasses());
+        result.putDouble("budgetOverruns", metrics.getBudgetOverruns());
+        result.putDouble("carriedOverPasses", metrics.getCarriedOverPasses());
+        callback.invoke(result);
+    }
+
+    /**
+     * Sets the size of loaded models that are kept in memory to be reused
+     * by next model nodes (models used by nodes are never released)
+     *
+     * @param sizeMb cache size in megabytes
+     */
+    @ReactMethod
+    public void setModelCacheSize(final double sizeMb) {
+        final long bytes = (long) (sizeMb * 1024 * 1024);
+        workScheduler.schedule(() -> modelRenderableLoader.setMaxCacheBytes(bytes));
+    }
+
+    /**
+     * Returns metrics of the models cache (hits, misses, evictions, size)
+     */
+    @ReactMethod
+    public void getModelCacheMetrics(final Callback callback) {
+        workScheduler.schedule(() -> {
+            RefCountedLruCache.Metrics metrics = modelRenderableLoader.getCacheMetrics();
+            WritableMap result = Arguments.createMap();
+            result.putDouble("hits", metrics.getHits());
+            result.putDouble("misses", metrics.getMisses());
+            result.putDouble("evictions", metrics.getEvictions());
+            result.putDouble("hitRate", metrics.getHitRate());
+            result.putInt("entries", metrics.getEntries());
+            result.putInt("inUse", metrics.getInUse());
+            result.putDouble("bytes", metrics.getBytes());
+            result.putDouble("maxBytes", metrics.getMaxBytes());
+            callback.invoke(result);
+        });
+    }
+
+    /**
+     * Returns metrics of the view renderables pool (requests, reused renderables,
+     * pooled renderables, renderables alive)
+     */
+    @ReactMethod
+    public void getRenderablePoolMetrics(final Callback callback) {
+        workScheduler.schedule(() -> {
+            ViewRenderablePool.Metrics metrics = viewRenderableLoader.getPoolMetrics();
+            WritableMap result = Arguments.createMap();
+            result.putDouble("requests", metrics.getRequests());
+            result.putDouble("hits", metrics.getHits());
+            result.putDouble("hitRate", metrics.getHitRate());
+            result.putInt("pooled", metrics.getPooled());
+            result.putDouble("alive", metrics.getAlive());
+            callback.invoke(result);
+        });
+    }
+
+    /**
+     * Returns metrics of the recycled views pool (requests, avoided inflations,
+     * pooled views, discarded views)
+     */
+    @ReactMethod
+    public void getViewPoolMetrics(final Callback callback) {
+        workScheduler.schedule(() -> {
+            RecycledViewPool.Metrics metrics = viewPool.getMetrics();
+            WritableMap result = Arguments.createMap();
+            result.putDouble("requests", metrics.getRequests());
+            result.putDouble("inflationsAvoided", metrics.getInflationsAvoided());
+            result.putInt("pooled", metrics.getPooled());
+            result.putDouble("discarded", metrics.getDiscarded());
+            callback.invoke(result);
+        });
+    }
+
+    /**
+     * Sets how many times per second continuous events (scroll, slider,
+     * color, text and confirmation changes) are sent to JS,
+     * only the latest value of an event is sent
+     *
+     * @param maxRate events per second
+     */
+    @ReactMethod
+    public void setEventsMaxRate(final double maxRate) {
+        if (maxRate <= 0) {
+            Log.w(LOG_TAG, "events max rate should be positive: " + maxRate);
+            return;
+        }
+        workScheduler.schedule(() -> eventsManager.setMaxEventsRate(maxRate));
+    }
+
+    /**
+     * Returns the number of sent events and the number of continuous events
+     * dropped by coalescing (by event name)
+     */
+    @ReactMethod
+    public void getEventsMetrics(final Callback callback) {
+        workScheduler.schedule(() -> {
+            EventsCoalescer.Metrics metrics = eventsManager.getEventsMetrics();
+            WritableMap droppedEvents = Arguments.createMap();
+            for (Map.Entry<String, Long> entry : metrics.getDroppedEvents().entrySet()) {
+                droppedEvents.putDouble(entry.getKey(), entry.getValue());
+            }
+            WritableMap result = Arguments.createMap();
+            result.putDouble("sentEvents", metrics.getSentEvents());
+            result.putMap("droppedEvents", droppedEvents);
+            callback.invoke(result);
+        });
+    }
+
+    /**
+     * Returns the number of compared properties updates, the number of updates
+     * skipped entirely (nothing has changed) and the number of skipped properties
+     */
+    @ReactMethod
+    public void getPropsDiffMetrics(final Callback callback) {
+        PropsDiff.Metrics metrics = PropsDiff.INSTANCE.getMetrics();
+        WritableMap result = Arguments.createMap();
+        result.putDouble("updates", metrics.getUpdates());
+        result.putDouble("skippedUpdates", metrics.getSkippedUpdates());
+        result.putDouble("skippedProperties", metrics.getSkippedProperties());
+        callback.invoke(result);
+    }
+
+    /**
+     * Enables or disables collecting frame times and the cost of nodes work
+     * (updates, layout passes, builds, renderable loads, clipping) per node type
+     */
+    @ReactMethod
+    public void setProfilingEnabled(final boolean enabled) {
+        NodesProfiler.setEnabled(enabled);
+    }
+
+    /**
+     * Returns the collected profiling metrics as a JSON string
+     * (see {@link NodesProfiler#toJson()})
+     */
+    @ReactMethod
+    public void getProfilingMetrics(final Callback callback) {
+        callback.invoke(NodesProfiler.toJson());
+    }
+
+    @ReactMethod
+    public void resetProfilingMetrics() {
+        NodesProfiler.reset();
     }
 
     // region Events
 
     @ReactMethod
     public void addOnAppStartEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnAppStartEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnAppStartEventHandler(nodeId));
     }
 
     // activate = click
     @ReactMethod
     public void addOnActivateEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnActivateEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnActivateEventHandler(nodeId));
     }
 
     // touch down
     @ReactMethod
     public void addOnPressEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnPressEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnPressEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnLongPressEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnLongPressEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnLongPressEventHandler(nodeId));
     }
 
     // touch up
     @ReactMethod
     public void addOnReleaseEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnReleaseEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnReleaseEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnFocusGainedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnFocusGainedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnFocusGainedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnFocusLostEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnFocusLostEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnFocusLostEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnUpdateEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnUpdateEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnUpdateEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnDeleteEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnDeleteEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnDeleteEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnEnabledEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnEnabledEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnEnabledEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnDisabledEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnDisabledEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnDisabledEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnTextChangedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnTextChangedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnTextChangedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnToggleChangedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnToggleChangedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnToggleChangedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnVideoPreparedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnVideoPreparedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnVideoPreparedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnSliderChangedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnSliderChangedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnSliderChangedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnSelectionChangedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnSelectionChangedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnSelectionChangedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnColorConfirmedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnColorConfirmedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnColorConfirmedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnColorCanceledEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnColorCanceledEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnColorCanceledEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnColorChangedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnColorChangedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnColorChangedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnDateChangedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnDateChangedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnDateChangedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnDateConfirmedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnDateConfirmedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnDateConfirmedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnScrollChangedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnScrollChangedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnScrollChangedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnTimeChangedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnTimeChangedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnTimeChangedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnTimeConfirmedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnTimeConfirmedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnTimeConfirmedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnDialogConfirmedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnDialogConfirmedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnDialogConfirmedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnDialogCanceledEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnDialogCanceledEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnDialogCanceledEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnDialogTimeExpiredEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnDialogTimeExpiredEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnDialogTimeExpiredEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnConfirmationCompletedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnConfirmationCompletedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnConfirmationCompletedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnConfirmationUpdatedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnConfirmationUpdatedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnConfirmationUpdatedEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnConfirmationCanceledEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnConfirmationCanceledEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnConfirmationCanceledEventHandler(nodeId));
     }
 
     @ReactMethod
     public void addOnFileSelectedEventHandler(final String nodeId) {
-        mainHandler.post(() -> eventsManager.addOnFileSelectedEventHandler(nodeId));
+        workScheduler.schedule(() -> eventsManager.addOnFileSelectedEventHandler(nodeId));
     }
 
     // endregion
@@ -692,11 +864,286 @@ public class ARComponentManager extends ReactContextBaseJavaModule implements Li
         // unused on Android
     }
 
+    private void addNode(String nodeType, ReadableMap props, String nodeId) {
+        ReactNode node = createNode(nodeType, props);
+        if (node == null) {
+            Log.w(LOG_TAG, "cannot create node with id = " + nodeId + ": unknown type " + nodeType);
+            return;
+        }
+        addNode(node, nodeId);
+    }
+
     private void addNode(ReactNode node, String nodeId) {
+        if (node instanceof UiNode) {
+            ((UiNode) node).setViewPool(viewPool);
+        }
+        long buildStart = NodesProfiler.start();
         node.build();
+        NodesProfiler.stop(node, NodesProfiler.Metric.BUILD, buildStart);
         nodesManager.registerNode(node, nodeId);
     }
 
+    /**
+     * Creates a node for the element type defined in JS
+     * or returns null if the type is not supported
+     */
+    @Nullable
+    private ReactNode createNode(String nodeType, ReadableMap props) {
+        switch (nodeType) {
+            case NODE_SCENE: {
+                ReactScene scene = new ReactScene(props, arResourcesProvider);
+                Uri deepLink = readDeepLink();
+                if (deepLink != null) {
+                    scene.setDeepLink(deepLink.toString());
+                }
+                return scene;
+            }
+            case NODE_PRISM: {
+                CubeRenderableBuilder cubeRenderableBuilder = new CubeRenderableBuilderImpl(context, arResourcesProvider);
+                AnchorCreator anchorCreator = new SimpleAnchorCreator(arResourcesProvider);
+                return new Prism(props,
+                                 context,
+                                 modelRenderableLoader,
+                                 cubeRenderableBuilder,
+                                 anchorCreator,
+                                 arResourcesProvider,
+                                 appInfoProvider);
+            }
+            case NODE_GROUP:
+                return new GroupNode(props);
+            case NODE_BUTTON:
+                return new UiButtonNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider, iconsRepo);
+            case NODE_IMAGE:
+                return new UiImageNode(props, context, viewRenderableLoader, uiNodeClipper, iconsRepo, imageLoader);
+            case NODE_TEXT:
+                return new UiTextNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider);
+            case NODE_TEXT_EDIT:
+                return new UiTextEditNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider);
+            case NODE_MODEL: {
+                RenderableAnimator animator = new LoopedAnimator();
+                return new ModelNode(props, context, modelRenderableLoader, animator);
+            }
+            case NODE_VIDEO: {
+                FileProvider fileProvider = new UriFileProvider(uriFileCache);
+                VideoPlayer videoPlayer = new VideoPlayerImpl(context, fileProvider);
+                return new VideoNode(props,
+                                     context,
+                                     videoPlayer,
+                                     videoRenderableLoader,
+                                     viewRenderableLoader,
+                                     videoNodeClipper,
+                                     fontProvider,
+                                     arResourcesProvider);
+            }
+            case NODE_SCROLL_BAR:
+                return new UiScrollBarNode(props);
+            case NODE_SCROLL_VIEW:
+                return new UiScrollViewNode(props, context, viewRenderableLoader, uiNodeClipper);
+            case NODE_SLIDER:
+                return new UiSliderNode(props, context, viewRenderableLoader, uiNodeClipper);
+            case NODE_SPINNER:
+                return new UiSpinnerNode(props, context, viewRenderableLoader, uiNodeClipper);
+            case NODE_CIRCLE_CONFIRMATION:
+                return new UiCircleConfirmationNode(props, context, viewRenderableLoader, uiNodeClipper);
+            case NODE_TOGGLE: {
+                ToggleViewManager manager = new LinearToggleViewManager(fontProvider, new ToggleIconsProviderImpl());
+                return new UiToggleNode(props, context, viewRenderableLoader, uiNodeClipper, manager);
+            }
+            case NODE_TOGGLE_GROUP:
+                return new ToggleGroupNode(props);
+            case NODE_PROGRESS_BAR:
+                return new UiProgressBarNode(props, context, viewRenderableLoader, uiNodeClipper);
+            case NODE_LINE: {
+                CubeRenderableBuilder cubeRenderableBuilder = new CubeRenderableBuilderImpl(context, arResourcesProvider);
+                return new LineNode(props, cubeRenderableBuilder);
+            }
+            case NODE_GRID_LAYOUT:
+                return new UiGridLayout(props, new GridLayoutManager());
+            case NODE_LINEAR_LAYOUT: {
+                VerticalLinearLayoutManager verticalManager = new VerticalLinearLayoutManager<LayoutParams>();
+                HorizontalLinearLayoutManager horizontalManager = new HorizontalLinearLayoutManager<LayoutParams>();
+                LinearLayoutManager manager = new LinearLayoutManager(verticalManager, horizontalManager);
+                return new UiLinearLayout(props, manager);
+            }
+            case NODE_DROPDOWN_LIST:
+                return new UiDropdownListNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider, iconsRepo);
+            case NODE_DROPDOWN_LIST_ITEM:
+                return new UiDropdownListItemNode(props, fontProvider);
+            case NODE_COLOR_PICKER:
+                return new UiColorPickerNode(props,
+                                             context,
+                                             viewRenderableLoader,
+                                             uiNodeClipper,
+                                             fontProvider,
+                                             iconsRepo,
+                                             dialogProvider);
+            case NODE_WEB_VIEW:
+                return new UIWebViewNode(props, context, viewRenderableLoader, uiNodeClipper);
+            case NODE_RECT_LAYOUT: {
+                VerticalLinearLayoutManager<LayoutParams> layoutManager = new VerticalLinearLayoutManager<>();
+                return new UiRectLayout(props, layoutManager);
+            }
+            case NODE_LIST_VIEW_ITEM:
+                return new UiListViewItemNode(props, context, viewRenderableLoader, uiNodeClipper);
+            case NODE_LIST_VIEW:
+                return new UiListViewNode(props, context, viewRenderableLoader, uiNodeClipper);
+            case NODE_DATE_PICKER:
+                return new UiDatePickerNode(props, context, viewRenderableLoader, uiNodeClipper, dialogProvider);
+            case NODE_TIME_PICKER:
+                return new UiTimePickerNode(props, context, viewRenderableLoader, uiNodeClipper, dialogProvider);
+            case NODE_DIALOG:
+                return new DialogNode(props, context, iconsRepo, dialogProvider);
+            case NODE_TAB:
+                return new UiTabNode(props, context, viewRenderableLoader, uiNodeClipper, fontProvider, iconsRepo);
+            case NODE_PANEL:
+                return new PanelNode(props);
+            case NODE_CONTENT:
+                return new ContentNode(props);
+            case NODE_PAGE_VIEW:
+                return new PageViewNode(props, new PageViewLayoutManager());
+            case NODE_AUDIO: {
+                GvrAudioEngine gvrAudioEngine = new GvrAudioEngine(context, GvrAudioEngine.RenderingMode.BINAURAL_HIGH_QUALITY);
+                ExternalAudioEngine externalAudioEngine = new GvrAudioEngineWrapper(gvrAudioEngine);
+                VrAudioEngine audioEngine = new VrAudioEngine(Executors.newSingleThreadExecutor(), externalAudioEngine);
+                FileProvider fileProvider = new UriFileProvider(uriFileCache);
+                return new AudioNode(props, context, audioEngine, fileProvider);
+            }
+            case NODE_FILE_PICKER: {
+                NativeFilePickerNode filePicker = new NativeFilePickerNode(props,
+                                                                           context,
+                                                                           viewRenderableLoader,
+                                                                           uiNodeClipper,
+                                                                           fontProvider,
+                                                                           iconsRepo);
+                activityResultObservers.add(filePicker);
+                return filePicker;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private void applyMutation(SceneMutation mutation) {
+        if (mutation instanceof SceneMutation.CreateNode) {
+            SceneMutation.CreateNode create = (SceneMutation.CreateNode) mutation;
+            addNode(create.getNodeType(), create.getProps(), create.getNodeId());
+        } else if (mutation instanceof SceneMutation.AddNode) {
+            SceneMutation.AddNode add = (SceneMutation.AddNode) mutation;
+            nodesManager.addNodeToParent(add.getNodeId(), add.getParentId());
+        } else if (mutation instanceof SceneMutation.AddNodeToRoot) {
+            nodesManager.addNodeToRoot(((SceneMutation.AddNodeToRoot) mutation).getNodeId());
+        } else if (mutation instanceof SceneMutation.UpdateNode) {
+            SceneMutation.UpdateNode update = (SceneMutation.UpdateNode) mutation;
+            nodesManager.updateNode(update.getNodeId(), update.getProps());
+        } else if (mutation instanceof SceneMutation.RemoveNode) {
+            nodesManager.removeNode(((SceneMutation.RemoveNode) mutation).getNodeId());
+        } else if (mutation instanceof SceneMutation.Subscribe) {
+            SceneMutation.Subscribe subscribe = (SceneMutation.Subscribe) mutation;
+            addEventHandler(subscribe.getEventName(), subscribe.getNodeId());
+        }
+    }
+
+    private void addEventHandler(String eventName, String nodeId) {
+        switch (eventName) {
+            case ReactEventsManager.EVENT_APP_START:
+                eventsManager.addOnAppStartEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_CLICK:
+            case ReactEventsManager.EVENT_ACTIVATE:
+                eventsManager.addOnActivateEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_PRESS:
+                eventsManager.addOnPressEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_LONG_PRESS:
+                eventsManager.addOnLongPressEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_RELEASE:
+                eventsManager.addOnReleaseEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_FOCUS_GAINED:
+                eventsManager.addOnFocusGainedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_FOCUS_LOST:
+                eventsManager.addOnFocusLostEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_NODE_UPDATED:
+                eventsManager.addOnUpdateEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_NODE_DELETED:
+                eventsManager.addOnDeleteEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_NODE_ENABLED:
+                eventsManager.addOnEnabledEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_NODE_DISABLED:
+                eventsManager.addOnDisabledEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_TEXT_CHANGED:
+                eventsManager.addOnTextChangedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_TOGGLE_CHANGED:
+                eventsManager.addOnToggleChangedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_VIDEO_PREPARED:
+                eventsManager.addOnVideoPreparedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_SLIDER_VALUE_CHANGED:
+                eventsManager.addOnSliderChangedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_DROPDOWN_SELECTION_CHANGED:
+                eventsManager.addOnSelectionChangedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_COLOR_CONFIRMED:
+                eventsManager.addOnColorConfirmedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_COLOR_CANCELLED:
+                eventsManager.addOnColorCanceledEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_COLOR_CHANGED:
+                eventsManager.addOnColorChangedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_DATE_CHANGED:
+                eventsManager.addOnDateChangedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_DATE_CONFIRMED:
+                eventsManager.addOnDateConfirmedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_SCROLL_CHANGED:
+                eventsManager.addOnScrollChangedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_TIME_CHANGED:
+                eventsManager.addOnTimeChangedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_TIME_CONFIRMED:
+                eventsManager.addOnTimeConfirmedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_DIALOG_CONFIRMED:
+                eventsManager.addOnDialogConfirmedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_DIALOG_CANCELED:
+                eventsManager.addOnDialogCanceledEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_DIALOG_EXPIRED:
+                eventsManager.addOnDialogTimeExpiredEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_CONFIRMATION_COMPLETED:
+                eventsManager.addOnConfirmationCompletedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_CONFIRMATION_UPDATED:
+                eventsManager.addOnConfirmationUpdatedEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_CONFIRMATION_CANCELED:
+                eventsManager.addOnConfirmationCanceledEventHandler(nodeId);
+                break;
+            case ReactEventsManager.EVENT_FILE_SELECTED:
+                eventsManager.addOnFileSelectedEventHandler(nodeId);
+                break;
+            default:
+                Log.w(LOG_TAG, "cannot subscribe node with id = " + nodeId + ": unknown event " + eventName);
+        }
+    }
+
     @Override
     public void onHostResume() {
         if (nodesManager instanceof LifecycleEventListener) {
@@ -734,6 +1181,7 @@ public class ARComponentManager extends ReactContextBaseJavaModule implements Li
     @Override
     public void onCatalystInstanceDestroy() {
         super.onCatalystInstanceDestroy();
+        workScheduler.clear();
         nodesManager.clear();
         mediaPlayerPool.destroy();
     }
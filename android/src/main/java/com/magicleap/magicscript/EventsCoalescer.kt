@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2019-2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.magicleap.magicscript
+
+import android.os.Bundle
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+
+/**
+ * Coalesces continuous events (e.g. scroll or slider changes), so only the latest
+ * value of an event of a node is sent, at most [maxRate] times per second.
+ * Discrete events ([sendEvent]) are sent immediately, but after the pending
+ * continuous events, so the order of events is kept.
+ * Should be used only from the main thread.
+ *
+ * @param clock returns current time in milliseconds
+ */
+class EventsCoalescer @JvmOverloads constructor(
+    private val eventsEmitter: EventsEmitter,
+    private val handler: Handler = Handler(Looper.getMainLooper()),
+    private val clock: () -> Long = { SystemClock.uptimeMillis() }
+) {
+
+    companion object {
+        const val DEFAULT_MAX_RATE = 60.0
+
+        private const val NOT_FLUSHED = -1L
+    }
+
+    /**
+     * Maximum number of times per second the continuous events are sent
+     */
+    var maxRate = DEFAULT_MAX_RATE
+        set(value) {
+            require(value > 0) { "Max rate should be positive" }
+            field = value
+        }
+
+    // continuous events waiting to be sent (in order of their first occurrence)
+    private val pendingEvents = ArrayList<ContinuousEvent>()
+
+    private val flushRunnable = Runnable { flush() }
+    private var flushScheduled = false
+    private var lastFlushTime = NOT_FLUSHED
+
+    private var sentEvents = 0L
+    private val droppedEvents = HashMap<String, Long>()
+
+    /**
+     * Creates the continuous event [eventName] of the node with id [nodeId]
+     */
+    fun createEvent(nodeId: String, eventName: String): ContinuousEvent {
+        return ContinuousEvent(nodeId, eventName)
+    }
+
+    /**
+     * Sends the discrete event after the pending continuous events
+     */
+    fun sendEvent(eventName: String, params: Bundle) {
+        flush()
+        send(eventName, params)
+    }
+
+    /**
+     * Sends the pending continuous events
+     */
+    fun flush() {
+        if (flushScheduled) {
+            handler.removeCallbacks(flushRunnable)
+            flushScheduled = false
+        }
+        if (pendingEvents.isEmpty()) {
+            return
+        }
+        lastFlushTime = clock()
+        for (i in pendingEvents.indices) {
+            val event = pendingEvents[i]
+            val createParams = event.createParams ?: continue
+            event.createParams = null
+            send(event.eventName, createParams())
+        }
+        pendingEvents.clear()
+    }
+
+    fun getMetrics(): Metrics {
+        return Metrics(
+            sentEvents = sentEvents,
+            droppedEvents = HashMap(droppedEvents)
+        )
+    }
+
+    private fun send(eventName: String, params: Bundle) {
+        sentEvents++
+        eventsEmitter.sendEvent(eventName, params)
+    }
+
+    private fun scheduleFlush() {
+        if (flushScheduled) {
+            return
+        }
+        flushScheduled = true
+        val delay = if (lastFlushTime == NOT_FLUSHED) {
+            0L
+        } else {
+            val interval = (1000 / maxRate).toLong()
+            (lastFlushTime + interval - clock()).coerceAtLeast(0)
+        }
+        handler.postDelayed(flushRunnable, delay)
+    }
+
+    inner class ContinuousEvent internal constructor(
+        val nodeId: String,
+        val eventName: String
+    ) {
+        internal var createParams: (() -> Bundle)? = null
+
+        /**
+         * Schedules sending the event replacing its pending value,
+         * the params are created only when the event is sent
+         */
+        fun post(createParams: () -> Bundle) {
+            if (this.createParams == null) {
+                pendingEvents.add(this)
+            } else {
+                droppedEvents[eventName] = (droppedEvents[eventName] ?: 0L) + 1
+            }
+            this.createParams = createParams
+            scheduleFlush()
+        }
+    }
+
+    /**
+     * @param sentEvents number of all sent events
+     * @param droppedEvents number of continuous events replaced with
+     * a newer value before being sent (by event name)
+     */
+    data class Metrics(
+        val sentEvents: Long,
+        val droppedEvents: Map<String, Long>
+    )
+
+}
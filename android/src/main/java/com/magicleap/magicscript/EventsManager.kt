@@ -49,4 +49,12 @@ interface EventsManager {
     fun addOnConfirmationUpdatedEventHandler(nodeId: String)
     fun addOnConfirmationCanceledEventHandler(nodeId: String)
     fun addOnFileSelectedEventHandler(nodeId: String)
+
+    /**
+     * Sets how many times per second continuous events (e.g. scroll changes)
+     * can be sent, their intermediate values are dropped
+     */
+    fun setMaxEventsRate(maxRate: Double)
+
+    fun getEventsMetrics(): EventsCoalescer.Metrics
 }
\ No newline at end of file
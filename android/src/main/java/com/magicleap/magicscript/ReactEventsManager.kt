@@ -29,9 +29,14 @@ import com.magicleap.magicscript.scene.nodes.picker.NativeFilePickerNode
 import com.magicleap.magicscript.scene.nodes.toggle.UiToggleNode
 import com.magicleap.magicscript.scene.nodes.video.VideoNode
 
-class ReactEventsManager(
-    private val eventsEmitter: EventsEmitter,
-    private val nodesManager: NodesManager
+/**
+ * Sends the nodes events to React. Continuous events (text, slider, color,
+ * scroll and confirmation changes) are coalesced by [eventsCoalescer].
+ */
+class ReactEventsManager @JvmOverloads constructor(
+    eventsEmitter: EventsEmitter,
+    private val nodesManager: NodesManager,
+    private val eventsCoalescer: EventsCoalescer = EventsCoalescer(eventsEmitter)
 ) : EventsManager {
 
     companion object {
@@ -218,11 +223,14 @@ class ReactEventsManager(
     override fun addOnTextChangedEventHandler(nodeId: String) {
         val node = findNodeWithId(nodeId)
         if (node is UiTextEditNode) {
+            val event = eventsCoalescer.createEvent(nodeId, EVENT_TEXT_CHANGED)
             node.onTextChangedListener = { text: String ->
-                val params = Bundle()
-                params.putString(EVENT_ARG_NODE_ID, nodeId)
-                params.putString(EVENT_ARG_TEXT, text)
-                sendEvent(EVENT_TEXT_CHANGED, params)
+                event.post {
+                    val params = Bundle()
+                    params.putString(EVENT_ARG_NODE_ID, nodeId)
+                    params.putString(EVENT_ARG_TEXT, text)
+                    params
+                }
             }
         }
     }
@@ -253,11 +261,14 @@ class ReactEventsManager(
     override fun addOnSliderChangedEventHandler(nodeId: String) {
         val node = findNodeWithId(nodeId)
         if (node is UiSliderNode) {
+            val event = eventsCoalescer.createEvent(nodeId, EVENT_SLIDER_VALUE_CHANGED)
             node.setOnSliderChangedListener { value: Float ->
-                val params = Bundle()
-                params.putString(EVENT_ARG_NODE_ID, nodeId)
-                params.putDouble(EVENT_ARG_SLIDER_VALUE, value.toDouble())
-                sendEvent(EVENT_SLIDER_VALUE_CHANGED, params)
+                event.post {
+                    val params = Bundle()
+                    params.putString(EVENT_ARG_NODE_ID, nodeId)
+                    params.putDouble(EVENT_ARG_SLIDER_VALUE, value.toDouble())
+                    params
+                }
             }
         }
     }
@@ -312,15 +323,18 @@ class ReactEventsManager(
     override fun addOnColorChangedEventHandler(nodeId: String) {
         val node = findNodeWithId(nodeId)
         if (node is UiColorPickerNode) {
+            val event = eventsCoalescer.createEvent(nodeId, EVENT_COLOR_CHANGED)
             node.onColorChanged = { colors: Array<Double> ->
-                val params = Bundle()
-                params.putString(EVENT_ARG_NODE_ID, nodeId)
-                val selectedItems = arrayListOf<Double>()
-                for (color in colors) {
-                    selectedItems.add(color)
+                event.post {
+                    val params = Bundle()
+                    params.putString(EVENT_ARG_NODE_ID, nodeId)
+                    val selectedItems = arrayListOf<Double>()
+                    for (color in colors) {
+                        selectedItems.add(color)
+                    }
+                    params.putSerializable(EVENT_ARG_COLOR, selectedItems)
+                    params
                 }
-                params.putSerializable(EVENT_ARG_COLOR, selectedItems)
-                sendEvent(EVENT_COLOR_CHANGED, params)
             }
         }
     }
@@ -352,11 +366,14 @@ class ReactEventsManager(
     override fun addOnScrollChangedEventHandler(nodeId: String) {
         val node = findNodeWithId(nodeId)
         if (node is UiScrollViewNode) {
+            val event = eventsCoalescer.createEvent(nodeId, EVENT_SCROLL_CHANGED)
             node.onScrollChangeListener = { position: Float ->
-                val params = Bundle()
-                params.putString(EVENT_ARG_NODE_ID, nodeId)
-                params.putDouble(EVENT_ARG_SCROLL_VALUE, position.toDouble())
-                sendEvent(EVENT_SCROLL_CHANGED, params)
+                event.post {
+                    val params = Bundle()
+                    params.putString(EVENT_ARG_NODE_ID, nodeId)
+                    params.putDouble(EVENT_ARG_SCROLL_VALUE, position.toDouble())
+                    params
+                }
             }
         }
     }
@@ -432,11 +449,14 @@ class ReactEventsManager(
     override fun addOnConfirmationUpdatedEventHandler(nodeId: String) {
         val node = findNodeWithId(nodeId)
         if (node is UiCircleConfirmationNode) {
+            val event = eventsCoalescer.createEvent(nodeId, EVENT_CONFIRMATION_UPDATED)
             node.onConfirmationUpdatedListener = { value: Float ->
-                val params = Bundle()
-                params.putString(EVENT_ARG_NODE_ID, nodeId)
-                params.putDouble(EVENT_ARG_CONFIRMATION_UPDATED_VALUE, value.toDouble())
-                sendEvent(EVENT_CONFIRMATION_UPDATED, params)
+                event.post {
+                    val params = Bundle()
+                    params.putString(EVENT_ARG_NODE_ID, nodeId)
+                    params.putDouble(EVENT_ARG_CONFIRMATION_UPDATED_VALUE, value.toDouble())
+                    params
+                }
             }
         }
     }
@@ -464,8 +484,16 @@ class ReactEventsManager(
         }
     }
 
+    override fun setMaxEventsRate(maxRate: Double) {
+        eventsCoalescer.maxRate = maxRate
+    }
+
+    override fun getEventsMetrics(): EventsCoalescer.Metrics {
+        return eventsCoalescer.getMetrics()
+    }
+
     private fun sendEvent(eventName: String, params: Bundle) {
-        eventsEmitter.sendEvent(eventName, params)
+        eventsCoalescer.sendEvent(eventName, params)
     }
 
     private fun findNodeWithId(id: String): ReactNode? {
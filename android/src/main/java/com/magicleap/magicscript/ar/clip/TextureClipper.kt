@@ -20,6 +20,7 @@ import com.google.ar.sceneform.rendering.Material
 import com.magicleap.magicscript.scene.nodes.base.TransformNode
 import com.magicleap.magicscript.scene.nodes.props.AABB
 import com.magicleap.magicscript.scene.nodes.props.Bounding
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
 import com.magicleap.magicscript.utils.Utils
 
 /**
@@ -40,10 +41,15 @@ class TextureClipper : Clipper {
         private val defaultMaterialClipping = Bounding(-0.5f, 0.0f, 0.5f, 1.0f)
     }
 
+    // reused to avoid allocations, clipping is calculated on the main thread only
+    private val nodeBounds = MutableAABB()
+    private val materialClipping = Bounding()
+
     override fun applyClipBounds(node: TransformNode, clipBounds: AABB?) {
         node.contentNode.renderable?.material?.let { material ->
             val materialClip = if (clipBounds != null) {
-                Utils.calculateMaterialClipping(node.getBounding(), clipBounds)
+                node.getBounding(nodeBounds)
+                Utils.calculateMaterialClipping(nodeBounds, clipBounds, materialClipping)
             } else {
                 defaultMaterialClipping
             }
@@ -20,12 +20,15 @@ import com.google.ar.sceneform.collision.Box
 import com.google.ar.sceneform.math.Vector3
 import com.magicleap.magicscript.scene.nodes.base.TransformNode
 import com.magicleap.magicscript.scene.nodes.props.AABB
-import com.magicleap.magicscript.scene.nodes.props.Bounding
-import com.magicleap.magicscript.utils.Vector2
-import com.magicleap.magicscript.utils.unaryMinus
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
+import kotlin.math.max
+import kotlin.math.min
 
 class UiNodeColliderClipper : Clipper {
 
+    // reused to avoid allocations, clipping is calculated on the main thread only
+    private val nodeBounds = MutableAABB()
+
     override fun applyClipBounds(node: TransformNode, clipBounds: AABB?) {
         if (!node.isVisible || clipBounds == null) {
             return
@@ -34,53 +37,68 @@ class UiNodeColliderClipper : Clipper {
     }
 
     private fun createClippedCollider(node: TransformNode, clipBounds: AABB): Box {
-        val nodeBounds = node.getBounding()
-        if (nodeBounds.intersection(clipBounds).equalInexact(AABB())) {
+        node.getBounding(nodeBounds)
+        if (!nodeBounds.intersects(clipBounds)) {
             // no intersection in 3d space, returning empty box
             return Box(Vector3.zero(), Vector3.zero())
         }
 
-        val size = nodeBounds.size()
+        val sizeX = nodeBounds.sizeX()
+        val sizeY = nodeBounds.sizeY()
 
         val pivotOffsetX = if (node.useContentNodeAlignment) {
             0f
         } else {
-            -node.horizontalAlignment.centerOffset * size.x
+            -node.horizontalAlignment.centerOffset * sizeX
         }
 
         val pivotOffsetY = if (node.useContentNodeAlignment) {
             0f
         } else {
-            -node.verticalAlignment.centerOffset * size.y
+            -node.verticalAlignment.centerOffset * sizeY
         }
 
-        val scaleX = node.localScale.x * node.contentNode.localScale.x
-        val scaleY = node.localScale.y * node.contentNode.localScale.y
-
-        val nodeCollisionShape = Bounding(
-            -size.x / 2 * scaleX,
-            -size.y / 2 * scaleY,
-            size.x / 2 * scaleX,
-            size.y / 2 * scaleY
-        ).translated(Vector2(pivotOffsetX, pivotOffsetY))
-
-        val clipCollisionShape = clipBounds
-            .translated(-node.getContentPosition())
-            .toBounding2d()
-
-        val intersection = nodeCollisionShape.intersection(clipCollisionShape)
+        val nodeScale = node.localScale
+        val contentScale = node.contentNode.localScale
+        val scaleX = nodeScale.x * contentScale.x
+        val scaleY = nodeScale.y * contentScale.y
+
+        // node collision shape
+        val nodeLeft = -sizeX / 2 * scaleX + pivotOffsetX
+        val nodeBottom = -sizeY / 2 * scaleY + pivotOffsetY
+        val nodeRight = sizeX / 2 * scaleX + pivotOffsetX
+        val nodeTop = sizeY / 2 * scaleY + pivotOffsetY
+
+        // clip collision shape (relative to the content position)
+        val contentPosition = node.getContentPosition()
+        val clipLeft = clipBounds.min.x - contentPosition.x
+        val clipBottom = clipBounds.min.y - contentPosition.y
+        val clipRight = clipBounds.max.x - contentPosition.x
+        val clipTop = clipBounds.max.y - contentPosition.y
+
+        // intersection of the shapes
+        var left = max(nodeLeft, clipLeft)
+        var right = min(nodeRight, clipRight)
+        var bottom = max(nodeBottom, clipBottom)
+        var top = min(nodeTop, clipTop)
+        if (left > right || bottom > top) {
+            left = 0f
+            right = 0f
+            bottom = 0f
+            top = 0f
+        }
 
         // collision shape is not aware of scale, we need to scale to original position
-        val sizeX = if (scaleX > 0) intersection.size().x / scaleX else 0F
-        val sizeY = if (scaleY > 0) intersection.size().y / scaleY else 0F
-        val collisionShapeSize = Vector3(sizeX, sizeY, 0F)
+        val collisionSizeX = if (scaleX > 0) (right - left) / scaleX else 0F
+        val collisionSizeY = if (scaleY > 0) (top - bottom) / scaleY else 0F
+        val collisionShapeSize = Vector3(collisionSizeX, collisionSizeY, 0F)
 
         var centerX = 0F
         var centerY = 0F
 
         if (scaleX > 0 && scaleY > 0) {
-            centerX = intersection.center().x / scaleX
-            centerY = intersection.center().y / scaleY
+            centerX = (right + left) / 2F / scaleX
+            centerY = (top + bottom) / 2F / scaleY
         }
 
         val collisionShapeCenter = Vector3(centerX, centerY, 0F)
@@ -88,4 +106,4 @@ class UiNodeColliderClipper : Clipper {
         return Box(collisionShapeSize, collisionShapeCenter)
     }
 
-}
\ No newline at end of file
+}
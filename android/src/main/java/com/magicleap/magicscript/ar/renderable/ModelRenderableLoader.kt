@@ -25,8 +25,19 @@ interface ModelRenderableLoader {
 
     fun loadRenderable(request: LoadRequest)
 
+    /**
+     * Cancels the [request] and releases the model loaded for it,
+     * so it should be called when the loaded renderable is no longer used
+     */
     fun cancel(request: LoadRequest)
 
+    /**
+     * Sets the size of loaded models that are kept for next requests
+     */
+    fun setMaxCacheBytes(bytes: Long)
+
+    fun getCacheMetrics(): RefCountedLruCache.Metrics
+
     class LoadRequest(
         val modelUri: Uri,
         val glbRecenterMode: RenderableSource.RecenterMode = RenderableSource.RecenterMode.CENTER,
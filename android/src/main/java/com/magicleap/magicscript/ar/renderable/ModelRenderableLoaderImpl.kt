@@ -25,19 +25,42 @@ import com.magicleap.magicscript.ar.ModelType
 import com.magicleap.magicscript.utils.DataResult
 import com.magicleap.magicscript.utils.Utils
 import com.magicleap.magicscript.utils.logMessage
+import java.util.concurrent.CompletableFuture
 
+/**
+ * Loads model renderables sharing the ones loaded for the same model ([RefCountedLruCache]).
+ * Each model is loaded only once (also when requested again while it's still loading)
+ * and each request gets a copy of the loaded renderable.
+ *
+ * A model is referenced by a request until the request is cancelled (e.g. when the node
+ * is destroyed), then it's kept in the cache until evicted to stay under the cache size.
+ */
 class ModelRenderableLoaderImpl(
     private val context: Context,
     private val arResourcesProvider: ArResourcesProvider
 ) : ModelRenderableLoader,
     ArResourcesProvider.ArLoadedListener {
 
+    companion object {
+        const val DEFAULT_MAX_CACHE_BYTES = 64L * 1024 * 1024
+
+        // used when the size of a model file cannot be read
+        private const val DEFAULT_MODEL_BYTES = 1024L * 1024
+    }
+
     init {
         arResourcesProvider.addArLoadedListener(this)
     }
 
     private val pendingRequests = mutableListOf<ModelRenderableLoader.LoadRequest>()
 
+    private val cache =
+        RefCountedLruCache<CacheKey, CompletableFuture<ModelRenderable>>(DEFAULT_MAX_CACHE_BYTES)
+
+    // models referenced by the requests
+    private val acquiredModels =
+        mutableMapOf<ModelRenderableLoader.LoadRequest, CompletableFuture<ModelRenderable>>()
+
     override fun loadRenderable(request: ModelRenderableLoader.LoadRequest) {
         if (arResourcesProvider.isArLoaded()) {
             load(request)
@@ -49,6 +72,17 @@ class ModelRenderableLoaderImpl(
     override fun cancel(request: ModelRenderableLoader.LoadRequest) {
         request.cancel()
         pendingRequests.remove(request)
+        acquiredModels.remove(request)?.let { model ->
+            cache.release(CacheKey(request.modelUri, request.glbRecenterMode), model)
+        }
+    }
+
+    override fun setMaxCacheBytes(bytes: Long) {
+        cache.maxBytes = bytes
+    }
+
+    override fun getCacheMetrics(): RefCountedLruCache.Metrics {
+        return cache.getMetrics()
     }
 
     override fun onArLoaded(firstTime: Boolean) {
@@ -60,6 +94,34 @@ class ModelRenderableLoaderImpl(
     }
 
     private fun load(request: ModelRenderableLoader.LoadRequest) {
+        val key = CacheKey(request.modelUri, request.glbRecenterMode)
+        val model = cache.acquire(key) ?: loadModel(request)?.also {
+            cache.put(key, it, estimateSize(request.modelUri))
+        } ?: return
+
+        acquiredModels.put(request, model)?.let { previous ->
+            cache.release(key, previous)
+        }
+        model
+            .thenAccept { renderable ->
+                if (!request.isCancelled) {
+                    val copy = renderable.makeCopy()
+                    copy.isShadowReceiver = false
+                    copy.isShadowCaster = false
+                    request.listener.invoke(DataResult.Success(copy))
+                }
+            }
+            .exceptionally { throwable ->
+                logMessage("error loading ModelRenderable: $throwable")
+                // failed model should not be used by next requests
+                cache.remove(key, model)
+                acquiredModels.remove(request)
+                request.listener.invoke(DataResult.Error(throwable))
+                null
+            }
+    }
+
+    private fun loadModel(request: ModelRenderableLoader.LoadRequest): CompletableFuture<ModelRenderable>? {
         val modelUri = request.modelUri
         val builder = ModelRenderable.builder()
         val modelType = Utils.detectModelType(modelUri, context)
@@ -70,25 +132,11 @@ class ModelRenderableLoaderImpl(
                 val errorMessage = "Unresolved model type"
                 logMessage(errorMessage, true)
                 request.listener.invoke(DataResult.Error(Exception(errorMessage)))
-                return
+                return null
             }
         }
-
-        builder
-            .setRegistryId(modelUri)
-            .build()
-            .thenAccept { renderable ->
-                if (!request.isCancelled) {
-                    renderable.isShadowReceiver = false
-                    renderable.isShadowCaster = false
-                    request.listener.invoke(DataResult.Success(renderable))
-                }
-            }
-            .exceptionally { throwable ->
-                logMessage("error loading ModelRenderable: $throwable")
-                request.listener.invoke(DataResult.Error(throwable))
-                null
-            }
+        // not using the Sceneform registry, so the models are released by the cache
+        return builder.build()
     }
 
     private fun setGLBSource(
@@ -107,4 +155,22 @@ class ModelRenderableLoaderImpl(
         builder.setSource(context, uri)
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns the size of the model file, which approximates
+     * the memory used by the loaded model
+     */
+    private fun estimateSize(uri: Uri): Long {
+        val length = try {
+            context.contentResolver.openAssetFileDescriptor(uri, "r")?.use { it.length }
+        } catch (e: Exception) {
+            null // e.g. remote model
+        }
+        return length?.takeIf { it > 0 } ?: DEFAULT_MODEL_BYTES
+    }
+
+    private data class CacheKey(
+        val uri: Uri,
+        val recenterMode: RenderableSource.RecenterMode
+    )
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.ar.renderable
+
+import android.view.View
+import android.view.ViewGroup
+import java.util.*
+
+/**
+ * Pool of views that are no longer used by nodes (e.g. rows scrolled out
+ * of a list), so next nodes of the same type don't have to inflate them again.
+ * Should be accessed only from the main thread.
+ *
+ * @param maxPerKey maximum number of views kept for a single key
+ */
+class RecycledViewPool(private val maxPerKey: Int = DEFAULT_MAX_PER_KEY) {
+
+    companion object {
+        const val DEFAULT_MAX_PER_KEY = 16
+    }
+
+    private val views = HashMap<Key, ArrayDeque<View>>()
+
+    private var requests = 0L
+    private var hits = 0L
+    private var discarded = 0L
+
+    /**
+     * Returns a pooled view for the [key] or null if there is none
+     */
+    fun acquire(key: Key): View? {
+        requests++
+        val view = views[key]?.pollFirst()
+        if (view != null) {
+            hits++
+        }
+        return view
+    }
+
+    fun release(key: Key, view: View) {
+        (view.parent as? ViewGroup)?.removeView(view)
+
+        val queue = views.getOrPut(key) { ArrayDeque() }
+        if (queue.size >= maxPerKey) {
+            discarded++
+            return
+        }
+        if (queue.none { it === view }) {
+            queue.addLast(view)
+        }
+    }
+
+    fun clear() {
+        views.values.forEach { discarded += it.size }
+        views.clear()
+    }
+
+    fun getMetrics(): Metrics {
+        return Metrics(
+            requests = requests,
+            inflationsAvoided = hits,
+            pooled = views.values.sumBy { it.size },
+            pooledPerKey = views.mapValues { it.value.size },
+            discarded = discarded
+        )
+    }
+
+    /**
+     * @param nodeClass class of the node that uses the view
+     * @param layoutId resource id of the view layout (0 if not inflated)
+     */
+    data class Key(
+        val nodeClass: Class<*>,
+        val layoutId: Int
+    )
+
+    /**
+     * @param requests number of view requests
+     * @param inflationsAvoided number of requests served with a recycled view
+     * @param pooled number of views waiting in the pool
+     * @param pooledPerKey number of views waiting in the pool for each key
+     * @param discarded number of released views that have not been kept
+     * (because of the limit per key or clearing the pool)
+     */
+    data class Metrics(
+        val requests: Long,
+        val inflationsAvoided: Long,
+        val pooled: Int,
+        val pooledPerKey: Map<Key, Int>,
+        val discarded: Long
+    )
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.ar.renderable
+
+import java.util.*
+
+/**
+ * Cache of values shared by many users (e.g. models used by many nodes).
+ * A value is never evicted while it's acquired; released values are kept
+ * until they get evicted (least recently used first) to keep the size
+ * of all cached values under [maxBytes].
+ * Should be accessed only from the main thread.
+ *
+ * @param maxBytes size budget of the cache
+ */
+class RefCountedLruCache<K, V : Any>(maxBytes: Long) {
+
+    var maxBytes = maxBytes
+        set(value) {
+            field = value
+            trimToSize()
+        }
+
+    // access ordered, so the first entry is the least recently used one
+    private val entries = LinkedHashMap<K, Entry<V>>(16, 0.75f, true)
+
+    private var bytes = 0L
+    private var hits = 0L
+    private var misses = 0L
+    private var evictions = 0L
+
+    /**
+     * Returns the value cached for the [key] (incrementing its references count)
+     * or null if there is no such value
+     */
+    fun acquire(key: K): V? {
+        val entry = entries[key]
+        if (entry == null) {
+            misses++
+            return null
+        }
+        hits++
+        entry.refCount++
+        return entry.value
+    }
+
+    /**
+     * Adds the [value] acquired by the caller (with one reference)
+     *
+     * @param bytes size of the value
+     */
+    fun put(key: K, value: V, bytes: Long) {
+        entries.put(key, Entry(value, bytes, refCount = 1))?.let {
+            this.bytes -= it.bytes
+        }
+        this.bytes += bytes
+        trimToSize()
+    }
+
+    /**
+     * Gives back the reference to the [value] cached for the [key]
+     * (does nothing if the [value] is no longer cached)
+     */
+    fun release(key: K, value: V) {
+        val entry = entries[key] ?: return
+        if (entry.value !== value || entry.refCount == 0) {
+            return
+        }
+        entry.refCount--
+        trimToSize()
+    }
+
+    /**
+     * Removes the [value] cached for the [key] even if it's used (e.g. when loading failed)
+     */
+    fun remove(key: K, value: V) {
+        val entry = entries[key] ?: return
+        if (entry.value === value) {
+            entries.remove(key)
+            bytes -= entry.bytes
+        }
+    }
+
+    fun clear() {
+        entries.clear()
+        bytes = 0
+    }
+
+    fun getMetrics(): Metrics {
+        return Metrics(
+            hits = hits,
+            misses = misses,
+            evictions = evictions,
+            entries = entries.size,
+            inUse = entries.values.count { it.refCount > 0 },
+            bytes = bytes,
+            maxBytes = maxBytes
+        )
+    }
+
+    private fun trimToSize() {
+        if (bytes <= maxBytes) {
+            return
+        }
+        val iterator = entries.values.iterator()
+        while (bytes > maxBytes && iterator.hasNext()) {
+            val entry = iterator.next()
+            if (entry.refCount == 0) {
+                iterator.remove()
+                bytes -= entry.bytes
+                evictions++
+            }
+        }
+    }
+
+    private class Entry<V>(
+        val value: V,
+        val bytes: Long,
+        var refCount: Int
+    )
+
+    /**
+     * @param hits number of requests served with a cached value
+     * @param misses number of requests for values that were not cached
+     * @param evictions number of values removed to keep the size budget
+     * @param entries number of cached values
+     * @param inUse number of cached values that are currently acquired
+     * @param bytes size of all cached values
+     * @param maxBytes size budget of the cache
+     */
+    data class Metrics(
+        val hits: Long,
+        val misses: Long,
+        val evictions: Long,
+        val entries: Int,
+        val inUse: Int,
+        val bytes: Long,
+        val maxBytes: Long
+    ) {
+        val hitRate: Float
+            get() = if (hits + misses > 0) hits.toFloat() / (hits + misses) else 0f
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.ar.renderable
+
+import com.google.ar.sceneform.math.Vector3
+import com.google.ar.sceneform.rendering.Material
+import com.google.ar.sceneform.rendering.RenderableDefinition
+import com.google.ar.sceneform.rendering.Vertex
+
+/**
+ * Geometry of a view renderable: 1 x 1 quad centered in the x-axis
+ * and bottom-aligned in the y-axis (the same as in the android_view model),
+ * so it can be built with an already loaded material instead of parsing the model.
+ */
+object ViewQuad {
+
+    private val normal = Vector3.back()
+
+    private val vertices = listOf(
+        vertex(-0.5f, 0f, 0f, 0f),
+        vertex(0.5f, 0f, 1f, 0f),
+        vertex(0.5f, 1f, 1f, 1f),
+        vertex(-0.5f, 1f, 0f, 1f)
+    )
+
+    private val triangleIndices = listOf(0, 1, 2, 0, 2, 3)
+
+    fun createDefinition(material: Material): RenderableDefinition {
+        val submesh = RenderableDefinition.Submesh.builder()
+            .setTriangleIndices(triangleIndices)
+            .setMaterial(material)
+            .build()
+
+        return RenderableDefinition.builder()
+            .setVertices(vertices)
+            .setSubmeshes(listOf(submesh))
+            .build()
+    }
+
+    private fun vertex(x: Float, y: Float, u: Float, v: Float): Vertex {
+        return Vertex.builder()
+            .setPosition(Vector3(x, y, 0f))
+            .setNormal(normal)
+            .setUvCoordinate(Vertex.UvCoordinate(u, v))
+            .build()
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.ar.renderable
+
+import android.content.Context
+import android.view.View
+import android.view.ViewGroup
+import android.widget.FrameLayout
+
+/**
+ * Root view of a pooled [com.google.ar.sceneform.rendering.ViewRenderable].
+ *
+ * A ViewRenderable is bound to its view for life, so instead of the node's
+ * view we pass this host and swap its content when the renderable is reused.
+ */
+class ViewRenderableHost(context: Context) : FrameLayout(context) {
+
+    init {
+        layoutParams = LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT)
+    }
+
+    fun bind(view: View) {
+        if (childCount == 1 && getChildAt(0) === view) {
+            return
+        }
+        removeAllViews()
+        (view.parent as? ViewGroup)?.removeView(view)
+        addView(view)
+    }
+
+    fun unbind() {
+        removeAllViews()
+    }
+
+}
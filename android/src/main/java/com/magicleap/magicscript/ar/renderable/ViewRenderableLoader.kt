@@ -27,10 +27,23 @@ interface ViewRenderableLoader {
 
     fun cancel(request: LoadRequest)
 
+    /**
+     * Gives back the [renderable] that is no longer used by a node,
+     * so it can be reused by next requests
+     */
+    fun release(renderable: ViewRenderable)
+
+    fun getPoolMetrics(): ViewRenderablePool.Metrics
+
+    /**
+     * @param reuse renderable currently used by the node that should be bound
+     * to the [view] instead of loading a new one (e.g. when the node is rebuilt)
+     */
     class LoadRequest(
         val view: View,
         val horizontalAlignment: Alignment.Horizontal,
         val verticalAlignment: Alignment.Vertical,
+        val reuse: ViewRenderable? = null,
         listener: ((result: DataResult<ViewRenderable>) -> Unit)
     ) : RenderableLoadRequest<ViewRenderable>(listener)
 
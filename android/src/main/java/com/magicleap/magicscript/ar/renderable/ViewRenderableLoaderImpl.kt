@@ -17,58 +17,159 @@
 package com.magicleap.magicscript.ar.renderable
 
 import android.content.Context
+import android.os.Handler
+import android.os.Looper
+import com.google.ar.sceneform.rendering.Material
 import com.google.ar.sceneform.rendering.ViewRenderable
 import com.magicleap.magicscript.R
 import com.magicleap.magicscript.ar.ArResourcesProvider
+import com.magicleap.magicscript.ar.RenderPriority
 import com.magicleap.magicscript.utils.DataResult
+import com.magicleap.magicscript.utils.logMessage
 
+/**
+ * Loads view renderables reusing the ones released by nodes ([ViewRenderablePool]).
+ * Each renderable is built for a [ViewRenderableHost], so it can be bound
+ * to another view when reused.
+ *
+ * The material is loaded only once (when AR is loaded) as a template,
+ * and each new renderable gets a copy of it.
+ *
+ * New renderables are built in the next main thread message, so the requests
+ * cancelled in the same pass (e.g. rows of a virtualized list that are mounted
+ * outside the viewport) do not build a renderable at all.
+ */
 class ViewRenderableLoaderImpl(
     private val context: Context,
     private val arResourcesProvider: ArResourcesProvider
 ) : ViewRenderableLoader,
     ArResourcesProvider.ArLoadedListener {
 
+    companion object {
+        // using custom material to disable back side
+        private const val MATERIAL = R.raw.android_view
+    }
+
     init {
         arResourcesProvider.addArLoadedListener(this)
     }
 
     private val pendingRequests = mutableListOf<ViewRenderableLoader.LoadRequest>()
 
+    // requests waiting for building a new renderable
+    private val buildRequests = LinkedHashSet<ViewRenderableLoader.LoadRequest>()
+    private val handler = Handler(Looper.getMainLooper())
+    private val buildRunnable = Runnable { buildRenderables() }
+
+    private val pool = ViewRenderablePool()
+
+    private var templateState = TemplateState.NOT_LOADED
+    private var templateMaterial: Material? = null
+
     override fun loadRenderable(request: ViewRenderableLoader.LoadRequest) {
-        if (arResourcesProvider.isArLoaded()) {
+        if (arResourcesProvider.isArLoaded() && templateState.isFinished) {
             load(request)
         } else {
             pendingRequests.add(request)
+            // AR may have been loaded before this loader was created
+            if (arResourcesProvider.isArLoaded() && templateState == TemplateState.NOT_LOADED) {
+                loadTemplateMaterial()
+            }
         }
     }
 
     override fun onArLoaded(firstTime: Boolean) {
-        val requestIterator = pendingRequests.iterator()
-        while (requestIterator.hasNext()) {
-            load(requestIterator.next())
-            requestIterator.remove()
+        if (templateState == TemplateState.NOT_LOADED) {
+            loadTemplateMaterial()
+        } else if (templateState.isFinished) {
+            loadPendingRequests()
         }
     }
 
+    override fun release(renderable: ViewRenderable) {
+        val host = renderable.view as? ViewRenderableHost ?: return
+        host.unbind()
+        val key = ViewRenderablePool.Key(
+            renderable.horizontalAlignment,
+            renderable.verticalAlignment,
+            MATERIAL
+        )
+        pool.release(key, renderable)
+    }
+
+    override fun getPoolMetrics(): ViewRenderablePool.Metrics {
+        return pool.getMetrics()
+    }
+
     private fun load(request: ViewRenderableLoader.LoadRequest) {
-        val builder = ViewRenderable
-            .builder()
-            .setSource(context, R.raw.android_view) // using custom material to disable back side
-            .setView(context, request.view)
+        if (request.isCancelled) {
+            return
+        }
+        val horizontalAlignment =
+            ViewRenderable.HorizontalAlignment.valueOf(request.horizontalAlignment.name)
+        val verticalAlignment =
+            ViewRenderable.VerticalAlignment.valueOf(request.verticalAlignment.name)
+
+        val reused = request.reuse
+        if (reused != null && reused.view is ViewRenderableHost) {
+            pool.onReused()
+            reused.horizontalAlignment = horizontalAlignment
+            reused.verticalAlignment = verticalAlignment
+            bindAndDeliver(reused, request)
+            return
+        }
+
+        val key = ViewRenderablePool.Key(horizontalAlignment, verticalAlignment, MATERIAL)
+        val pooled = pool.acquire(key)
+        if (pooled != null) {
+            bindAndDeliver(pooled, request)
+            return
+        }
+
+        if (buildRequests.isEmpty()) {
+            handler.post(buildRunnable)
+        }
+        buildRequests.add(request)
+    }
+
+    private fun buildRenderables() {
+        val requests = buildRequests.toList()
+        buildRequests.clear()
+        requests.forEach { build(it) }
+    }
 
+    private fun build(request: ViewRenderableLoader.LoadRequest) {
         val horizontalAlignment =
             ViewRenderable.HorizontalAlignment.valueOf(request.horizontalAlignment.name)
         val verticalAlignment =
             ViewRenderable.VerticalAlignment.valueOf(request.verticalAlignment.name)
+
+        val host = ViewRenderableHost(context)
+        host.bind(request.view)
+
+        val builder = ViewRenderable
+            .builder()
+            .setView(context, host)
+
+        val material = templateMaterial
+        if (material != null) {
+            builder.setSource(ViewQuad.createDefinition(material.makeCopy()))
+        } else {
+            builder.setSource(context, MATERIAL)
+        }
+
         builder.setHorizontalAlignment(horizontalAlignment)
         builder.setVerticalAlignment(verticalAlignment)
 
         builder.build()
             .thenAccept { renderable ->
+                pool.onCreated()
+                renderable.isShadowReceiver = false
+                renderable.isShadowCaster = false
                 if (!request.isCancelled) {
-                    renderable.isShadowReceiver = false
-                    renderable.isShadowCaster = false
                     request.listener.invoke(DataResult.Success(renderable))
+                } else {
+                    release(renderable)
                 }
             }
             .exceptionally { throwable ->
@@ -77,9 +178,58 @@ class ViewRenderableLoaderImpl(
             }
     }
 
+    private fun bindAndDeliver(
+        renderable: ViewRenderable,
+        request: ViewRenderableLoader.LoadRequest
+    ) {
+        (renderable.view as ViewRenderableHost).bind(request.view)
+        // the renderable may have been used by a node with custom priority
+        renderable.renderPriority = RenderPriority.DEFAULT
+        request.listener.invoke(DataResult.Success(renderable))
+    }
+
     override fun cancel(request: ViewRenderableLoader.LoadRequest) {
         request.cancel()
         pendingRequests.remove(request)
+        if (buildRequests.remove(request) && buildRequests.isEmpty()) {
+            handler.removeCallbacks(buildRunnable)
+        }
+    }
+
+    private fun loadPendingRequests() {
+        val requestIterator = pendingRequests.iterator()
+        while (requestIterator.hasNext()) {
+            load(requestIterator.next())
+            requestIterator.remove()
+        }
+    }
+
+    private fun loadTemplateMaterial() {
+        templateState = TemplateState.LOADING
+        ViewRenderable
+            .builder()
+            .setSource(context, MATERIAL)
+            .setView(context, ViewRenderableHost(context))
+            .build()
+            .thenAccept { template ->
+                templateMaterial = template.material
+                templateState = TemplateState.LOADED
+                loadPendingRequests()
+            }
+            .exceptionally { throwable ->
+                // fallback to loading the material for each renderable
+                logMessage("error loading template material: $throwable", warn = true)
+                templateState = TemplateState.FAILED
+                loadPendingRequests()
+                null
+            }
+    }
+
+    private enum class TemplateState(val isFinished: Boolean) {
+        NOT_LOADED(false),
+        LOADING(false),
+        LOADED(true),
+        FAILED(true)
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.ar.renderable
+
+import com.google.ar.sceneform.rendering.ViewRenderable
+import java.util.*
+
+/**
+ * Pool of built [ViewRenderable]s that are no longer used by any node.
+ * Should be accessed only from the main thread.
+ *
+ * @param maxPerKey maximum number of renderables kept for a single key
+ */
+class ViewRenderablePool(private val maxPerKey: Int = DEFAULT_MAX_PER_KEY) {
+
+    companion object {
+        const val DEFAULT_MAX_PER_KEY = 16
+    }
+
+    private val renderables = HashMap<Key, ArrayDeque<ViewRenderable>>()
+
+    private var requests = 0L
+    private var hits = 0L
+    private var created = 0L
+    private var discarded = 0L
+
+    /**
+     * Returns a pooled renderable for the [key] or null if there is none
+     */
+    fun acquire(key: Key): ViewRenderable? {
+        requests++
+        val renderable = renderables[key]?.pollFirst()
+        if (renderable != null) {
+            hits++
+        }
+        return renderable
+    }
+
+    /**
+     * Should be called when a renderable has been reused without acquiring
+     * from the pool (e.g. by the same node)
+     */
+    fun onReused() {
+        requests++
+        hits++
+    }
+
+    /**
+     * Should be called when a new renderable has been built
+     */
+    fun onCreated() {
+        created++
+    }
+
+    fun release(key: Key, renderable: ViewRenderable) {
+        val queue = renderables.getOrPut(key) { ArrayDeque() }
+        if (queue.size >= maxPerKey) {
+            discarded++
+            return
+        }
+        if (queue.none { it === renderable }) {
+            queue.addLast(renderable)
+        }
+    }
+
+    fun clear() {
+        renderables.values.forEach { discarded += it.size }
+        renderables.clear()
+    }
+
+    fun getMetrics(): Metrics {
+        return Metrics(
+            requests = requests,
+            hits = hits,
+            pooled = renderables.values.sumBy { it.size },
+            alive = created - discarded
+        )
+    }
+
+    /**
+     * @param material resource id of the renderable material
+     */
+    data class Key(
+        val horizontalAlignment: ViewRenderable.HorizontalAlignment,
+        val verticalAlignment: ViewRenderable.VerticalAlignment,
+        val material: Int
+    )
+
+    /**
+     * @param requests number of renderable requests
+     * @param hits number of requests served without building a new renderable
+     * @param pooled number of renderables waiting in the pool
+     * @param alive number of built renderables that are not discarded
+     * (used by nodes or pooled)
+     */
+    data class Metrics(
+        val requests: Long,
+        val hits: Long,
+        val pooled: Int,
+        val alive: Long
+    ) {
+        val hitRate: Float
+            get() = if (requests > 0) hits.toFloat() / requests else 0f
+    }
+
+}
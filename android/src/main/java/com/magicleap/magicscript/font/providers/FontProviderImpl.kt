@@ -22,23 +22,36 @@ import com.magicleap.magicscript.font.FontProvider
 import com.magicleap.magicscript.font.FontStyle
 import com.magicleap.magicscript.font.FontWeight
 import com.magicleap.magicscript.font.external.LominoFont
+import com.magicleap.magicscript.utils.AssetsIndex
 import com.magicleap.magicscript.utils.logMessage
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.FutureTask
 
 /**
  * Typeface returned from this provider should be used by every
  * node that contains a text
+ *
+ * External fonts can be loaded in background before they are needed ([preloadFonts]),
+ * then [provideFont] blocks only when the requested font is still being loaded.
+ * The provider is thread safe.
+ *
+ * @param assetsIndex index used to check if a font exists in assets
  */
 class FontProviderImpl(
     private val context: Context,
-    private val androidFontProvider: AndroidFontProvider
+    private val androidFontProvider: AndroidFontProvider,
+    private val assetsIndex: AssetsIndex = AssetsIndex(context.assets)
 ) : FontProvider {
 
     companion object {
-        private const val FONTS_DIR = "fonts"
+        const val FONTS_DIR = "fonts"
         private val externalFont = LominoFont()
     }
 
-    private val fontsCache = hashMapOf<String, FontState>()
+    // loaded external fonts by file name (null typeface if the font is absent)
+    private val fontsCache = ConcurrentHashMap<String, FutureTask<Typeface?>>()
 
     /**
      * Returns a typeface for a given [fontParams].
@@ -50,35 +63,63 @@ class FontProviderImpl(
         val style = fontStyle ?: FontStyle.DEFAULT
 
         val fontName = externalFont.getFileName(weight, style)
-        val fontState = fontsCache[fontName]
-        when {
-            fontState == null -> { // need to load
-                val fontsCatalogExists = context.assets.list("")?.contains(FONTS_DIR) ?: false
-                if (!fontsCatalogExists) {
-                    fontsCache[fontName] = FontState(true, null)
-                    return androidFontProvider.provideFont(fontStyle, fontWeight)
-                }
-
-                val fontExists = context.assets.list(FONTS_DIR)?.contains(fontName) ?: false
-                if (!fontExists) {
-                    fontsCache[fontName] = FontState(true, null)
-                    return androidFontProvider.provideFont(fontStyle, fontWeight)
-                }
+        val loadTask = fontsCache[fontName]
+            ?: createLoadTask(fontName)
+            ?: fontsCache.getValue(fontName)
 
-                val fontPath = "$FONTS_DIR/$fontName"
-                val typeface = Typeface.createFromAsset(context.assets, fontPath)
-                fontsCache[fontName] = FontState(false, typeface)
-                logMessage("External font loaded: $fontName")
-                return typeface
+        // loads the font if it's not loaded yet (including a preload task still
+        // waiting in the queue), waits only if the font is being loaded in background
+        loadTask.run()
+        val typeface = loadTask.get()
+        return typeface ?: androidFontProvider.provideFont(fontStyle, fontWeight)
+    }
 
+    /**
+     * Loads all external fonts (each weight and style) using the [executor]
+     */
+    fun preloadFonts(executor: Executor) {
+        for (weight in FontWeight.values()) {
+            for (style in FontStyle.values()) {
+                val fontName = externalFont.getFileName(weight, style)
+                createLoadTask(fontName)?.let { executor.execute(it) }
             }
+        }
+    }
+
+    /**
+     * Loads all external fonts on a background thread
+     */
+    fun preloadFontsInBackground() {
+        val executor = Executors.newSingleThreadExecutor()
+        preloadFonts(executor)
+        // the thread finishes after loading the fonts
+        executor.shutdown()
+    }
+
+    /**
+     * Registers a task loading the font or returns null
+     * if the font is already loaded or being loaded
+     */
+    private fun createLoadTask(fontName: String): FutureTask<Typeface?>? {
+        val task = FutureTask<Typeface?> { loadFont(fontName) }
+        return if (fontsCache.putIfAbsent(fontName, task) == null) task else null
+    }
 
-            fontState.loadError -> // already tried to load this font, but it's absent
-                return androidFontProvider.provideFont(fontStyle, fontWeight)
+    private fun loadFont(fontName: String): Typeface? {
+        val fontExists = assetsIndex.contains(FONTS_DIR, fontName)
+        if (!fontExists) {
+            return null
+        }
 
-            else -> return fontState.typeface!!
+        return try {
+            val fontPath = "$FONTS_DIR/$fontName"
+            Typeface.createFromAsset(context.assets, fontPath).also {
+                logMessage("External font loaded: $fontName")
+            }
+        } catch (e: RuntimeException) {
+            logMessage("Cannot load font $fontName: $e", true)
+            null
         }
     }
 
-    private class FontState(val loadError: Boolean, val typeface: Typeface?)
-}
\ No newline at end of file
+}
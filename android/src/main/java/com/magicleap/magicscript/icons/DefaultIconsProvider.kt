@@ -18,9 +18,13 @@ package com.magicleap.magicscript.icons
 
 import android.content.Context
 import android.graphics.drawable.Drawable
+import java.util.concurrent.ConcurrentHashMap
 
 class DefaultIconsProvider(private val context: Context) : IconsProvider {
 
+    // looking up the identifier by name is slow, so it's done once per icon
+    private val resourceIds = ConcurrentHashMap<String, Int>()
+
     override fun provideIcon(name: String): Drawable? {
         if (name.isEmpty()) {
             return null
@@ -34,9 +38,10 @@ class DefaultIconsProvider(private val context: Context) : IconsProvider {
             name
         }
 
-        val resourceName = digitCorrectedName.replace("-", "_")
-        val resourceId =
+        val resourceId = resourceIds.getOrPut(name) {
+            val resourceName = digitCorrectedName.replace("-", "_")
             context.resources.getIdentifier(resourceName, "drawable", context.packageName)
+        }
         if (resourceId == 0) { // resource not exists
             return null
         }
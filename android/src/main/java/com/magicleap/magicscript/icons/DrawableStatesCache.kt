@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2019-2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.icons
+
+import android.graphics.drawable.Drawable
+import android.util.LruCache
+
+/**
+ * Bounded cache of decoded drawables. It keeps the [Drawable.ConstantState]s,
+ * so each returned drawable is a new instance (with its own bounds, tint, etc.)
+ * sharing the decoded bitmap with other instances.
+ *
+ * @param maxSize maximum number of cached drawables
+ */
+class DrawableStatesCache(maxSize: Int = DEFAULT_MAX_SIZE) {
+
+    companion object {
+        const val DEFAULT_MAX_SIZE = 64
+    }
+
+    private val states = LruCache<String, Drawable.ConstantState>(maxSize)
+
+    /**
+     * Returns a new drawable for the [key] or null if not cached
+     */
+    fun get(key: String): Drawable? {
+        return states.get(key)?.newDrawable()
+    }
+
+    /**
+     * Caches the [drawable] if it can be shared (has a constant state)
+     */
+    fun put(key: String, drawable: Drawable) {
+        drawable.constantState?.let { states.put(key, it) }
+    }
+
+}
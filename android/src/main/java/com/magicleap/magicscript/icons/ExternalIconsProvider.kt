@@ -18,34 +18,45 @@ package com.magicleap.magicscript.icons
 
 import android.content.Context
 import android.graphics.drawable.Drawable
+import com.magicleap.magicscript.utils.AssetsIndex
 
 /**
  * Assets icons provider
+ *
+ * @param assetsIndex index used to check if an icon exists in assets
+ * @param drawablesCache cache of decoded icons
  */
-class ExternalIconsProvider(private val context: Context) : IconsProvider {
+class ExternalIconsProvider(
+    private val context: Context,
+    private val assetsIndex: AssetsIndex = AssetsIndex(context.assets),
+    private val drawablesCache: DrawableStatesCache = DrawableStatesCache()
+) : IconsProvider {
 
     companion object {
-        private const val ICONS_DIR = "lumin_system_icons"
+        const val ICONS_DIR = "lumin_system_icons"
     }
 
     /**
      * Returns an icon from assets or null if not exists
      */
     override fun provideIcon(name: String): Drawable? {
-        val iconsCatalogExists = context.assets.list("")?.contains(ICONS_DIR) ?: false
-        if (!iconsCatalogExists) {
-            return null
-        }
         val assetsIconName = name.split("-").joinToString(separator = "", transform = {
             it.capitalize()
         }) + ".png"
 
-        val iconExists = context.assets.list(ICONS_DIR)?.contains(assetsIconName) ?: false
+        val iconExists = assetsIndex.contains(ICONS_DIR, assetsIconName)
         if (!iconExists) {
             return null
         }
         val iconPath = "$ICONS_DIR/$assetsIconName"
-        return Drawable.createFromStream(context.assets.open(iconPath), null)
+        drawablesCache.get(iconPath)?.let {
+            return it
+        }
+        val icon = context.assets.open(iconPath).use { Drawable.createFromStream(it, null) }
+        if (icon != null) {
+            drawablesCache.put(iconPath, icon)
+        }
+        return icon
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.magicleap.magicscript.images
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.drawable.Drawable
+import android.os.Handler
+import android.os.Looper
+import android.util.LruCache
+import android.widget.ImageView
+import com.bumptech.glide.Glide
+import com.bumptech.glide.request.target.CustomTarget
+import com.bumptech.glide.request.target.Target
+import com.bumptech.glide.request.transition.Transition
+import com.magicleap.magicscript.utils.logMessage
+import java.util.*
+
+/**
+ * Loads images with Glide decoding them for the requested size, so a big image
+ * shown on a small node is not decoded in the original resolution.
+ *
+ * The decoded images are kept in a memory cache shared by all image nodes
+ * and limited to [maxCacheBytes]. The cache holds its own copies of the bitmaps,
+ * so Glide can reuse the decoded ones.
+ * Should be used only from the main thread.
+ */
+class GlideImageLoader @JvmOverloads constructor(
+    context: Context,
+    maxCacheBytes: Int = DEFAULT_MAX_CACHE_BYTES
+) : ImageLoader {
+
+    companion object {
+        const val DEFAULT_MAX_CACHE_BYTES = 32 * 1024 * 1024
+    }
+
+    private val context = context.applicationContext
+
+    private val cache = object : LruCache<ImageLoader.Request, Bitmap>(maxCacheBytes) {
+        override fun sizeOf(key: ImageLoader.Request, value: Bitmap): Int {
+            return value.byteCount
+        }
+    }
+
+    // last request of each view
+    private val targets = WeakHashMap<ImageView, ImageTarget>()
+
+    private val mainHandler = Handler(Looper.getMainLooper())
+
+    override fun loadImage(request: ImageLoader.Request, imageView: ImageView) {
+        cancel(imageView)
+
+        val cached = cache.get(request)
+        if (cached != null) {
+            imageView.setImageBitmap(cached)
+            return
+        }
+
+        val target = ImageTarget(request, imageView)
+        targets[imageView] = target
+        val builder = Glide.with(context)
+            .asBitmap()
+            .load(request.uri)
+        when (request.scaleMode) {
+            ImageLoader.ScaleMode.ASPECT_FILL -> builder.centerCrop().into(target)
+            ImageLoader.ScaleMode.ASPECT_FIT -> builder.fitCenter().into(target)
+            ImageLoader.ScaleMode.STRETCH -> builder.into(target)
+        }
+    }
+
+    override fun cancel(imageView: ImageView) {
+        targets.remove(imageView)?.let {
+            Glide.with(context).clear(it)
+        }
+    }
+
+    private fun toTargetSize(size: Int): Int {
+        return if (size == ImageLoader.Request.ORIGINAL_SIZE) Target.SIZE_ORIGINAL else size
+    }
+
+    private inner class ImageTarget(
+        private val request: ImageLoader.Request,
+        private val imageView: ImageView
+    ) : CustomTarget<Bitmap>(toTargetSize(request.widthPx), toTargetSize(request.heightPx)) {
+
+        override fun onResourceReady(resource: Bitmap, transition: Transition<in Bitmap>?) {
+            if (targets[imageView] !== this) {
+                return
+            }
+            targets.remove(imageView)
+
+            val bitmap = resource.copy(resource.config ?: Bitmap.Config.ARGB_8888, false)
+            cache.put(request, bitmap)
+            imageView.setImageBitmap(bitmap)
+
+            // Glide does not allow to clear the request inside its callback
+            mainHandler.post {
+                Glide.with(context).clear(this)
+            }
+        }
+
+        override fun onLoadFailed(errorDrawable: Drawable?) {
+            if (targets[imageView] === this) {
+                targets.remove(imageView)
+            }
+            logMessage("Error loading image: ${request.uri}", true)
+        }
+
+        override fun onLoadCleared(placeholder: Drawable?) {
+            // the view shows a copy of the resource, so there is nothing to clear
+        }
+    }
+
+}
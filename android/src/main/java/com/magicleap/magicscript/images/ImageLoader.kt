@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.magicleap.magicscript.images
+
+import android.net.Uri
+import android.widget.ImageView
+
+interface ImageLoader {
+
+    /**
+     * Loads the image described by [request] into the [imageView]
+     * (cancelling the previous request for this view)
+     */
+    fun loadImage(request: Request, imageView: ImageView)
+
+    fun cancel(imageView: ImageView)
+
+    enum class ScaleMode {
+        // stretched to the view size
+        STRETCH,
+        // scaled to fit the view size keeping the aspect ratio
+        ASPECT_FIT,
+        // cropped to fill the view size keeping the aspect ratio
+        ASPECT_FILL
+    }
+
+    /**
+     * @param widthPx width in pixels the image is decoded for
+     * (or [ORIGINAL_SIZE] to decode the original image)
+     * @param heightPx height in pixels the image is decoded for
+     * (or [ORIGINAL_SIZE] to decode the original image)
+     */
+    data class Request(
+        val uri: Uri,
+        val widthPx: Int,
+        val heightPx: Int,
+        val scaleMode: ScaleMode
+    ) {
+        companion object {
+            const val ORIGINAL_SIZE = Int.MIN_VALUE
+        }
+    }
+
+}
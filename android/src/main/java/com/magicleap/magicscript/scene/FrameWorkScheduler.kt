@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene
+
+import android.os.Handler
+import com.google.ar.sceneform.FrameTime
+import com.google.ar.sceneform.Scene
+import com.magicleap.magicscript.ar.ArResourcesProvider
+import com.magicleap.magicscript.utils.logMessage
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.max
+
+/**
+ * Executes main thread work (nodes creation, build, update, etc.) in the order
+ * it was scheduled, limited by a per-frame time budget.
+ *
+ * When the AR scene is available the queue is drained on each scene update (frame tick),
+ * otherwise it's drained from the main thread [Handler]. Work that does not fit
+ * in the budget is carried over to the next frame (at least one item is executed per pass).
+ *
+ * @param clock returns current time in nanoseconds
+ */
+class FrameWorkScheduler(
+    private val arResourcesProvider: ArResourcesProvider,
+    private val mainHandler: Handler,
+    private val clock: () -> Long
+) : Scene.OnUpdateListener, ArResourcesProvider.ArSceneChangedListener {
+
+    companion object {
+        const val DEFAULT_FRAME_BUDGET_MS = 4.0
+    }
+
+    constructor(arResourcesProvider: ArResourcesProvider, mainHandler: Handler) :
+            this(arResourcesProvider, mainHandler, System::nanoTime)
+
+    @Volatile
+    private var frameBudgetNanos = toNanos(DEFAULT_FRAME_BUDGET_MS)
+
+    private val queue = ConcurrentLinkedQueue<Runnable>()
+    private val drainPosted = AtomicBoolean(false)
+
+    // accessed only from the main thread
+    private var scene: Scene? = null
+
+    @Volatile
+    private var sceneAttached = false
+
+    // metrics
+    private val queueDepth = AtomicInteger()
+    private val maxQueueDepth = AtomicInteger()
+    private val executedWork = AtomicLong()
+    private val drainPasses = AtomicLong()
+    private val budgetOverruns = AtomicLong()
+    private val carriedOverPasses = AtomicLong()
+
+    private val drainRunnable = Runnable {
+        drainPosted.set(false)
+        drain()
+        if (!sceneAttached && queueDepth.get() > 0) {
+            postDrain()
+        }
+    }
+
+    init {
+        arResourcesProvider.addArSceneChangedListener(this)
+        mainHandler.post {
+            arResourcesProvider.getArScene()?.let { onSceneChanged(it) }
+        }
+    }
+
+    /**
+     * Adds the [work] to the queue. It can be called from any thread.
+     */
+    fun schedule(work: Runnable) {
+        queue.add(work)
+        val depth = queueDepth.incrementAndGet()
+        maxQueueDepth.accumulateAndGet(depth) { current, new -> max(current, new) }
+
+        if (!sceneAttached) {
+            postDrain()
+        }
+    }
+
+    /**
+     * Sets the maximum time per frame (in milliseconds) spent on the scheduled work
+     *
+     * @throws IllegalArgumentException if the [budgetMs] is not positive
+     */
+    fun setFrameBudget(budgetMs: Double) {
+        require(budgetMs > 0) { "Frame budget should be positive" }
+        frameBudgetNanos = toNanos(budgetMs)
+    }
+
+    /**
+     * Removes all pending work
+     */
+    fun clear() {
+        while (queue.poll() != null) {
+            queueDepth.decrementAndGet()
+        }
+    }
+
+    fun getMetrics(): Metrics {
+        return Metrics(
+            queueDepth = queueDepth.get(),
+            maxQueueDepth = maxQueueDepth.get(),
+            executedWork = executedWork.get(),
+            drainPasses = drainPasses.get(),
+            budgetOverruns = budgetOverruns.get(),
+            carriedOverPasses = carriedOverPasses.get()
+        )
+    }
+
+    override fun onUpdate(frameTime: FrameTime?) {
+        frameTime?.let {
+            NodesProfiler.recordFrame((it.deltaSeconds * TimeUnit.SECONDS.toNanos(1)).toLong())
+        }
+        drain()
+    }
+
+    override fun onSceneChanged(arScene: Scene) {
+        scene?.removeOnUpdateListener(this)
+        arScene.addOnUpdateListener(this)
+        scene = arScene
+        sceneAttached = true
+    }
+
+    private fun drain() {
+        if (queue.isEmpty()) {
+            return
+        }
+        val budget = frameBudgetNanos
+        val start = clock()
+        var elapsed = 0L
+
+        do {
+            val work = queue.poll() ?: break
+            queueDepth.decrementAndGet()
+            work.run()
+            executedWork.incrementAndGet()
+            elapsed = clock() - start
+        } while (elapsed < budget)
+
+        drainPasses.incrementAndGet()
+        if (elapsed > budget) {
+            budgetOverruns.incrementAndGet()
+            logMessage("frame budget exceeded: ${elapsed / 1000} us, queue=${queueDepth.get()}")
+        }
+        if (queue.isNotEmpty()) {
+            carriedOverPasses.incrementAndGet()
+        }
+    }
+
+    private fun postDrain() {
+        if (drainPosted.compareAndSet(false, true)) {
+            mainHandler.post(drainRunnable)
+        }
+    }
+
+    private fun toNanos(millis: Double): Long {
+        return (millis * TimeUnit.MILLISECONDS.toNanos(1)).toLong()
+    }
+
+    /**
+     * @param queueDepth number of work items waiting for execution
+     * @param maxQueueDepth the highest observed [queueDepth]
+     * @param executedWork number of executed work items
+     * @param drainPasses number of passes (frames) that executed any work
+     * @param budgetOverruns number of passes that took longer than the frame budget
+     * @param carriedOverPasses number of passes that left work for the next frame
+     */
+    data class Metrics(
+        val queueDepth: Int,
+        val maxQueueDepth: Int,
+        val executedWork: Long,
+        val drainPasses: Long,
+        val budgetOverruns: Long,
+        val carriedOverPasses: Long
+    )
+
+}
@@ -16,8 +16,8 @@
 
 package com.magicleap.magicscript.scene
 
-import com.facebook.react.bridge.ReadableMap
 import com.magicleap.magicscript.scene.nodes.base.ReactNode
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
 
 interface NodesManager {
 
@@ -29,7 +29,7 @@ interface NodesManager {
 
     fun addNodeToParent(nodeId: String, parentId: String)
 
-    fun updateNode(nodeId: String, properties: ReadableMap): Boolean
+    fun updateNode(nodeId: String, properties: NodeProps): Boolean
 
     fun removeNode(nodeId: String)
 
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene
+
+import org.json.JSONArray
+import org.json.JSONObject
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Opt-in profiler that collects frame times and the cost of nodes work
+ * (updates, layout passes, builds, renderable loads, clipping) per node type.
+ *
+ * Usage:
+ * ```
+ * val start = NodesProfiler.start()
+ * // measured work
+ * NodesProfiler.stop(node, NodesProfiler.Metric.LAYOUT, start)
+ * ```
+ * When profiling is disabled [start] returns [NOT_STARTED] and [stop] does nothing,
+ * so the only cost is reading the [isEnabled] flag.
+ */
+object NodesProfiler {
+
+    const val NOT_STARTED = -1L
+
+    /**
+     * Upper bounds (inclusive, in microseconds) of the histogram buckets;
+     * the last bucket holds all greater values
+     */
+    @JvmField
+    val HISTOGRAM_BUCKETS_US = longArrayOf(50, 100, 250, 500, 1_000, 2_000, 4_000, 8_000, 16_000)
+
+    private val FRAME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(16)
+
+    @JvmStatic
+    @Volatile
+    var isEnabled = false
+
+    private val nodesStats = ConcurrentHashMap<Class<*>, ConcurrentHashMap<Metric, Stats>>()
+    private val frameStats = Stats()
+    private val framesOverBudget = AtomicLong()
+
+    /**
+     * Returns the start time of measured work or [NOT_STARTED] if profiling is disabled
+     */
+    @JvmStatic
+    fun start(): Long {
+        return if (isEnabled) System.nanoTime() else NOT_STARTED
+    }
+
+    /**
+     * Records the time elapsed since [startTime] for the type of the [node]
+     *
+     * @param startTime value returned by [start]
+     */
+    @JvmStatic
+    fun stop(node: Any, metric: Metric, startTime: Long) {
+        if (startTime == NOT_STARTED || !isEnabled) {
+            return
+        }
+        val metrics = nodesStats.getOrPut(node.javaClass) { ConcurrentHashMap() }
+        metrics.getOrPut(metric) { Stats() }.record(System.nanoTime() - startTime)
+    }
+
+    /**
+     * Records the duration of a frame (time since the previous frame)
+     */
+    fun recordFrame(frameTimeNanos: Long) {
+        if (!isEnabled) {
+            return
+        }
+        frameStats.record(frameTimeNanos)
+        if (frameTimeNanos > FRAME_BUDGET_NANOS) {
+            framesOverBudget.incrementAndGet()
+        }
+    }
+
+    @JvmStatic
+    fun reset() {
+        nodesStats.clear()
+        frameStats.reset()
+        framesOverBudget.set(0)
+    }
+
+    fun getMetrics(): Metrics {
+        val nodes = nodesStats.entries.associate { (type, metrics) ->
+            getTypeName(type) to metrics.mapValues { it.value.snapshot() }
+        }
+        return Metrics(
+            frames = frameStats.snapshot(),
+            framesOverBudget = framesOverBudget.get(),
+            nodes = nodes
+        )
+    }
+
+    /**
+     * Returns the collected metrics as a JSON string
+     */
+    @JvmStatic
+    fun toJson(): String {
+        val metrics = getMetrics()
+
+        val nodes = JSONObject()
+        metrics.nodes.toSortedMap().forEach { (type, typeMetrics) ->
+            val typeJson = JSONObject()
+            typeMetrics.forEach { (metric, stats) ->
+                typeJson.put(metric.jsonName, stats.toJson())
+            }
+            nodes.put(type, typeJson)
+        }
+
+        return JSONObject()
+            .put("enabled", isEnabled)
+            .put("histogramBucketsUs", JSONArray(HISTOGRAM_BUCKETS_US.toList()))
+            .put("frames", metrics.frames.toJson())
+            .put("framesOverBudget", metrics.framesOverBudget)
+            .put("nodes", nodes)
+            .toString()
+    }
+
+    private fun getTypeName(type: Class<*>): String {
+        // anonymous classes have no simple name
+        return type.simpleName.ifEmpty { type.name }
+    }
+
+    private fun TimeStats.toJson(): JSONObject {
+        return JSONObject()
+            .put("count", count)
+            .put("totalMs", toMillis(totalNanos))
+            .put("averageMs", toMillis(averageNanos))
+            .put("maxMs", toMillis(maxNanos))
+            .put("histogram", JSONArray(histogram))
+    }
+
+    private fun toMillis(nanos: Long): Double {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1).toDouble()
+    }
+
+    enum class Metric(val jsonName: String) {
+        /**
+         * Node update on a frame tick (includes the layout and clipping done during the update)
+         */
+        UPDATE("update"),
+
+        /**
+         * Layout pass of a layout node
+         */
+        LAYOUT("layout"),
+
+        /**
+         * First build of a node
+         */
+        BUILD("build"),
+
+        /**
+         * Build of a UI node after a property that requires re-creating the renderable changed
+         */
+        REBUILD("rebuild"),
+
+        /**
+         * Time from requesting a view renderable to receiving it
+         */
+        RENDERABLE_LOAD("renderableLoad"),
+
+        /**
+         * Clipping of the node children
+         */
+        CLIP("clip")
+    }
+
+    /**
+     * @param count number of measurements
+     * @param totalNanos sum of all measured times
+     * @param maxNanos the longest measured time
+     * @param histogram number of measurements in each of [HISTOGRAM_BUCKETS_US] buckets
+     * (the last element counts the measurements greater than the last bound)
+     */
+    data class TimeStats(
+        val count: Long,
+        val totalNanos: Long,
+        val maxNanos: Long,
+        val histogram: List<Long>
+    ) {
+        val averageNanos: Long
+            get() = if (count > 0) totalNanos / count else 0
+    }
+
+    /**
+     * @param frames durations of frames
+     * @param framesOverBudget number of frames longer than 16 ms
+     * @param nodes stats for each node type name and measured metric
+     */
+    data class Metrics(
+        val frames: TimeStats,
+        val framesOverBudget: Long,
+        val nodes: Map<String, Map<Metric, TimeStats>>
+    )
+
+    private class Stats {
+        private var count = 0L
+        private var totalNanos = 0L
+        private var maxNanos = 0L
+        private val histogram = LongArray(HISTOGRAM_BUCKETS_US.size + 1)
+
+        @Synchronized
+        fun record(nanos: Long) {
+            count++
+            totalNanos += nanos
+            if (nanos > maxNanos) {
+                maxNanos = nanos
+            }
+            val micros = TimeUnit.NANOSECONDS.toMicros(nanos)
+            var bucket = 0
+            while (bucket < HISTOGRAM_BUCKETS_US.size && micros > HISTOGRAM_BUCKETS_US[bucket]) {
+                bucket++
+            }
+            histogram[bucket]++
+        }
+
+        @Synchronized
+        fun reset() {
+            count = 0
+            totalNanos = 0
+            maxNanos = 0
+            histogram.fill(0)
+        }
+
+        @Synchronized
+        fun snapshot(): TimeStats {
+            return TimeStats(count, totalNanos, maxNanos, histogram.toList())
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ import com.google.ar.sceneform.math.Vector3
 import com.magicleap.magicscript.ar.ArResourcesProvider
 import com.magicleap.magicscript.scene.nodes.base.ReactNode
 import com.magicleap.magicscript.scene.nodes.prism.Prism
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
 import com.magicleap.magicscript.utils.Utils
 
 class ReactScene(
@@ -89,7 +90,11 @@ class ReactScene(
     }
 
     override fun update(props: ReadableMap) {
-        val propsToUpdate = Arguments.toBundle(props) ?: Bundle()
+        update(NodeProps.decode(props))
+    }
+
+    override fun update(props: NodeProps) {
+        val propsToUpdate = props.bundle
         this.properties.putAll(propsToUpdate) // save new props
         applyProperties(propsToUpdate)
     }
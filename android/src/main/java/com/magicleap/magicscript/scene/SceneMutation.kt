@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene
+
+import com.facebook.react.bridge.ReadableMap
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
+
+/**
+ * Single operation of a scene commit sent from JS in one batch
+ * (see ARComponentManager.applyMutations)
+ */
+sealed class SceneMutation {
+
+    /**
+     * @param nodeType element name as registered in JS component mapping (e.g. "button")
+     */
+    data class CreateNode(
+        val nodeType: String,
+        val nodeId: String,
+        val props: ReadableMap
+    ) : SceneMutation()
+
+    data class AddNode(val nodeId: String, val parentId: String) : SceneMutation()
+
+    data class AddNodeToRoot(val nodeId: String) : SceneMutation()
+
+    /**
+     * @param props properties decoded when the batch was received
+     */
+    data class UpdateNode(val nodeId: String, val props: NodeProps) : SceneMutation()
+
+    data class RemoveNode(val nodeId: String) : SceneMutation()
+
+    /**
+     * @param eventName name of the event as defined in JS (e.g. "onActivate")
+     */
+    data class Subscribe(val nodeId: String, val eventName: String) : SceneMutation()
+
+}
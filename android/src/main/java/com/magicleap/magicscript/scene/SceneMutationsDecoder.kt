@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene
+
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.ReadableArray
+import com.facebook.react.bridge.ReadableMap
+import com.facebook.react.bridge.ReadableType
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
+import com.magicleap.magicscript.utils.logMessage
+
+/**
+ * Decodes a batch of scene operations received from JS into a list of [SceneMutation].
+ * It does not touch any node, so it can be called outside of the main thread.
+ *
+ * Each operation is a map in the format:
+ * { op: "create", type: "button", nodeId: "1", props: {..} }
+ * { op: "add", nodeId: "1", parentId: "0" }
+ * { op: "addToRoot", nodeId: "0" }
+ * { op: "update", nodeId: "1", props: {..} }
+ * { op: "remove", nodeId: "1" }
+ * { op: "subscribe", nodeId: "1", event: "onActivate" }
+ */
+class SceneMutationsDecoder {
+
+    companion object {
+        const val KEY_OP = "op"
+        const val KEY_TYPE = "type"
+        const val KEY_NODE_ID = "nodeId"
+        const val KEY_PARENT_ID = "parentId"
+        const val KEY_PROPS = "props"
+        const val KEY_EVENT = "event"
+
+        const val OP_CREATE = "create"
+        const val OP_ADD = "add"
+        const val OP_ADD_TO_ROOT = "addToRoot"
+        const val OP_UPDATE = "update"
+        const val OP_REMOVE = "remove"
+        const val OP_SUBSCRIBE = "subscribe"
+    }
+
+    /**
+     * Returns mutations in the same order as [ops];
+     * invalid operations are skipped
+     */
+    fun decode(ops: ReadableArray): List<SceneMutation> {
+        val mutations = ArrayList<SceneMutation>(ops.size())
+        for (i in 0 until ops.size()) {
+            if (ops.getType(i) != ReadableType.Map) {
+                logMessage("skipping operation at index $i: not a map", warn = true)
+                continue
+            }
+            val mutation = decodeOperation(ops.getMap(i))
+            if (mutation != null) {
+                mutations.add(mutation)
+            } else {
+                logMessage("skipping invalid operation at index $i", warn = true)
+            }
+        }
+        return mutations
+    }
+
+    private fun decodeOperation(op: ReadableMap?): SceneMutation? {
+        if (op == null) {
+            return null
+        }
+        val nodeId = op.readString(KEY_NODE_ID) ?: return null
+
+        return when (op.readString(KEY_OP)) {
+            OP_CREATE -> {
+                val type = op.readString(KEY_TYPE) ?: return null
+                SceneMutation.CreateNode(type, nodeId, op.readProps())
+            }
+            OP_ADD -> {
+                val parentId = op.readString(KEY_PARENT_ID) ?: return null
+                SceneMutation.AddNode(nodeId, parentId)
+            }
+            OP_ADD_TO_ROOT -> SceneMutation.AddNodeToRoot(nodeId)
+            OP_UPDATE -> SceneMutation.UpdateNode(nodeId, NodeProps.decode(op.readProps()))
+            OP_REMOVE -> SceneMutation.RemoveNode(nodeId)
+            OP_SUBSCRIBE -> {
+                val eventName = op.readString(KEY_EVENT) ?: return null
+                SceneMutation.Subscribe(nodeId, eventName)
+            }
+            else -> null
+        }
+    }
+
+    private fun ReadableMap.readString(key: String): String? {
+        if (!hasKey(key) || getType(key) != ReadableType.String) {
+            return null
+        }
+        return getString(key)
+    }
+
+    private fun ReadableMap.readProps(): ReadableMap {
+        if (!hasKey(KEY_PROPS) || getType(KEY_PROPS) != ReadableType.Map) {
+            return JavaOnlyMap()
+        }
+        return getMap(KEY_PROPS) ?: JavaOnlyMap()
+    }
+
+}
@@ -19,9 +19,10 @@ package com.magicleap.magicscript.scene
 import android.os.Handler
 import android.os.Looper
 import com.facebook.react.bridge.LifecycleEventListener
-import com.facebook.react.bridge.ReadableMap
 import com.magicleap.magicscript.scene.nodes.base.ReactNode
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
 import com.magicleap.magicscript.utils.logMessage
+import java.util.*
 
 /**
  * It manages nodes registration and attaching them to scene
@@ -31,6 +32,9 @@ class UiNodesManager : NodesManager, LifecycleEventListener {
     private var reactScene: ReactScene? = null
     private val nodesById = HashMap<String, ReactNode>()
 
+    // reverse index, so we can find id of a node without scanning [nodesById]
+    private val idsByNode = IdentityHashMap<ReactNode, String>()
+
     @Synchronized
     override fun findNodeWithId(nodeId: String): ReactNode? {
         return nodesById[nodeId]
@@ -39,7 +43,14 @@ class UiNodesManager : NodesManager, LifecycleEventListener {
     @Synchronized
     override fun registerNode(node: ReactNode, nodeId: String) {
         // node.name = nodeId
-        nodesById[nodeId] = node
+        nodesById.put(nodeId, node)?.let { previousNode ->
+            idsByNode.remove(previousNode)
+        }
+        idsByNode.put(node, nodeId)?.let { previousId ->
+            if (previousId != nodeId) {
+                nodesById.remove(previousId)
+            }
+        }
         logMessage("register node id= $nodeId, type=${node.javaClass.simpleName}")
 
         if (node is ReactScene) {
@@ -74,7 +85,7 @@ class UiNodesManager : NodesManager, LifecycleEventListener {
     }
 
     @Synchronized
-    override fun updateNode(nodeId: String, properties: ReadableMap): Boolean {
+    override fun updateNode(nodeId: String, properties: NodeProps): Boolean {
         val node = nodesById[nodeId]
         if (node == null) {
             logMessage("cannot update node: not found", warn = true)
@@ -106,6 +117,7 @@ class UiNodesManager : NodesManager, LifecycleEventListener {
                 node.onDestroy()
             }
             nodesById.clear()
+            idsByNode.clear()
         }
     }
 
@@ -127,7 +139,7 @@ class UiNodesManager : NodesManager, LifecycleEventListener {
             removeFromMap(child)
         }
 
-        val key = nodesById.entries.firstOrNull { it.value == node }?.key
+        val key = idsByNode.remove(node)
         if (key != null) {
             nodesById.remove(key)
         }
@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes
+
+import com.magicleap.magicscript.utils.FenwickTree
+import java.util.*
+
+/**
+ * Sizes of list items along the list orientation (main extents) and across it
+ * (cross extents), updated when an item size changes.
+ *
+ * A sum of main extents before an item is calculated in O(log n)
+ * and the maximum cross extent in O(log n).
+ *
+ * Items with no main extent yet (e.g. rows which content has not been added)
+ * can be given the average extent of the measured items ([estimatedSumBefore]).
+ */
+class ListItemsExtents {
+
+    private val mainExtents = FenwickTree()
+
+    // 1 for each item with no main extent, so they can be counted in O(log n)
+    private val unmeasured = FenwickTree()
+
+    private var crossExtents = FloatArray(16)
+
+    // number of items for each cross extent
+    private val crossExtentsCount = TreeMap<Float, Int>()
+
+    val size: Int
+        get() = mainExtents.size
+
+    /**
+     * Sum of main extents of all items
+     */
+    val total: Float
+        get() = mainExtents.total
+
+    /**
+     * Average main extent of the items that have been measured
+     * or 0 if there are no such items
+     */
+    val estimatedExtent: Float
+        get() {
+            val measuredCount = size - unmeasured.total.toInt()
+            return if (measuredCount > 0) total / measuredCount else 0f
+        }
+
+    /**
+     * Maximum cross extent of the items or 0 if there are no items
+     */
+    val maxCrossExtent: Float
+        get() = if (crossExtentsCount.isEmpty()) 0f else crossExtentsCount.lastKey()
+
+    fun add(mainExtent: Float, crossExtent: Float) {
+        val index = size
+        if (index == crossExtents.size) {
+            crossExtents = crossExtents.copyOf(index * 2)
+        }
+        mainExtents.add(mainExtent)
+        unmeasured.add(if (mainExtent > 0) 0f else 1f)
+        crossExtents[index] = crossExtent
+        addCrossExtent(crossExtent)
+    }
+
+    fun set(index: Int, mainExtent: Float, crossExtent: Float) {
+        mainExtents[index] = mainExtent
+        unmeasured[index] = if (mainExtent > 0) 0f else 1f
+        removeCrossExtent(crossExtents[index])
+        crossExtents[index] = crossExtent
+        addCrossExtent(crossExtent)
+    }
+
+    fun removeAt(index: Int) {
+        removeCrossExtent(crossExtents[index])
+        crossExtents.copyInto(crossExtents, index, index + 1, size)
+        mainExtents.removeAt(index)
+        unmeasured.removeAt(index)
+    }
+
+    fun clear() {
+        mainExtents.clear()
+        unmeasured.clear()
+        crossExtentsCount.clear()
+    }
+
+    /**
+     * Returns sum of main extents of the items before item at [index]
+     */
+    fun sumBefore(index: Int): Float {
+        return mainExtents.prefixSum(index)
+    }
+
+    /**
+     * Returns sum of main extents of the items before item at [index],
+     * counting the items with no main extent as [estimatedExtent]
+     */
+    fun estimatedSumBefore(index: Int): Float {
+        val unmeasuredBefore = unmeasured.prefixSum(index)
+        return sumBefore(index) + unmeasuredBefore * estimatedExtent
+    }
+
+    private fun addCrossExtent(extent: Float) {
+        crossExtentsCount[extent] = (crossExtentsCount[extent] ?: 0) + 1
+    }
+
+    private fun removeCrossExtent(extent: Float) {
+        val count = crossExtentsCount[extent] ?: return
+        if (count > 1) {
+            crossExtentsCount[extent] = count - 1
+        } else {
+            crossExtentsCount.remove(extent)
+        }
+    }
+
+}
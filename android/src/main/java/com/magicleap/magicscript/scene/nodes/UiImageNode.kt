@@ -19,17 +19,17 @@ package com.magicleap.magicscript.scene.nodes
 import android.content.Context
 import android.graphics.Color
 import android.graphics.PorterDuff
+import android.net.Uri
 import android.os.Bundle
 import android.view.LayoutInflater
 import android.view.View
 import android.widget.ImageView
-import com.bumptech.glide.Glide
-import com.bumptech.glide.request.target.Target
 import com.facebook.react.bridge.ReadableMap
 import com.magicleap.magicscript.R
 import com.magicleap.magicscript.ar.clip.Clipper
 import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader
 import com.magicleap.magicscript.icons.IconsRepository
+import com.magicleap.magicscript.images.ImageLoader
 import com.magicleap.magicscript.scene.nodes.base.UiNode
 import com.magicleap.magicscript.utils.*
 import kotlinx.android.synthetic.main.image.view.*
@@ -39,7 +39,8 @@ open class UiImageNode(
     context: Context,
     viewRenderableLoader: ViewRenderableLoader,
     nodeClipper: Clipper,
-    private val iconsRepo: IconsRepository
+    private val iconsRepo: IconsRepository,
+    private val imageLoader: ImageLoader
 ) : UiNode(initProps, context, viewRenderableLoader, nodeClipper) {
 
     companion object {
@@ -59,6 +60,9 @@ open class UiImageNode(
         const val CONTENT_MODE_STRETCH = "stretch"
     }
 
+    // image view the image has been loaded into
+    private var imageView: ImageView? = null
+
     init {
         properties.putDefault(PROP_CONTENT_MODE, CONTENT_MODE_STRETCH)
     }
@@ -84,6 +88,7 @@ open class UiImageNode(
         }
 
         setImagePath(props)
+        reloadImage(props)
         setIcon(props)
         setUseDefaultIcon(props)
         setColor(props)
@@ -95,11 +100,7 @@ open class UiImageNode(
     private fun setImagePath(props: Bundle) {
         val imageUri = props.readImagePath(PROP_FILE_PATH, context)
         if (imageUri != null) {
-            Glide.with(context)
-                .load(imageUri)
-                // use original size in order to aspect-fill work
-                .override(Target.SIZE_ORIGINAL, Target.SIZE_ORIGINAL)
-                .into(view.image_view)
+            loadImage(imageUri)
 
             val color = props.readColor(PROP_COLOR)
             if (color != null) {
@@ -108,6 +109,44 @@ open class UiImageNode(
         }
     }
 
+    private fun reloadImage(props: Bundle) {
+        // the image is decoded for the content mode, so it has to be loaded again
+        if (updatingProperties && props.containsKey(PROP_CONTENT_MODE)
+            && !props.containsKey(PROP_FILE_PATH)
+        ) {
+            properties.readImagePath(PROP_FILE_PATH, context)?.let { loadImage(it) }
+        }
+    }
+
+    /**
+     * Loads the image decoded for the node size in pixels
+     * (the original size is used when the size is not specified)
+     */
+    private fun loadImage(imageUri: Uri) {
+        val size = provideDesiredSize()
+        val widthPx = if (size.x == WRAP_CONTENT_DIMENSION) {
+            ImageLoader.Request.ORIGINAL_SIZE
+        } else {
+            Utils.metersToPx(size.x, context)
+        }
+        val heightPx = if (size.y == WRAP_CONTENT_DIMENSION) {
+            ImageLoader.Request.ORIGINAL_SIZE
+        } else {
+            Utils.metersToPx(size.y, context)
+        }
+        val scaleMode = when (properties.getString(PROP_CONTENT_MODE)) {
+            CONTENT_MODE_FILL -> ImageLoader.ScaleMode.ASPECT_FILL
+            CONTENT_MODE_FIT -> ImageLoader.ScaleMode.ASPECT_FIT
+            else -> ImageLoader.ScaleMode.STRETCH
+        }
+        val request = ImageLoader.Request(imageUri, widthPx, heightPx, scaleMode)
+        val imageView = view.image_view
+        // cancel loading into the previous view (e.g. when the node is rebuilt)
+        this.imageView?.takeIf { it !== imageView }?.let { imageLoader.cancel(it) }
+        this.imageView = imageView
+        imageLoader.loadImage(request, imageView)
+    }
+
     private fun setIcon(props: Bundle) {
         val forceDefault = properties.getBoolean(PROP_USE_DEFAULT_ICON, false)
         val iconName = props.getString(PROP_ICON)
@@ -164,11 +203,16 @@ open class UiImageNode(
     private fun setContentMode(props: Bundle) {
         props.read<String>(PROP_CONTENT_MODE)?.let { mode ->
             view.image_view.scaleType = when (mode) {
-                CONTENT_MODE_FILL -> ImageView.ScaleType.CENTER
+                CONTENT_MODE_FILL -> ImageView.ScaleType.CENTER_CROP
                 CONTENT_MODE_FIT -> ImageView.ScaleType.FIT_CENTER
                 else -> ImageView.ScaleType.FIT_XY
             }
         }
     }
 
+    override fun onDestroy() {
+        super.onDestroy()
+        imageView?.let { imageLoader.cancel(it) }
+    }
+
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader
 import com.magicleap.magicscript.scene.nodes.base.Layoutable
 import com.magicleap.magicscript.scene.nodes.base.ReactNode
 import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.base.UiBaseLayout
 import com.magicleap.magicscript.scene.nodes.base.UiNode
 import com.magicleap.magicscript.scene.nodes.props.AABB
 import com.magicleap.magicscript.scene.nodes.props.Alignment
@@ -56,6 +57,9 @@ open class UiListViewItemNode(
 
     private var lastContentBounds = AABB()
 
+    // rows can share the views, the view is not inflated
+    override val recycledViewLayout: Int? = 0
+
     init {
         properties.putDefault(PROP_BACKGROUND_COLOR, DEFAULT_BACKGROUND_COLOR)
     }
@@ -86,6 +90,10 @@ open class UiListViewItemNode(
             return
         }
         if (child is TransformNode) {
+            if (isViewReleased) {
+                // the row is outside the viewport of a virtualized list
+                forEachUiNode(child) { it.releaseView() }
+            }
             lastContentBounds = child.getBounding()
             adjustContentPosition(child, lastContentBounds)
         }
@@ -148,4 +156,19 @@ open class UiListViewItemNode(
         val height = max(originalHeight, minSize.y)
         return Vector2(width, height)
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Calls the [action] for the [node] and its descendants that are UI nodes
+ */
+internal fun forEachUiNode(node: TransformNode, action: (UiNode) -> Unit) {
+    if (node is UiNode) {
+        action(node)
+    }
+    val children = if (node is UiBaseLayout) node.childrenList else node.contentNode.children
+    for (child in children) {
+        if (child is TransformNode) {
+            forEachUiNode(child, action)
+        }
+    }
+}
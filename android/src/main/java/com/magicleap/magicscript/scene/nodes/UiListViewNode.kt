@@ -24,7 +24,9 @@ import com.google.ar.sceneform.math.Vector3
 import com.magicleap.magicscript.ar.clip.Clipper
 import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader
 import com.magicleap.magicscript.scene.nodes.base.ReactNode
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
 import com.magicleap.magicscript.scene.nodes.base.UiBaseLayout
+import com.magicleap.magicscript.scene.nodes.base.UiNode
 import com.magicleap.magicscript.scene.nodes.layouts.UiLinearLayout
 import com.magicleap.magicscript.scene.nodes.layouts.manager.HorizontalLinearLayoutManager
 import com.magicleap.magicscript.scene.nodes.layouts.manager.LinearLayoutManager
@@ -33,6 +35,7 @@ import com.magicleap.magicscript.scene.nodes.props.*
 import com.magicleap.magicscript.scene.nodes.views.CustomScrollView
 import com.magicleap.magicscript.utils.Vector2
 import com.magicleap.magicscript.utils.containsAny
+import com.magicleap.magicscript.utils.equalInexact
 import com.magicleap.magicscript.utils.putDefault
 import com.magicleap.magicscript.utils.read
 
@@ -56,11 +59,15 @@ open class UiListViewNode(
         const val PROP_SCROLLING_ENABLED = "scrollingEnabled"
         const val PROP_SCROLL_TO_ITEM = "scrollToItem"
         const val PROP_SKIP_INVISIBLE_ITEMS = "skipInvisibleItems"
+        const val PROP_VIRTUALIZED = "virtualized"
+        const val PROP_OVERSCAN = "overscan"
 
         const val DEFAULT_ORIENTATION = ORIENTATION_VERTICAL
         const val DEFAULT_ITEM_ALIGNMENT = "top-left"
         // default padding for each item [top, right, bottom, left]
         val DEFAULT_ITEM_PADDING = arrayListOf(0.0, 0.0, 0.0, 0.0)
+        // number of items outside the viewport (at each side) to keep bound
+        const val DEFAULT_OVERSCAN = 2
     }
 
     private var contentAdded = false
@@ -71,6 +78,30 @@ open class UiListViewNode(
     private var itemAlignmentMap: Map<Int, Alignment>? = null
     private var defaultItemAlignment = Alignment(Alignment.Vertical.TOP, Alignment.Horizontal.LEFT)
 
+    private val items = mutableListOf<UiListViewItemNode>()
+    private val itemIndices = HashMap<TransformNode, Int>()
+    // sizes of the items (along and across the orientation) updated when measured
+    private val itemsExtents = ListItemsExtents()
+    private var minItemSize = Vector2()
+
+    /**
+     * When [PROP_VIRTUALIZED] is set, only the items in the viewport (and [overscan])
+     * hold their views and renderables. Items added beyond the viewport are released
+     * right away, so their renderables are never built. Released items keep their last
+     * measured size (they are rebuilt when bound again) and items that have not been
+     * measured yet are estimated with the average extent of the others.
+     */
+    private var virtualized = false
+    private var overscan = DEFAULT_OVERSCAN
+    private val boundItems = mutableSetOf<UiListViewItemNode>()
+    private var visibleItemsChanged = false
+    private var lastViewport: AABB? = null
+    // index of the first item in the viewport (without overscan)
+    private var firstVisibleIndex = 0
+    // scrolling moves the content, so the viewport itself may stay the same
+    private var lastContentPosition = Vector3()
+    private val itemBounds = MutableAABB()
+
     init {
         // setting default values of properties
         properties.putDefault(PROP_ORIENTATION, DEFAULT_ORIENTATION)
@@ -81,9 +112,13 @@ open class UiListViewNode(
         val linearLayoutManager =
             LinearLayoutManager(VerticalLinearLayoutManager(), HorizontalLinearLayoutManager())
         containerNode = UiLinearLayout(containerProps, linearLayoutManager)
+        containerNode.onChildMeasuredListener = { node, bounds ->
+            itemIndices[node]?.let { index -> setItemExtents(index, bounds) }
+        }
 
         onContentSizeChangedListener = { contentSize ->
             this.contentSize = contentSize
+            visibleItemsChanged = true
             forceSameItemsWidth()
 
             val size = readSize()
@@ -99,6 +134,11 @@ open class UiListViewNode(
             val orientation = props.getString(PROP_ORIENTATION)
             properties.putString(PROP_SCROLL_DIRECTION, orientation)
             props.putString(PROP_SCROLL_DIRECTION, orientation)
+            visibleItemsChanged = true
+            if (updatingProperties) {
+                // main and cross extents are swapped
+                remeasureItems(orientation)
+            }
         }
 
         super.applyProperties(props)
@@ -123,6 +163,7 @@ open class UiListViewNode(
 
         setScrollingEnabled(props)
         setScrollToItem(props)
+        setVirtualized(props)
     }
 
     override fun provideDesiredSize(): Vector2 {
@@ -158,11 +199,38 @@ open class UiListViewNode(
         }
     }
 
+    override fun onUpdate(deltaSeconds: Float) {
+        super.onUpdate(deltaSeconds)
+
+        if (virtualized) {
+            val viewport = containerNode.clipBounds
+            val contentPosition = containerNode.getContentPosition()
+            if (visibleItemsChanged
+                || viewport !== lastViewport
+                || !contentPosition.equalInexact(lastContentPosition, epsilon = 1e-5f)
+            ) {
+                visibleItemsChanged = false
+                lastViewport = viewport
+                lastContentPosition = contentPosition
+                updateBoundItems()
+            }
+        }
+    }
+
     override fun addContent(child: ReactNode) {
         when (child) {
             is UiListViewItemNode -> {
                 addItem(child)
-                val itemIndex = getItems().size - 1
+                val itemIndex = items.size - 1
+                if (virtualized && isBeyondViewport(itemIndex)) {
+                    // not rendered until scrolled into the viewport
+                    releaseItem(child)
+                } else {
+                    // the item has been built, it's released in next update if not visible
+                    boundItems.add(child)
+                }
+                visibleItemsChanged = true
+                child.minSize = minItemSize
                 child.contentPadding = itemsPaddingMap?.get(itemIndex) ?: defaultItemsPadding
                 child.contentAlignment = itemAlignmentMap?.get(itemIndex) ?: defaultItemAlignment
 
@@ -178,6 +246,14 @@ open class UiListViewNode(
         }
     }
 
+    override fun removeContent(child: ReactNode) {
+        if (child is UiListViewItemNode) {
+            removeItem(child)
+        } else {
+            super.removeContent(child)
+        }
+    }
+
     private fun readSize(): Vector2 {
         val width = properties.getDouble(PROP_WIDTH, WRAP_CONTENT_DIMENSION.toDouble())
         val height = properties.getDouble(PROP_HEIGHT, WRAP_CONTENT_DIMENSION.toDouble())
@@ -186,15 +262,17 @@ open class UiListViewNode(
 
     private fun forceSameItemsWidth() {
         val orientation = properties.getString(PROP_ORIENTATION, DEFAULT_ORIENTATION)
-        val items = getItems()
+        val maxCrossExtent = itemsExtents.maxCrossExtent
 
         val minItemSize = if (orientation == ORIENTATION_VERTICAL) {
-            val maxItemWidth = findMaxItemWidth(items)
-            Vector2(maxItemWidth, 0f)
+            Vector2(maxCrossExtent, 0f)
         } else {
-            val maxItemHeight = findMaxItemHeight(items)
-            Vector2(0f, maxItemHeight)
+            Vector2(0f, maxCrossExtent)
+        }
+        if (minItemSize == this.minItemSize) {
+            return
         }
+        this.minItemSize = minItemSize
         items.forEach { item ->
             item.minSize = minItemSize
         }
@@ -205,13 +283,126 @@ open class UiListViewNode(
         (view as CustomScrollView).scrollingEnabled = scrollingEnabled
     }
 
+    private fun setVirtualized(props: Bundle) {
+        props.read<Int>(PROP_OVERSCAN)?.let { overscan ->
+            this.overscan = overscan.coerceAtLeast(0)
+            visibleItemsChanged = true
+        }
+
+        val virtualized = props.read<Boolean>(PROP_VIRTUALIZED) ?: return
+        if (virtualized == this.virtualized) {
+            return
+        }
+        this.virtualized = virtualized
+        visibleItemsChanged = true
+
+        if (!virtualized) {
+            items.forEach { item ->
+                if (boundItems.add(item)) {
+                    bindItem(item)
+                }
+            }
+        }
+    }
+
+    /**
+     * Binds the items that are inside the viewport (extended by [overscan] items)
+     * and releases views of the items that have left it. Items are laid out in order,
+     * so the visible range is found with a binary search.
+     */
+    private fun updateBoundItems() {
+        val clip = lastViewport
+        val visibleRange = if (clip == null || items.isEmpty()) {
+            items.indices
+        } else {
+            val viewport = clip.translated(-containerNode.getContentPosition())
+            val orientation = properties.getString(PROP_ORIENTATION, DEFAULT_ORIENTATION)
+            val first: Int
+            val last: Int
+            if (orientation == ORIENTATION_VERTICAL) {
+                // items are placed from top to bottom
+                first = findFirstItem(items) { it.minY <= viewport.max.y }
+                last = findFirstItem(items) { it.maxY < viewport.min.y } - 1
+            } else {
+                // items are placed from left to right
+                first = findFirstItem(items) { it.maxX >= viewport.min.x }
+                last = findFirstItem(items) { it.minX > viewport.max.x } - 1
+            }
+            firstVisibleIndex = first.coerceAtMost(items.size - 1)
+            (first - overscan).coerceAtLeast(0)..(last + overscan).coerceAtMost(items.size - 1)
+        }
+
+        val visibleItems = visibleRange.mapTo(HashSet()) { items[it] }
+
+        val iterator = boundItems.iterator()
+        while (iterator.hasNext()) {
+            val item = iterator.next()
+            if (item !in visibleItems) {
+                releaseItem(item)
+                iterator.remove()
+            }
+        }
+
+        visibleItems.forEach { item ->
+            if (boundItems.add(item)) {
+                bindItem(item)
+            }
+        }
+    }
+
+    /**
+     * Returns true if the item at [index] starts more than [overscan] items
+     * after the end of the viewport. Rows that have not been measured yet
+     * are counted with the estimated (average) extent.
+     */
+    private fun isBeyondViewport(index: Int): Boolean {
+        val size = readSize()
+        val orientation = properties.getString(PROP_ORIENTATION, DEFAULT_ORIENTATION)
+        val viewportExtent = if (orientation == ORIENTATION_VERTICAL) size.y else size.x
+        if (viewportExtent == WRAP_CONTENT_DIMENSION || index - overscan <= 0) {
+            return false
+        }
+        val viewportStart = itemsExtents.estimatedSumBefore(firstVisibleIndex)
+        val itemStart = itemsExtents.estimatedSumBefore(index - overscan)
+        return itemStart >= viewportStart + viewportExtent
+    }
+
+    /**
+     * Returns index of the first item which bounds match the [predicate]
+     * (that should be false for leading and true for trailing items),
+     * or items size if there is no such item
+     */
+    private inline fun findFirstItem(
+        items: List<TransformNode>,
+        predicate: (bounds: MutableAABB) -> Boolean
+    ): Int {
+        var low = 0
+        var high = items.size
+        while (low < high) {
+            val middle = (low + high) ushr 1
+            if (predicate(items[middle].getBounding(itemBounds))) {
+                high = middle
+            } else {
+                low = middle + 1
+            }
+        }
+        return low
+    }
+
+    private fun bindItem(item: UiListViewItemNode) {
+        forEachUiNode(item) { it.bindView() }
+    }
+
+    private fun releaseItem(item: UiListViewItemNode) {
+        forEachUiNode(item) { it.releaseView() }
+    }
+
     private fun setScrollToItem(props: Bundle) {
         val itemIndex = props.read<Int>(PROP_SCROLL_TO_ITEM) ?: return
         scrollToItem(itemIndex)
     }
 
     private fun scrollToItem(itemIndex: Int) {
-        val items = getItems()
         if (itemIndex > items.size - 1) {
             requestedScrollIndex = itemIndex
             return
@@ -219,8 +410,8 @@ open class UiListViewNode(
 
         val orientation = properties.read(PROP_ORIENTATION) ?: DEFAULT_ORIENTATION
         if (orientation == ORIENTATION_VERTICAL) {
-            val sumHeightBeforeItem = calculateItemsHeight(items, itemIndex)
-            val allItemsHeight = calculateItemsHeight(items, items.size)
+            val sumHeightBeforeItem = itemsExtents.sumBefore(itemIndex)
+            val allItemsHeight = itemsExtents.total
             val maxTravel = allItemsHeight - getBounding().size().y
 
             if (maxTravel > 0) {
@@ -228,8 +419,8 @@ open class UiListViewNode(
                 (view as CustomScrollView).updateScrollValue(Vector2(0f, positionY))
             }
         } else {
-            val sumWidthBeforeItem = calculateItemsWidth(items, itemIndex)
-            val allItemsWidth = calculateItemsWidth(items, items.size)
+            val sumWidthBeforeItem = itemsExtents.sumBefore(itemIndex)
+            val allItemsWidth = itemsExtents.total
             val maxTravel = allItemsWidth - getBounding().size().x
 
             if (maxTravel > 0) {
@@ -241,42 +432,57 @@ open class UiListViewNode(
 
     private fun addItem(listItem: UiListViewItemNode) {
         containerNode.addContent(listItem)
+        itemIndices[listItem] = items.size
+        items.add(listItem)
+        // the item is measured again by the container when its size changes
+        val bounds = listItem.getBounding()
+        itemsExtents.add(getMainExtent(bounds), getCrossExtent(bounds))
     }
 
-    private fun getItems() = containerNode.childrenList.filterIsInstance<UiListViewItemNode>()
+    private fun removeItem(listItem: UiListViewItemNode) {
+        val index = itemIndices.remove(listItem) ?: return
+        containerNode.removeContent(listItem)
+        boundItems.remove(listItem)
+        items.removeAt(index)
+        itemsExtents.removeAt(index)
+        for (i in index until items.size) {
+            itemIndices[items[i]] = i
+        }
+        visibleItemsChanged = true
+    }
 
-    private fun findMaxItemWidth(items: List<UiListViewItemNode>): Float {
-        return items.maxBy { it.getBounding().size().x }?.getBounding()?.size()?.x ?: 0f
+    private fun setItemExtents(index: Int, bounds: AABB) {
+        itemsExtents.set(index, getMainExtent(bounds), getCrossExtent(bounds))
     }
 
-    private fun findMaxItemHeight(items: List<UiListViewItemNode>): Float {
-        return items.maxBy { it.getBounding().size().y }?.getBounding()?.size()?.y ?: 0f
+    private fun remeasureItems(orientation: String?) {
+        itemsExtents.clear()
+        items.forEach { item ->
+            val bounds = item.getBounding()
+            itemsExtents.add(getMainExtent(bounds, orientation), getCrossExtent(bounds, orientation))
+        }
     }
 
     /**
-     * Calculates summary height of items before item at [toIndex]
-     *
-     * @param toIndex exclusive index of item
+     * Returns size of the [bounds] along the list orientation
      */
-    private fun calculateItemsHeight(items: List<UiListViewItemNode>, toIndex: Int): Float {
-        var sum = 0f
-        for (i in 0 until toIndex) {
-            sum += items[i].getBounding().size().y
-        }
-        return sum
+    private fun getMainExtent(
+        bounds: AABB,
+        orientation: String? = properties.getString(PROP_ORIENTATION)
+    ): Float {
+        val size = bounds.size()
+        return if (orientation == ORIENTATION_HORIZONTAL) size.x else size.y
     }
 
     /**
-     * Calculates summary width of items before item at [toIndex]
-     *
-     * @param toIndex exclusive index of item
+     * Returns size of the [bounds] across the list orientation
      */
-    private fun calculateItemsWidth(items: List<UiListViewItemNode>, toIndex: Int): Float {
-        var sum = 0f
-        for (i in 0 until toIndex) {
-            sum += items[i].getBounding().size().x
-        }
-        return sum
+    private fun getCrossExtent(
+        bounds: AABB,
+        orientation: String? = properties.getString(PROP_ORIENTATION)
+    ): Float {
+        val size = bounds.size()
+        return if (orientation == ORIENTATION_HORIZONTAL) size.y else size.x
     }
 
     private fun extractContainerProps(props: Bundle): JavaOnlyMap {
@@ -297,7 +503,7 @@ open class UiListViewNode(
         itemsPaddingMap = properties.read<ItemPaddingMap>(PROP_ITEM_PADDING)?.paddings
         defaultItemsPadding = properties.read<Padding>(PROP_DEFAULT_ITEM_PADDING)!!
 
-        getItems().forEachIndexed { index, item ->
+        items.forEachIndexed { index, item ->
             item.contentPadding = itemsPaddingMap?.get(index) ?: defaultItemsPadding
         }
     }
@@ -306,7 +512,7 @@ open class UiListViewNode(
         itemAlignmentMap = properties.read<ItemAlignmentMap>(PROP_ITEM_ALIGNMENT)?.alignments
         defaultItemAlignment = properties.read<Alignment>(PROP_DEFAULT_ITEM_ALIGNMENT)!!
 
-        getItems().forEachIndexed { index, item ->
+        items.forEachIndexed { index, item ->
             item.contentAlignment = itemAlignmentMap?.get(index) ?: defaultItemAlignment
         }
     }
@@ -28,6 +28,7 @@ import com.google.ar.sceneform.math.Vector3
 import com.magicleap.magicscript.R
 import com.magicleap.magicscript.ar.clip.Clipper
 import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader
+import com.magicleap.magicscript.scene.NodesProfiler
 import com.magicleap.magicscript.scene.nodes.base.ReactNode
 import com.magicleap.magicscript.scene.nodes.base.TransformNode
 import com.magicleap.magicscript.scene.nodes.base.UiNode
@@ -330,7 +331,12 @@ open class UiScrollViewNode(
                 val parentClippingScaled = parentClipping.scaled(scaleX, scaleY, scaleZ)
                 contentClipping.intersection(parentClippingScaled)
             }
-            content.clipBounds = parentAwareClipping
+            val currentClipping = content.clipBounds
+            if (currentClipping == null || !currentClipping.equalInexact(parentAwareClipping)) {
+                val start = NodesProfiler.start()
+                content.clipBounds = parentAwareClipping
+                NodesProfiler.stop(this, NodesProfiler.Metric.CLIP, start)
+            }
         }
     }
 
@@ -23,6 +23,7 @@ import android.view.Gravity
 import android.view.LayoutInflater
 import android.view.View
 import android.widget.TextView
+import androidx.core.content.ContextCompat
 import com.facebook.react.bridge.ReadableMap
 import com.magicleap.magicscript.R
 import com.magicleap.magicscript.ar.clip.Clipper
@@ -65,10 +66,25 @@ open class UiTextNode(
         properties.putDefault(PROP_ALIGNMENT, DEFAULT_ALIGNMENT)
     }
 
+    override val recycledViewLayout: Int? = R.layout.text
+
     override fun provideView(context: Context): View {
         return LayoutInflater.from(context).inflate(R.layout.text, null) as TextView
     }
 
+    override fun resetRecycledView(view: View) {
+        // restoring the layout attributes, as the properties may not override them
+        (view as TextView).apply {
+            text = ""
+            setSingleLine(false)
+            gravity = Gravity.LEFT
+            setTextColor(ContextCompat.getColor(context, R.color.text_color_default))
+            letterSpacing = 0f
+            setLineSpacing(0f, 1f)
+            isAllCaps = false
+        }
+    }
+
     override fun provideDesiredSize(): Vector2 {
         return readBoundsSize()
     }
@@ -18,6 +18,7 @@ package com.magicleap.magicscript.scene.nodes.base
 
 import com.facebook.react.bridge.LifecycleEventListener
 import com.facebook.react.bridge.ReadableMap
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
 
 interface ReactNode : LifecycleEventListener {
 
@@ -38,6 +39,11 @@ interface ReactNode : LifecycleEventListener {
 
     fun update(props: ReadableMap)
 
+    /**
+     * Should update the node with properties decoded outside of the main thread
+     */
+    fun update(props: NodeProps)
+
     fun addContent(child: ReactNode)
 
     fun removeContent(child: ReactNode)
@@ -16,5 +16,26 @@
 
 package com.magicleap.magicscript.scene.nodes.base
 
+import com.google.ar.sceneform.collision.CollisionShape
+import com.google.ar.sceneform.rendering.Renderable
+
+/**
+ * Content node of a [TransformNode]; notifies when its renderable
+ * or collision shape has been set, as both may change the node size.
+ */
 class TransformContentNode : TransformAwareNode() {
-}
\ No newline at end of file
+
+    var onRenderableChangedListener: (() -> Unit)? = null
+    var onCollisionShapeChangedListener: (() -> Unit)? = null
+
+    override fun setRenderable(renderable: Renderable?) {
+        super.setRenderable(renderable)
+        onRenderableChangedListener?.invoke()
+    }
+
+    override fun setCollisionShape(collisionShape: CollisionShape?) {
+        super.setCollisionShape(collisionShape)
+        onCollisionShapeChangedListener?.invoke()
+    }
+
+}
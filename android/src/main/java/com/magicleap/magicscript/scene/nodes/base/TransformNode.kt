@@ -21,12 +21,17 @@ import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.ReadableMap
 import com.google.ar.sceneform.FrameTime
 import com.google.ar.sceneform.Node
-import com.google.ar.sceneform.math.Matrix
-import com.google.ar.sceneform.math.Quaternion
 import com.google.ar.sceneform.math.Vector3
+import com.magicleap.magicscript.scene.NodesProfiler
 import com.magicleap.magicscript.scene.nodes.props.AABB
 import com.magicleap.magicscript.scene.nodes.props.Alignment
+import com.magicleap.magicscript.scene.nodes.props.AlwaysAppliedProps
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
+import com.magicleap.magicscript.scene.nodes.props.PropsDiff
+import com.magicleap.magicscript.scene.nodes.props.TransformProps
 import com.magicleap.magicscript.utils.*
+import kotlin.math.max
 import kotlin.properties.Delegates
 
 
@@ -55,9 +60,16 @@ abstract class TransformNode(
 
         /**
          * Indicates how often we measure bounding and (if necessary)
-         * refresh alignment. Used only when [useContentNodeAlignment].
+         * refresh alignment while an alignment check is requested.
+         * Used only when [useContentNodeAlignment].
          */
         private const val ALIGNMENT_INTERVAL = 0.05F // in seconds
+
+        /**
+         * How long we keep checking the bounding after a renderable has been set,
+         * because ARCore calculates its collision shape asynchronously
+         */
+        private const val RENDERABLE_SETTLING_TIME = 1F // in seconds
     }
 
     var onUpdatedListener: (() -> Unit)? = null
@@ -107,18 +119,66 @@ abstract class TransformNode(
             clipChildren()
         }
 
+    /**
+     * True when the node is entirely outside the clip bounds set by its parent.
+     * Then the [contentNode] is disabled (its renderable and collider are detached
+     * from the scene) and clipping is not propagated to the children.
+     */
+    var isCulled = false
+        set(value) {
+            if (value != field) {
+                field = value
+                contentNode.isEnabled = !value
+            }
+        }
+
     var isVisible: Boolean by Delegates.observable(true) { prop, old, new ->
         onVisibilityChanged(new)
         visibilityListeners.forEach { it.invoke(new) }
+        invalidateBounds()
     }
 
+    /**
+     * True if bounds of this node may have changed since they were
+     * measured by the parent layout (see [invalidateBounds])
+     */
+    var isBoundsDirty = false
+        private set
+
+    /**
+     * Parent that should be notified when bounds of this node may have changed,
+     * if it's different from [reactParent] (layouts attach children with delay)
+     */
+    var boundsParent: TransformNode? = null
+
     protected var updatingProperties = false
         private set
 
-    private var bounding = AABB() // default
+    /**
+     * Properties that are applied on [update] even if their value has not changed
+     * (declared in [AlwaysAppliedProps])
+     */
+    private val alwaysAppliedProperties = AlwaysAppliedProps.of(javaClass)
+
+    private val bounding = MutableAABB() // default
+
+    // reused for bounding calculated in the frame loop
+    private val currentBounding = MutableAABB()
 
     private var timeSinceLastAlignment = 0F
 
+    // true when the bounding may have changed, so the alignment should be checked
+    private var alignmentCheckRequested = true
+
+    // time left to keep checking the alignment (settling window)
+    private var alignmentSettlingTime = 0F
+
+    // true when bounds of a clipped child may have changed
+    private var childrenClippingRequested = false
+
+    // transform decoded outside of the main thread, set only while updating
+    private var decodedTransform: TransformProps? = null
+
     private var visibilityListeners = mutableListOf<VisibilityChangedListener>()
 
     init {
@@ -126,8 +186,16 @@ abstract class TransformNode(
         contentNode.addOnLocalTransformChangedListener(object : LocalTransformListener {
             override fun onTransformed() {
                 onTransformedLocally()
+                invalidateBounds()
             }
         })
+        contentNode.onRenderableChangedListener = {
+            requestAlignmentCheck(RENDERABLE_SETTLING_TIME)
+            invalidateBounds()
+        }
+        contentNode.onCollisionShapeChangedListener = {
+            invalidateBounds()
+        }
         logMessage("initial properties = ${this.properties}")
     }
 
@@ -148,13 +216,33 @@ abstract class TransformNode(
      * @param props properties to change or new properties to apply
      */
     override fun update(props: ReadableMap) {
+        update(NodeProps.decode(props))
+    }
+
+    /**
+     * Updates properties of the node using already decoded [props].
+     * Properties which values are equal to the current ones are skipped,
+     * but [onUpdatedListener] is notified even if nothing has changed.
+     * Should be called after [build]
+     */
+    override fun update(props: NodeProps) {
+        val changedProps = PropsDiff.removeUnchanged(properties, props, alwaysAppliedProperties)
+        if (changedProps == null) {
+            logMessage("skipping update, properties not changed: $props")
+            onUpdatedListener?.invoke()
+            return
+        }
+
         updatingProperties = true
-        val propsToUpdate = Arguments.toBundle(props) ?: Bundle()
+        val propsToUpdate = changedProps.bundle
         this.properties.putAll(propsToUpdate) // save new props
 
         logMessage("updating properties: $propsToUpdate")
+        decodedTransform = changedProps.transform
         applyProperties(propsToUpdate)
+        decodedTransform = null
         updatingProperties = false
+        invalidateBounds()
 
         onUpdatedListener?.invoke()
     }
@@ -174,6 +262,7 @@ abstract class TransformNode(
         }
         contentNode.addChild(child)
         clipChildren()
+        invalidateBounds()
     }
 
     override fun removeContent(child: ReactNode) {
@@ -181,6 +270,7 @@ abstract class TransformNode(
             return
         }
         contentNode.removeChild(child)
+        invalidateBounds()
     }
 
     /**
@@ -196,26 +286,56 @@ abstract class TransformNode(
      * that includes the node).
      */
     fun getBounding(): AABB {
-        val contentBounds = getContentBounding()
-
-        val minEdgeRotated = contentBounds.min.rotatedBy(localRotation)
-        val maxEdgeRotated = contentBounds.max.rotatedBy(localRotation)
+        return getBounding(MutableAABB()).toAABB()
+    }
 
-        val minimumBounds = Utils.findMinimumBounding(listOf(minEdgeRotated, maxEdgeRotated))
+    /**
+     * Calculates 2D bounding of the node in place (see [getBounding])
+     *
+     * @param out the box to write the bounding to
+     * @return [out]
+     */
+    fun getBounding(out: MutableAABB): MutableAABB {
+        val scale = localScale
+        return getContentBounding(out)
+            .rotateEdges(localRotation)
+            .scale(scale.x, scale.y, scale.z)
+            .translate(localPosition)
+    }
 
-        val minEdge = Vector3(
-            minimumBounds.min.x * localScale.x + localPosition.x,
-            minimumBounds.min.y * localScale.y + localPosition.y,
-            minimumBounds.min.z * localScale.z + localPosition.z
-        )
+    /**
+     * Marks bounds of this node and its ancestors as dirty, so the parent
+     * layouts measure the node again. Should be called when size, scale,
+     * rotation or visibility of the node may have changed.
+     */
+    fun invalidateBounds() {
+        requestAlignmentCheck()
+        if (clipBounds != null) {
+            // the parent should check whether the clipping of this node changed
+            (reactParent as? TransformNode)?.childrenClippingRequested = true
+        }
+        if (isBoundsDirty) {
+            return // ancestors have already been notified
+        }
+        val parentNode = boundsParent ?: reactParent as? TransformNode ?: return
+        isBoundsDirty = true
+        parentNode.onChildBoundsInvalidated(this)
+    }
 
-        val maxEdge = Vector3(
-            minimumBounds.max.x * localScale.x + localPosition.x,
-            minimumBounds.max.y * localScale.y + localPosition.y,
-            minimumBounds.max.z * localScale.z + localPosition.z
-        )
+    /**
+     * Should be called by a parent after it has measured the bounds of this node
+     */
+    fun onBoundsMeasured() {
+        isBoundsDirty = false
+    }
 
-        return AABB(minEdge, maxEdge)
+    /**
+     * Called when bounds of the [child] may have changed.
+     * By default it invalidates bounds of this node, as they depend on the children.
+     */
+    protected open fun onChildBoundsInvalidated(child: TransformNode) {
+        child.onBoundsMeasured()
+        invalidateBounds()
     }
 
     /**
@@ -226,6 +346,18 @@ abstract class TransformNode(
         return Utils.calculateBoundsOfNode(contentNode, contentNode.collisionShape)
     }
 
+    /**
+     * Calculates bounding of the [contentNode] in place (see [getContentBounding]).
+     * Nodes calculating the bounding in the frame loop should override it
+     * to avoid allocations.
+     *
+     * @param out the box to write the bounding to
+     * @return [out]
+     */
+    open fun getContentBounding(out: MutableAABB): MutableAABB {
+        return out.set(getContentBounding())
+    }
+
     /**
      * Should return position of the content (relative to this node's parent)
      */
@@ -271,27 +403,48 @@ abstract class TransformNode(
      * We use custom onUpdate function in order to make it testable.
      */
     open fun onUpdate(deltaSeconds: Float) {
-        if (!useContentNodeAlignment) {
+        if (childrenClippingRequested) {
+            childrenClippingRequested = false
+            clipChildren()
+        }
+
+        if (!useContentNodeAlignment || !alignmentCheckRequested) {
             return
         }
 
         timeSinceLastAlignment += deltaSeconds
+        alignmentSettlingTime -= deltaSeconds
         if (timeSinceLastAlignment >= ALIGNMENT_INTERVAL) {
             timeSinceLastAlignment = 0F
-            val currentBounding = getBounding()
+            if (alignmentSettlingTime <= 0F) {
+                alignmentCheckRequested = false
+            }
+            getBounding(currentBounding)
             if (!currentBounding.equalInexact(bounding)) {
-                // Refreshing alignment from a loop, because:
+                // Refreshing alignment when the bounding has changed, because:
                 // - we don't know node size at beginning,
                 // - node size may have changed,
                 // - immediately after attaching a renderable the collision shape
                 // of a node returns wrong size (default) as it's probably calculated
-                // asynchronously
+                // asynchronously (see [RENDERABLE_SETTLING_TIME])
                 applyAlignment()
+                invalidateBounds()
             }
-            bounding = currentBounding
+            bounding.set(currentBounding)
         }
     }
 
+    /**
+     * Requests checking whether the bounding has changed and the alignment
+     * should be refreshed
+     *
+     * @param settlingTime how long (in seconds) the bounding should be checked
+     */
+    private fun requestAlignmentCheck(settlingTime: Float = 0F) {
+        alignmentCheckRequested = true
+        alignmentSettlingTime = max(alignmentSettlingTime, settlingTime)
+    }
+
     fun hide() {
         isVisible = false
     }
@@ -319,12 +472,15 @@ abstract class TransformNode(
     // Using custom onUpdate function in order to make it testable.
     final override fun onUpdate(frameTime: FrameTime) {
         super.onUpdate(frameTime)
+        val start = NodesProfiler.start()
         this.onUpdate(frameTime.deltaSeconds)
+        NodesProfiler.stop(this, NodesProfiler.Metric.UPDATE, start)
     }
 
     final override fun onLocalTransformChanged() {
         super.onLocalTransformChanged()
         onTransformedLocally()
+        invalidateBounds()
     }
 
     /**
@@ -332,10 +488,11 @@ abstract class TransformNode(
      * @param props properties to apply
      */
     protected open fun applyProperties(props: Bundle) {
-        setLocalPosition(props)
-        setLocalScale(props)
-        setLocalRotation(props)
-        setLocalTransform(props)
+        val transform = decodedTransform ?: TransformProps.fromBundle(props)
+        setLocalPosition(transform)
+        setLocalScale(transform)
+        setLocalRotation(transform)
+        setLocalTransform(transform)
         setAlignment(props)
         setVisibility(props)
     }
@@ -353,49 +510,39 @@ abstract class TransformNode(
         Utils.applyContentNodeAlignment(this)
     }
 
-    private fun setLocalPosition(props: Bundle) {
+    private fun setLocalPosition(transform: TransformProps) {
         val registeredParent = reactParent
         if (registeredParent is Layoutable) {
             // position is managed by a parent, so we should not change it
             return
         }
 
-        val localPosition = props.read<Vector3>(PROP_LOCAL_POSITION)
+        val localPosition = transform.position
         if (localPosition != null) {
-            this.localPosition = localPosition
+            this.localPosition = localPosition.toVector3()
         }
     }
 
-    protected open fun setLocalScale(props: Bundle) {
-        val localScale = props.read<Vector3>(PROP_LOCAL_SCALE)
+    private fun setLocalScale(transform: TransformProps) {
+        val localScale = transform.scale
         if (localScale != null) {
-            this.localScale = localScale
+            this.localScale = localScale.toVector3()
         }
     }
 
-    private fun setLocalRotation(props: Bundle) {
-        val quaternion = props.read<Quaternion>(PROP_LOCAL_ROTATION)
+    private fun setLocalRotation(transform: TransformProps) {
+        val quaternion = transform.rotation
         if (quaternion != null) {
-            this.localRotation = quaternion
+            this.localRotation = quaternion.toQuaternion()
         }
     }
 
-    private fun setLocalTransform(props: Bundle) {
-        val transformMatrix = props.read<Matrix>(PROP_LOCAL_TRANSFORM)
-        if (transformMatrix != null) {
-            val translation = Vector3()
-            val scale = Vector3()
-
-            transformMatrix.decomposeTranslation(translation)
-            transformMatrix.decomposeScale(scale)
-
-            transformMatrix.toPureRotationMatrix(decomposedScale = scale)
-            val quaternion = Quaternion()
-            transformMatrix.extractQuaternion(quaternion)
-
-            this.localPosition = translation
-            this.localScale = scale
-            this.localRotation = quaternion
+    private fun setLocalTransform(transform: TransformProps) {
+        val decomposed = transform.transform
+        if (decomposed != null) {
+            this.localPosition = decomposed.position.toVector3()
+            this.localScale = decomposed.scale.toVector3()
+            this.localRotation = decomposed.rotation.toQuaternion()
         }
     }
 
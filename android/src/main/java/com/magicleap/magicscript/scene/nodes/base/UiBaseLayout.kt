@@ -21,9 +21,11 @@ import android.os.Handler
 import android.os.Looper
 import com.facebook.react.bridge.ReadableMap
 import com.google.ar.sceneform.Node
+import com.magicleap.magicscript.scene.NodesProfiler
 import com.magicleap.magicscript.scene.nodes.layouts.LayoutManager
 import com.magicleap.magicscript.scene.nodes.layouts.params.LayoutParams
 import com.magicleap.magicscript.scene.nodes.props.AABB
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
 import com.magicleap.magicscript.utils.read
 
 // Base class for layouts (grid, linear, rect)
@@ -48,6 +50,11 @@ abstract class UiBaseLayout<T : LayoutParams>(
     var onAddedToLayoutListener: ((node: Node) -> Unit)? = null
     var onRemovedFromLayoutListener: ((node: Node) -> Unit)? = null
 
+    /**
+     * Called when bounds of a child have been measured and they have changed
+     */
+    var onChildMeasuredListener: ((node: TransformNode, bounds: AABB) -> Unit)? = null
+
     val width: Float
         get() = properties.getDouble(PROP_WIDTH, 0.0).toFloat()
 
@@ -61,6 +68,12 @@ abstract class UiBaseLayout<T : LayoutParams>(
 
     private val childrenBounds = mutableMapOf<TransformNode, AABB>()
 
+    // children which bounds may have changed since they were measured
+    private val dirtyChildren = mutableSetOf<TransformNode>()
+
+    // reused for measuring the children
+    private val measuredBounds = MutableAABB()
+
     private var handler = Handler(Looper.getMainLooper())
     private var loopStarted = false
 
@@ -107,6 +120,8 @@ abstract class UiBaseLayout<T : LayoutParams>(
             }
         })
         mChildrenList.add(child)
+        child.boundsParent = this
+        dirtyChildren.add(child)
         onAddedToLayoutListener?.invoke(child)
         redrawRequested = true
     }
@@ -122,6 +137,9 @@ abstract class UiBaseLayout<T : LayoutParams>(
             onRemovedFromLayoutListener?.invoke(child)
         }
         childrenBounds.remove(child)
+        dirtyChildren.remove(child)
+        child.boundsParent = null
+        child.onBoundsMeasured()
         redrawRequested = true
     }
 
@@ -130,8 +148,10 @@ abstract class UiBaseLayout<T : LayoutParams>(
     override fun onUpdate(deltaSeconds: Float) {
         super.onUpdate(deltaSeconds)
 
-        // measure the children (their size may have changed) and layout if needed
-        measureChildren()
+        // measure the children which size may have changed and layout if needed
+        if (dirtyChildren.isNotEmpty()) {
+            measureChildren()
+        }
         if (redrawRequested) {
             layout()
         }
@@ -146,7 +166,13 @@ abstract class UiBaseLayout<T : LayoutParams>(
         redrawRequested = true
     }
 
+    override fun onChildBoundsInvalidated(child: TransformNode) {
+        dirtyChildren.add(child)
+        invalidateBounds()
+    }
+
     private fun layout() {
+        val start = NodesProfiler.start()
         layoutManager.layoutChildren(getLayoutParams(), getChildrenToLayout(), childrenBounds)
         redrawRequested = false
 
@@ -157,21 +183,36 @@ abstract class UiBaseLayout<T : LayoutParams>(
 
         // need to clip materials, because content position has changed
         clipChildren()
+
+        // the layout size depends on the children positions
+        invalidateBounds()
+        NodesProfiler.stop(this, NodesProfiler.Metric.LAYOUT, start)
     }
 
     /**
-     * Measures the bounds of children nodes; if any bound has changed
-     * it sets the [redrawRequested] flag to true.
+     * Measures the bounds of children nodes that have been invalidated;
+     * if any bound has changed it sets the [redrawRequested] flag to true.
      */
     private fun measureChildren() {
-        val childrenToLayout = getChildrenToLayout()
-
-        for (node in childrenToLayout) {
-            val oldBounds = childrenBounds[node] ?: AABB()
-            val newBounds = node.getBounding()
-            childrenBounds[node] = newBounds
+        val childrenToMeasure = dirtyChildren.toList()
+        dirtyChildren.clear()
+
+        for (node in childrenToMeasure) {
+            node.onBoundsMeasured()
+            if (skipInvisibleItems && !node.isVisible) {
+                // will be measured when it becomes visible
+                continue
+            }
+            val oldBounds = childrenBounds[node]
+            val newBounds = node.getBounding(measuredBounds)
+            if (oldBounds != null && newBounds.equalInexact(oldBounds)) {
+                continue
+            }
+            val bounds = newBounds.toAABB()
+            childrenBounds[node] = bounds
+            onChildMeasuredListener?.invoke(node, bounds)
 
-            if (!newBounds.equalInexact(oldBounds)) {
+            if (oldBounds != null || !newBounds.isZero()) {
                 redrawRequested = true
             }
         }
@@ -188,6 +229,7 @@ abstract class UiBaseLayout<T : LayoutParams>(
     private fun setSkipInvisibleItems(props: Bundle) {
         props.read<Boolean>(PROP_SKIP_INVISIBLE_ITEMS)?.let { skip ->
             this.skipInvisibleItems = skip
+            dirtyChildren.addAll(mChildrenList)
             requestLayout()
         }
     }
@@ -23,13 +23,16 @@ import android.os.Looper
 import android.view.View
 import android.view.ViewGroup
 import com.facebook.react.bridge.ReadableMap
-import com.google.ar.sceneform.math.Vector3
 import com.google.ar.sceneform.rendering.Renderable
 import com.google.ar.sceneform.rendering.ViewRenderable
 import com.magicleap.magicscript.ar.clip.Clipper
+import com.magicleap.magicscript.ar.renderable.RecycledViewPool
 import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader
+import com.magicleap.magicscript.scene.NodesProfiler
 import com.magicleap.magicscript.scene.nodes.props.AABB
 import com.magicleap.magicscript.scene.nodes.props.Alignment
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
 import com.magicleap.magicscript.scene.nodes.views.ViewWrapper
 import com.magicleap.magicscript.utils.*
 import com.magicleap.magicscript.utils.Utils.Companion.metersToPx
@@ -60,7 +63,12 @@ abstract class UiNode(
      * (after all properties have been applied)
      */
     var size = Vector2(0F, 0F)
-        private set
+        private set(value) {
+            if (value != field) {
+                field = value
+                invalidateBounds()
+            }
+        }
 
     var onClickListener: (() -> Unit)? = null
     var onPressListener: (() -> Unit)? = null
@@ -90,6 +98,32 @@ abstract class UiNode(
     private var renderableCopy: Renderable? = null
     private var renderableLoadRequest: ViewRenderableLoader.LoadRequest? = null
 
+    /**
+     * True when the view renderable has been released by [releaseView]
+     */
+    var isViewReleased = false
+        private set
+
+    /**
+     * Id of the layout inflated by [provideView] if the view can be recycled
+     * by other nodes of the same class (0 for a view that is not inflated),
+     * or null if the view should not be recycled.
+     * A recycled view is passed to [resetRecycledView] before it's set up.
+     */
+    protected open val recycledViewLayout: Int? = null
+
+    /**
+     * Pool of views released by other nodes, it should be set before [build].
+     * Views are not recycled when it's null.
+     */
+    var viewPool: RecycledViewPool? = null
+
+    // true when the view has been given back to the pool (the node has no view)
+    private var viewRecycled = false
+
+    // previous view of a rebuilt node, recycled after the renderable is bound to the new one
+    private var replacedView: View? = null
+
     /**
      * Desired node width and height in meters or equal to [WRAP_CONTENT_DIMENSION]
      * A dimension equal to [WRAP_CONTENT_DIMENSION] means unspecified size that can grow.
@@ -127,7 +161,11 @@ abstract class UiNode(
     override fun build() {
         initView()
         setup()
-        attachView()
+        if (isViewReleased) {
+            recycleView()
+        } else {
+            attachView()
+        }
 
         if (useContentNodeAlignment) {
             applyAlignment()
@@ -147,11 +185,17 @@ abstract class UiNode(
      * layouts artifacts
      */
     override fun getContentBounding(): AABB {
-        val centerX = contentNode.localPosition.x
-        val centerY = contentNode.localPosition.y
+        return getContentBounding(MutableAABB()).toAABB()
+    }
 
-        val scaleX = contentNode.localScale.x
-        val scaleY = contentNode.localScale.y
+    override fun getContentBounding(out: MutableAABB): MutableAABB {
+        val contentPosition = contentNode.localPosition
+        val centerX = contentPosition.x
+        val centerY = contentPosition.y
+
+        val contentScale = contentNode.localScale
+        val scaleX = contentScale.x
+        val scaleY = contentScale.y
 
         val offsetX = if (useContentNodeAlignment) {
             0f
@@ -170,7 +214,7 @@ abstract class UiNode(
         val yMin = centerY * scaleY - (size.y * scaleY) / 2 + offsetY
         val yMax = centerY * scaleY + (size.y * scaleY) / 2 + offsetY
 
-        return AABB(min = Vector3(xMin, yMin, 0f), max = Vector3(xMax, yMax, 0f))
+        return out.set(xMin, yMin, 0f, xMax, yMax, 0f)
     }
 
     override fun onVisibilityChanged(visibility: Boolean) {
@@ -184,13 +228,28 @@ abstract class UiNode(
         }
     }
 
+    override fun update(props: NodeProps) {
+        if (viewRecycled) {
+            // the view has been given back, so we need a view to apply the properties;
+            // it's recycled again in next update
+            initView()
+            setup()
+        }
+        super.update(props)
+    }
+
     override fun onUpdate(deltaSeconds: Float) {
         super.onUpdate(deltaSeconds)
 
-        if (shouldRebuild && !loadingView) {
+        // a released node keeps its last size and is rebuilt when bound again
+        if (shouldRebuild && !loadingView && !isViewReleased) {
+            val start = NodesProfiler.start()
             build()
+            NodesProfiler.stop(this, NodesProfiler.Metric.REBUILD, start)
             shouldRebuild = false
             logMessage("node rebuild, hash:{${this.hashCode()}}")
+        } else if (isViewReleased && !viewRecycled) {
+            recycleView()
         }
     }
 
@@ -200,10 +259,76 @@ abstract class UiNode(
         renderableLoadRequest?.let {
             viewRenderableLoader.cancel(it)
         }
+        // give back the renderable, so it can be reused by another node
+        (renderableCopy as? ViewRenderable)?.let {
+            contentNode.renderable = null
+            contentNode.collisionShape = null
+            renderableCopy = null
+            viewRenderableLoader.release(it)
+        }
+        recycleReplacedView()
+        if (::view.isInitialized) {
+            recycleView()
+        }
+    }
+
+    /**
+     * Gives back the view renderable to the loader and detaches the view,
+     * e.g. when the node is scrolled out of a list. The node keeps its last size
+     * (it's not rebuilt while released), and it's not rendered until [bindView].
+     */
+    fun releaseView() {
+        if (isViewReleased) {
+            return
+        }
+        isViewReleased = true
+
+        renderableLoadRequest?.let {
+            viewRenderableLoader.cancel(it)
+        }
+        renderableLoadRequest = null
+        loadingView = false
+
+        contentNode.renderable = null
+        contentNode.collisionShape = null
+        (renderableCopy as? ViewRenderable)?.let {
+            viewRenderableLoader.release(it)
+        }
+        renderableCopy = null
+        recycleReplacedView()
+
+        if (::viewWrapper.isInitialized) {
+            viewWrapper.removeView(view)
+            recycleView()
+        }
+    }
+
+    /**
+     * Attaches the view and loads a renderable again after [releaseView]
+     */
+    fun bindView() {
+        if (!isViewReleased) {
+            return
+        }
+        isViewReleased = false
+
+        if (::viewWrapper.isInitialized) {
+            if (viewRecycled) {
+                initView()
+                setup()
+            }
+            attachView()
+        }
     }
 
     protected abstract fun provideView(context: Context): View
 
+    /**
+     * Should restore the state of a recycled [view] (used previously by another node)
+     * that may not be set by properties of this node (see [recycledViewLayout])
+     */
+    protected open fun resetRecycledView(view: View) {}
+
     protected abstract fun provideDesiredSize(): Vector2
 
     protected open fun onViewClick() {}
@@ -259,8 +384,50 @@ abstract class UiNode(
 
     // build calls applyProperties, so we need to initialize the view before
     private fun initView() {
+        if (::view.isInitialized && !viewRecycled) {
+            if (isViewReleased) {
+                recycleView()
+            } else {
+                // the current view is still rendered until the renderable is bound again
+                recycleReplacedView()
+                replacedView = view
+            }
+        }
         viewWrapper = ViewWrapper(context, this)
-        this.view = provideView(context)
+        this.view = acquireRecycledView() ?: provideView(context)
+        viewRecycled = false
+    }
+
+    private fun getRecycledViewKey(): RecycledViewPool.Key? {
+        val layoutId = recycledViewLayout ?: return null
+        return RecycledViewPool.Key(javaClass, layoutId)
+    }
+
+    private fun acquireRecycledView(): View? {
+        val pool = viewPool ?: return null
+        val key = getRecycledViewKey() ?: return null
+        val view = pool.acquire(key) ?: return null
+        resetRecycledView(view)
+        return view
+    }
+
+    // gives back the current view to the pool if it can be recycled
+    private fun recycleView() {
+        val pool = viewPool ?: return
+        val key = getRecycledViewKey() ?: return
+        if (!viewRecycled) {
+            viewRecycled = true
+            pool.release(key, view)
+        }
+    }
+
+    private fun recycleReplacedView() {
+        val replaced = replacedView ?: return
+        replacedView = null
+        val pool = viewPool ?: return
+        getRecycledViewKey()?.let { key ->
+            pool.release(key, replaced)
+        }
     }
 
     private fun setup() {
@@ -288,6 +455,7 @@ abstract class UiNode(
             viewRenderableLoader.cancel(it)
         }
 
+        val loadStart = NodesProfiler.start()
         val alignHorizontal =
             if (useContentNodeAlignment) Alignment.Horizontal.CENTER else horizontalAlignment
         val alignVertical =
@@ -296,9 +464,12 @@ abstract class UiNode(
         this.renderableLoadRequest = ViewRenderableLoader.LoadRequest(
             view = viewWrapper,
             horizontalAlignment = alignHorizontal,
-            verticalAlignment = alignVertical
+            verticalAlignment = alignVertical,
+            reuse = renderableCopy as? ViewRenderable // re-bind on rebuild
         ) { result ->
+            NodesProfiler.stop(this, NodesProfiler.Metric.RENDERABLE_LOAD, loadStart)
             loadingView = false
+            recycleReplacedView()
             if (result is DataResult.Success) {
                 onViewLoaded(result.data)
             }
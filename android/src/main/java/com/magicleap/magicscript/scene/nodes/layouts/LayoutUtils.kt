@@ -128,16 +128,14 @@ object LayoutUtils {
         childrenList: List<TransformNode>,
         childrenBounds: Map<TransformNode, AABB>
     ): Float {
-        val filteredBounds = childrenBounds.filter { it.key in childrenList }
-        return filteredBounds.values.minBy { it.min.z }?.min?.z ?: 0f
+        return childrenList.mapNotNull { childrenBounds[it] }.minBy { it.min.z }?.min?.z ?: 0f
     }
 
     fun getMaxZ(
         childrenList: List<TransformNode>,
         childrenBounds: Map<TransformNode, AABB>
     ): Float {
-        val filteredBounds = childrenBounds.filter { it.key in childrenList }
-        return filteredBounds.values.maxBy { it.max.z }?.max?.z ?: 0f
+        return childrenList.mapNotNull { childrenBounds[it] }.maxBy { it.max.z }?.max?.z ?: 0f
     }
 
     fun createNodeInfo(index: Int, node: TransformNode, nodeBounds: AABB): NodeInfo {
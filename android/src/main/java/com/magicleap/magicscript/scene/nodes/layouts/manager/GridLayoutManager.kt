@@ -25,22 +25,40 @@ import com.magicleap.magicscript.scene.nodes.layouts.params.LayoutParams
 import com.magicleap.magicscript.scene.nodes.props.AABB
 import com.magicleap.magicscript.scene.nodes.props.Alignment
 import com.magicleap.magicscript.scene.nodes.props.Padding
-import com.magicleap.magicscript.utils.sumByFloat
 import kotlin.math.max
 
 class GridLayoutManager : SizedLayoutManager<GridLayoutParams>() {
 
-    // <column index, max child width in that column> pairs
-    private val maxChildWidthInColumnMap = mutableMapOf<Int, Float>()
+    companion object {
+        private const val INITIAL_TRACKS_CAPACITY = 8
+    }
+
+    // Columns and rows sizes of the last layout pass. The arrays are reused
+    // between passes, only the first [columnsCount] / [rowsCount] values are valid.
+
+    private var columnsCount = 0
+    private var rowsCount = 0
+
+    // max child width in a column
+    private var maxChildWidthInColumn = FloatArray(INITIAL_TRACKS_CAPACITY)
+
+    // max child height in a row
+    private var maxChildHeightInRow = FloatArray(INITIAL_TRACKS_CAPACITY)
+
+    // column width (includes padding)
+    private var columnsWidth = FloatArray(INITIAL_TRACKS_CAPACITY)
+
+    // row height (includes padding)
+    private var rowsHeight = FloatArray(INITIAL_TRACKS_CAPACITY)
 
-    // <row index, max child height in that row> pairs
-    private val maxChildHeightInRowMap = mutableMapOf<Int, Float>()
+    // x position of each column; the last value is the sum of columns width
+    private var columnsX = FloatArray(INITIAL_TRACKS_CAPACITY + 1)
 
-    // column index, column width
-    private val columnsWidthMap = mutableMapOf<Int, Float>()
+    // y position of each row; the last value is minus the sum of rows height
+    private var rowsY = FloatArray(INITIAL_TRACKS_CAPACITY + 1)
 
-    // row index, row height
-    private val rowsHeightMap = mutableMapOf<Int, Float>()
+    private val defaultPadding = Padding()
+    private val defaultAlignment = Alignment()
 
     override fun layoutChildren(
         layoutParams: GridLayoutParams,
@@ -63,78 +81,70 @@ class GridLayoutManager : SizedLayoutManager<GridLayoutParams>() {
         layoutParams: LayoutParams
     ) {
         super.onPreLayout(children, childrenBounds, layoutParams)
+        layoutParams as GridLayoutParams
 
-        maxChildWidthInColumnMap.clear()
-        maxChildHeightInRowMap.clear()
-        columnsWidthMap.clear()
-        rowsHeightMap.clear()
+        columnsCount = 0
+        rowsCount = 0
 
         for (i in children.indices) {
-            layoutParams as GridLayoutParams
             val col = LayoutUtils.getColumnIndex(i, layoutParams.columns, layoutParams.rows)
             val row = LayoutUtils.getRowIndex(i, layoutParams.columns, layoutParams.rows)
-            val node = children[i]
-            val bounds = childrenBounds[node] ?: AABB()
-
-            val width = bounds.size().x
-            if (width > maxChildWidthInColumnMap[col] ?: 0.0F) {
-                maxChildWidthInColumnMap[col] = width
-            }
+            ensureColumnsCount(col + 1)
+            ensureRowsCount(row + 1)
 
-            val padding = layoutParams.itemsPadding[node] ?: Padding()
+            val node = children[i]
+            val bounds = childrenBounds[node]
+            val width = if (bounds != null) bounds.max.x - bounds.min.x else 0f
+            val height = if (bounds != null) bounds.max.y - bounds.min.y else 0f
+            val padding = layoutParams.itemsPadding[node] ?: defaultPadding
 
+            maxChildWidthInColumn[col] = max(maxChildWidthInColumn[col], width)
             val childWidthWithPadding = width + padding.left + padding.right
-            columnsWidthMap[col] = max(columnsWidthMap[col] ?: 0f, childWidthWithPadding)
-
-            val height = bounds.size().y
-            if (height > maxChildHeightInRowMap[row] ?: 0.0F) {
-                maxChildHeightInRowMap[row] = height
-            }
+            columnsWidth[col] = max(columnsWidth[col], childWidthWithPadding)
 
+            maxChildHeightInRow[row] = max(maxChildHeightInRow[row], height)
             val childHeightWithPadding = height + padding.top + padding.bottom
-            rowsHeightMap[row] = max(rowsHeightMap[row] ?: 0f, childHeightWithPadding)
+            rowsHeight[row] = max(rowsHeight[row], childHeightWithPadding)
         }
 
         val layoutSize = layoutParams.size
 
         if (layoutSize.x != WRAP_CONTENT_DIMENSION) {
-            val columnsSumWidth = columnsWidthMap.values.sumByFloat { it }
-            val columnsScale = layoutSize.x / columnsSumWidth
-            maxChildWidthInColumnMap.forEach {
-                maxChildWidthInColumnMap[it.key] = columnsScale * it.value
-            }
-
-            columnsWidthMap.forEach {
-                columnsWidthMap[it.key] = columnsScale * it.value
-            }
+            val columnsScale = layoutSize.x / sum(columnsWidth, columnsCount)
+            scale(maxChildWidthInColumn, columnsCount, columnsScale)
+            scale(columnsWidth, columnsCount, columnsScale)
         }
 
         if (layoutSize.y != WRAP_CONTENT_DIMENSION) {
-            val rowsSumHeight = rowsHeightMap.values.sumByFloat { it }
-            val rowsScale = layoutSize.y / rowsSumHeight
-            maxChildHeightInRowMap.forEach {
-                maxChildHeightInRowMap[it.key] = rowsScale * it.value
-            }
+            val rowsScale = layoutSize.y / sum(rowsHeight, rowsCount)
+            scale(maxChildHeightInRow, rowsCount, rowsScale)
+            scale(rowsHeight, rowsCount, rowsScale)
+        }
 
-            rowsHeightMap.forEach {
-                rowsHeightMap[it.key] = rowsScale * it.value
-            }
+        // positions of the tracks, so each child position is calculated in O(1)
+        columnsX[0] = 0f
+        for (i in 0 until columnsCount) {
+            columnsX[i + 1] = columnsX[i] + columnsWidth[i]
+        }
+        rowsY[0] = 0f
+        for (i in 0 until rowsCount) {
+            rowsY[i + 1] = rowsY[i] - rowsHeight[i]
         }
     }
 
     private fun layoutNode(nodeInfo: NodeInfo, layoutParams: GridLayoutParams) {
         val index = nodeInfo.index
-        val itemPadding = layoutParams.itemsPadding[nodeInfo.node] ?: Padding()
+        val itemPadding = layoutParams.itemsPadding[nodeInfo.node] ?: defaultPadding
 
         val col = LayoutUtils.getColumnIndex(index, layoutParams.columns, layoutParams.rows)
         val row = LayoutUtils.getRowIndex(index, layoutParams.columns, layoutParams.rows)
 
-        val columnWidth = columnsWidthMap[col] ?: 0f
-        val rowHeight = rowsHeightMap[row] ?: 0f
+        val columnWidth = columnsWidth[col]
+        val rowHeight = rowsHeight[row]
 
         // calculating x position for a child
-        val columnX = getColumnX(col)
-        val itemAlignment = layoutParams.itemsAlignment[nodeInfo.node] ?: Alignment()
+        val columnX = columnsX[col]
+        val itemAlignment = layoutParams.itemsAlignment[nodeInfo.node] ?: defaultAlignment
 
         val x = when (itemAlignment.horizontal) {
             Alignment.Horizontal.LEFT -> {
@@ -152,7 +162,7 @@ class GridLayoutManager : SizedLayoutManager<GridLayoutParams>() {
         }
 
         // calculating y position for a child
-        val rowY = getRowY(row)
+        val rowY = rowsY[row]
 
         val y = when (itemAlignment.vertical) {
             Alignment.Vertical.TOP -> {
@@ -175,13 +185,13 @@ class GridLayoutManager : SizedLayoutManager<GridLayoutParams>() {
 
     override fun getLayoutBounds(layoutParams: GridLayoutParams): AABB {
         val width = if (layoutParams.size.x == WRAP_CONTENT_DIMENSION)
-            columnsWidthMap.values.sumByFloat { it }
+            columnsX[columnsCount]
         else {
             layoutParams.size.x
         }
 
         val height = if (layoutParams.size.y == WRAP_CONTENT_DIMENSION) {
-            rowsHeightMap.values.sumByFloat { it }
+            -rowsY[rowsCount]
         } else {
             layoutParams.size.y
         }
@@ -197,7 +207,7 @@ class GridLayoutManager : SizedLayoutManager<GridLayoutParams>() {
             Float.MAX_VALUE
         } else {
             val col = LayoutUtils.getColumnIndex(childIdx, layoutParams.columns, layoutParams.rows)
-            maxChildWidthInColumnMap[col] ?: 0f
+            if (col < columnsCount) maxChildWidthInColumn[col] else 0f
         }
     }
 
@@ -206,26 +216,54 @@ class GridLayoutManager : SizedLayoutManager<GridLayoutParams>() {
             Float.MAX_VALUE
         } else {
             val row = LayoutUtils.getRowIndex(childIdx, layoutParams.columns, layoutParams.rows)
-            maxChildHeightInRowMap[row] ?: 0f
+            if (row < rowsCount) maxChildHeightInRow[row] else 0f
+        }
+    }
+
+    // grows the columns arrays if needed and clears values of the added columns
+    private fun ensureColumnsCount(count: Int) {
+        if (count <= columnsCount) {
+            return
+        }
+        if (count > columnsWidth.size) {
+            val capacity = max(count, columnsWidth.size * 2)
+            maxChildWidthInColumn = maxChildWidthInColumn.copyOf(capacity)
+            columnsWidth = columnsWidth.copyOf(capacity)
+            columnsX = columnsX.copyOf(capacity + 1)
+        }
+        maxChildWidthInColumn.fill(0f, columnsCount, count)
+        columnsWidth.fill(0f, columnsCount, count)
+        columnsCount = count
+    }
+
+    // grows the rows arrays if needed and clears values of the added rows
+    private fun ensureRowsCount(count: Int) {
+        if (count <= rowsCount) {
+            return
+        }
+        if (count > rowsHeight.size) {
+            val capacity = max(count, rowsHeight.size * 2)
+            maxChildHeightInRow = maxChildHeightInRow.copyOf(capacity)
+            rowsHeight = rowsHeight.copyOf(capacity)
+            rowsY = rowsY.copyOf(capacity + 1)
         }
+        maxChildHeightInRow.fill(0f, rowsCount, count)
+        rowsHeight.fill(0f, rowsCount, count)
+        rowsCount = count
     }
 
-    // returns the position (x) of a column at the given index (includes padding)
-    private fun getColumnX(columnIdx: Int): Float {
-        var x = 0.0F // start
-        for (i in 0 until columnIdx) {
-            x += columnsWidthMap[i] ?: 0.0F
+    private fun sum(values: FloatArray, count: Int): Float {
+        var sum = 0f
+        for (i in 0 until count) {
+            sum += values[i]
         }
-        return x
+        return sum
     }
 
-    // returns the position (y) of a row at the given index (includes padding)
-    private fun getRowY(rowIdx: Int): Float {
-        var y = 0.0F // start
-        for (i in 0 until rowIdx) {
-            y -= rowsHeightMap[i] ?: 0.0F
+    private fun scale(values: FloatArray, count: Int, scale: Float) {
+        for (i in 0 until count) {
+            values[i] *= scale
         }
-        return y
     }
 
-}
\ No newline at end of file
+}
@@ -28,6 +28,20 @@ import com.magicleap.magicscript.utils.Vector2
 
 class HorizontalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>() {
 
+    // sums of children widths and horizontal paddings, calculated once per layout pass
+    private var boundsSum = 0f
+    private var paddingSum = 0f
+
+    override fun onPreLayout(
+        children: List<TransformNode>,
+        childrenBounds: Map<TransformNode, AABB>,
+        layoutParams: LayoutParams
+    ) {
+        super.onPreLayout(children, childrenBounds, layoutParams)
+        boundsSum = LayoutUtils.getHorizontalBoundsSumOf(children, childrenBounds)
+        paddingSum = LayoutUtils.getHorizontalPaddingSumOf(children, layoutParams.itemsPadding)
+    }
+
     override fun layoutChildren(
         layoutParams: T,
         children: List<TransformNode>,
@@ -36,40 +50,47 @@ class HorizontalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>()
         super.layoutChildren(layoutParams, children, childrenBounds)
 
         val contentSize = Vector2(
-            getContentWidth(layoutParams),
+            getContentWidth(),
             getContentHeight(layoutParams)
         )
 
         val layoutSizeLimit = LayoutUtils.calculateLayoutSizeLimit(contentSize, layoutParams.size)
 
+        // prefix sums of the children on the left of the current one
+        var boundsSumOnTheLeft = 0f
+        var paddingSumOnTheLeft = 0f
+
         for (i in children.indices) {
             val node = childrenList[i]
             val nodeBounds = childrenBounds.getValue(node)
             val nodeInfo = LayoutUtils.createNodeInfo(i, node, nodeBounds)
-            layoutNode(nodeInfo, layoutParams, childrenBounds, layoutSizeLimit, contentSize)
+            layoutNode(
+                nodeInfo,
+                layoutParams,
+                boundsSumOnTheLeft,
+                paddingSumOnTheLeft,
+                layoutSizeLimit,
+                contentSize
+            )
+
+            val padding = layoutParams.itemsPadding[node]
+            boundsSumOnTheLeft += nodeInfo.width
+            paddingSumOnTheLeft += (padding?.left ?: 0f) + (padding?.right ?: 0f)
         }
     }
 
     private fun layoutNode(
         nodeInfo: NodeInfo,
         layoutParams: LayoutParams,
-        childrenBounds: Map<TransformNode, AABB>,
+        boundsSumOnTheLeft: Float,
+        paddingSumOnTheLeft: Float,
         layoutSizeLimit: Vector2,
         contentSize: Vector2
     ) {
         val itemPadding = layoutParams.itemsPadding[nodeInfo.node] ?: Padding()
 
         // calculating x position for a child
-        val childrenOnTheLeft = childrenList.take(nodeInfo.index)
-
-        val summaryItemsWidthOnTheLeft =
-            LayoutUtils.getHorizontalBoundsSumOf(childrenOnTheLeft, childrenBounds)
-
-        val paddingSumOnTheLeft =
-            LayoutUtils.getHorizontalPaddingSumOf(childrenOnTheLeft, layoutParams.itemsPadding) +
-                    itemPadding.left
-
-        val offsetX = summaryItemsWidthOnTheLeft + paddingSumOnTheLeft
+        val offsetX = boundsSumOnTheLeft + (paddingSumOnTheLeft + itemPadding.left)
 
         val itemAlignment = layoutParams.itemsAlignment[nodeInfo.node] ?: Alignment()
         val x = when (itemAlignment.horizontal) {
@@ -109,7 +130,7 @@ class HorizontalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>()
 
     override fun getLayoutBounds(layoutParams: T): AABB {
         val width = if (layoutParams.size.x == UiBaseLayout.WRAP_CONTENT_DIMENSION)
-            getContentWidth(layoutParams)
+            getContentWidth()
         else {
             layoutParams.size.x
         }
@@ -132,13 +153,7 @@ class HorizontalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>()
             return Float.MAX_VALUE
         }
 
-        val contentWidthNoPadding =
-            LayoutUtils.getHorizontalBoundsSumOf(childrenList, childrenBounds)
-
-        val paddingSum =
-            LayoutUtils.getHorizontalPaddingSumOf(childrenList, layoutParams.itemsPadding)
-
-        val scale = (parentWidth - paddingSum) / contentWidthNoPadding
+        val scale = (parentWidth - paddingSum) / boundsSum
 
         val child = childrenList[childIdx]
         val childWidth = childrenBounds[child]?.size()?.x ?: 0f
@@ -156,12 +171,7 @@ class HorizontalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>()
         }
     }
 
-    private fun getContentWidth(layoutParams: T): Float {
-        val paddingSum =
-            LayoutUtils.getHorizontalPaddingSumOf(childrenList, layoutParams.itemsPadding)
-
-        val boundsSum = LayoutUtils.getHorizontalBoundsSumOf(childrenList, childrenBounds)
-
+    private fun getContentWidth(): Float {
         return boundsSum + paddingSum
     }
 
@@ -28,6 +28,20 @@ import com.magicleap.magicscript.utils.Vector2
 
 open class VerticalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>() {
 
+    // sums of children heights and vertical paddings, calculated once per layout pass
+    private var boundsSum = 0f
+    private var paddingSum = 0f
+
+    override fun onPreLayout(
+        children: List<TransformNode>,
+        childrenBounds: Map<TransformNode, AABB>,
+        layoutParams: LayoutParams
+    ) {
+        super.onPreLayout(children, childrenBounds, layoutParams)
+        boundsSum = LayoutUtils.getVerticalBoundsSumOf(children, childrenBounds)
+        paddingSum = LayoutUtils.getVerticalPaddingSumOf(children, layoutParams.itemsPadding)
+    }
+
     override fun layoutChildren(
         layoutParams: T,
         children: List<TransformNode>,
@@ -37,23 +51,39 @@ open class VerticalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>
 
         val contentSize = Vector2(
             getContentWidth(layoutParams),
-            getContentHeight(layoutParams)
+            getContentHeight()
         )
 
         val layoutSizeLimit = LayoutUtils.calculateLayoutSizeLimit(contentSize, layoutParams.size)
 
+        // prefix sums of the children above the current one
+        var boundsSumAbove = 0f
+        var paddingSumAbove = 0f
+
         for (i in children.indices) {
             val node = childrenList[i]
             val nodeBounds = childrenBounds.getValue(node)
             val nodeInfo = LayoutUtils.createNodeInfo(i, node, nodeBounds)
-            layoutNode(nodeInfo, layoutParams, childrenBounds, layoutSizeLimit, contentSize)
+            layoutNode(
+                nodeInfo,
+                layoutParams,
+                boundsSumAbove,
+                paddingSumAbove,
+                layoutSizeLimit,
+                contentSize
+            )
+
+            val padding = layoutParams.itemsPadding[node]
+            boundsSumAbove += nodeInfo.height
+            paddingSumAbove += (padding?.top ?: 0f) + (padding?.bottom ?: 0f)
         }
     }
 
     private fun layoutNode(
         nodeInfo: NodeInfo,
         layoutParams: LayoutParams,
-        childrenBounds: Map<TransformNode, AABB>,
+        boundsSumAbove: Float,
+        paddingSumAbove: Float,
         layoutSizeLimit: Vector2,
         contentSize: Vector2
     ) {
@@ -78,17 +108,7 @@ open class VerticalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>
         }
 
         // calculating y position for a child
-
-        val childrenAbove = childrenList.take(nodeInfo.index)
-
-        val summaryItemsHeightAbove =
-            LayoutUtils.getVerticalBoundsSumOf(childrenAbove, childrenBounds)
-
-        val paddingSumAbove =
-            LayoutUtils.getVerticalPaddingSumOf(childrenAbove, layoutParams.itemsPadding) +
-                    itemPadding.top
-
-        val offsetY = -(summaryItemsHeightAbove + paddingSumAbove)
+        val offsetY = -(boundsSumAbove + (paddingSumAbove + itemPadding.top))
 
         val y = when (itemAlignment.vertical) {
             Alignment.Vertical.TOP -> {
@@ -116,7 +136,7 @@ open class VerticalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>
         }
 
         val height = if (layoutParams.size.y == UiBaseLayout.WRAP_CONTENT_DIMENSION) {
-            getContentHeight(layoutParams)
+            getContentHeight()
         } else {
             layoutParams.size.y
         }
@@ -144,12 +164,7 @@ open class VerticalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>
             return Float.MAX_VALUE
         }
 
-        val contentHeightNoPadding =
-            LayoutUtils.getVerticalBoundsSumOf(childrenList, childrenBounds)
-
-        val paddingSum =
-            LayoutUtils.getVerticalPaddingSumOf(childrenList, layoutParams.itemsPadding)
-        val scale = (parentHeight - paddingSum) / contentHeightNoPadding
+        val scale = (parentHeight - paddingSum) / boundsSum
 
         val child = childrenList[childIdx]
         val childHeight = childrenBounds[child]?.size()?.y ?: 0f
@@ -169,12 +184,7 @@ open class VerticalLinearLayoutManager<T : LayoutParams> : SizedLayoutManager<T>
         return maxWidth
     }
 
-    private fun getContentHeight(layoutParams: LayoutParams): Float {
-        val paddingSum =
-            LayoutUtils.getVerticalPaddingSumOf(childrenList, layoutParams.itemsPadding)
-
-        val boundsSum = LayoutUtils.getVerticalBoundsSumOf(childrenList, childrenBounds)
-
+    private fun getContentHeight(): Float {
         return boundsSum + paddingSum
     }
 
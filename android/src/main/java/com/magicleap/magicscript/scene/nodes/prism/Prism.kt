@@ -41,6 +41,7 @@ import com.magicleap.magicscript.scene.ReactScene
 import com.magicleap.magicscript.scene.nodes.base.ReactNode
 import com.magicleap.magicscript.scene.nodes.base.TransformNode
 import com.magicleap.magicscript.scene.nodes.props.AABB
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
 import com.magicleap.magicscript.utils.*
 import kotlin.math.max
 import kotlin.math.sqrt
@@ -130,7 +131,11 @@ class Prism(
     }
 
     override fun update(props: ReadableMap) {
-        val propsToUpdate = Arguments.toBundle(props) ?: Bundle()
+        update(NodeProps.decode(props))
+    }
+
+    override fun update(props: NodeProps) {
+        val propsToUpdate = props.bundle
         this.properties.putAll(propsToUpdate) // save new props
         applyProperties(propsToUpdate)
     }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes.props
+
+import com.magicleap.magicscript.scene.nodes.UIWebViewNode
+import com.magicleap.magicscript.scene.nodes.UiColorPickerNode
+import com.magicleap.magicscript.scene.nodes.UiDatePickerNode
+import com.magicleap.magicscript.scene.nodes.UiListViewNode
+import com.magicleap.magicscript.scene.nodes.UiScrollViewNode
+import com.magicleap.magicscript.scene.nodes.UiSliderNode
+import com.magicleap.magicscript.scene.nodes.UiTextEditNode
+import com.magicleap.magicscript.scene.nodes.UiTimePickerNode
+import com.magicleap.magicscript.scene.nodes.audio.AudioNode
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.dropdown.UiDropdownListItemNode
+import com.magicleap.magicscript.scene.nodes.dropdown.UiDropdownListNode
+import com.magicleap.magicscript.scene.nodes.toggle.UiToggleNode
+import com.magicleap.magicscript.scene.nodes.video.VideoNode
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Properties that [PropsDiff] never skips, so they are applied on update
+ * even if their value has not changed. A node type also has the properties
+ * declared for its super types.
+ */
+object AlwaysAppliedProps {
+
+    private val declared: Map<Class<out TransformNode>, Set<String>> = mapOf(
+        // commands: playing again the same action (e.g. "start" after the sound ended)
+        AudioNode::class.java to setOf(AudioNode.PROP_ACTION),
+        VideoNode::class.java to setOf(VideoNode.PROP_ACTION),
+        // commands: "reload" or scrolling by the same offset can be repeated
+        UIWebViewNode::class.java to setOf(
+            UIWebViewNode.PROP_ACTION,
+            UIWebViewNode.PROP_SCROLL_BY
+        ),
+        // the user can drag the slider, the same value from JS moves it back
+        UiSliderNode::class.java to setOf(UiSliderNode.PROP_VALUE),
+        // the user can switch the toggle, the same state from JS restores it
+        UiToggleNode::class.java to setOf(UiToggleNode.PROP_CHECKED),
+        // the user can type, the same text from JS (controlled input) replaces the typed one
+        UiTextEditNode::class.java to setOf(UiTextEditNode.PROP_TEXT),
+        // the user can pick another value in the picker dialog
+        UiColorPickerNode::class.java to setOf(UiColorPickerNode.PROP_COLOR),
+        UiDatePickerNode::class.java to setOf(UiDatePickerNode.PROP_DATE),
+        UiTimePickerNode::class.java to setOf(UiTimePickerNode.PROP_TIME),
+        // the user can scroll, the same value from JS scrolls back
+        UiScrollViewNode::class.java to setOf(UiScrollViewNode.PROP_SCROLL_VALUE),
+        // scrolling to the same item again is needed after the user scrolled away
+        UiListViewNode::class.java to setOf(UiListViewNode.PROP_SCROLL_TO_ITEM),
+        // the user can open or close the list by clicking the dropdown
+        UiDropdownListNode::class.java to setOf(UiDropdownListNode.PROP_SHOW_LIST),
+        // the user can select another item, the same selection from JS restores it
+        UiDropdownListItemNode::class.java to setOf(UiDropdownListItemNode.PROP_SELECTED)
+    )
+
+    private val cache = ConcurrentHashMap<Class<*>, Set<String>>()
+
+    /**
+     * Returns the properties that are always applied to nodes of [nodeClass]
+     */
+    fun of(nodeClass: Class<out TransformNode>): Set<String> {
+        return cache.getOrPut(nodeClass) {
+            val result = mutableSetOf<String>()
+            var type: Class<*>? = nodeClass
+            while (type != null) {
+                declared[type]?.let { result.addAll(it) }
+                type = type.superclass
+            }
+            if (result.isEmpty()) emptySet() else result
+        }
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes.props
+
+import com.google.ar.sceneform.math.Quaternion
+import com.google.ar.sceneform.math.Vector3
+import kotlin.math.abs
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * Mutable axis aligned bounding box backed by a float array.
+ *
+ * It's intended for bounds calculated in the frame loop: the operations
+ * modify the box in place (and return it for chaining) instead of
+ * allocating new vectors and boxes as [AABB] does.
+ */
+class MutableAABB {
+
+    companion object {
+        private const val EPSILON = 1e-5f
+
+        private const val MIN_X = 0
+        private const val MIN_Y = 1
+        private const val MIN_Z = 2
+        private const val MAX_X = 3
+        private const val MAX_Y = 4
+        private const val MAX_Z = 5
+    }
+
+    private val values = FloatArray(6)
+
+    val minX: Float
+        get() = values[MIN_X]
+
+    val minY: Float
+        get() = values[MIN_Y]
+
+    val minZ: Float
+        get() = values[MIN_Z]
+
+    val maxX: Float
+        get() = values[MAX_X]
+
+    val maxY: Float
+        get() = values[MAX_Y]
+
+    val maxZ: Float
+        get() = values[MAX_Z]
+
+    fun set(
+        minX: Float,
+        minY: Float,
+        minZ: Float,
+        maxX: Float,
+        maxY: Float,
+        maxZ: Float
+    ): MutableAABB {
+        values[MIN_X] = minX
+        values[MIN_Y] = minY
+        values[MIN_Z] = minZ
+        values[MAX_X] = maxX
+        values[MAX_Y] = maxY
+        values[MAX_Z] = maxZ
+        return this
+    }
+
+    fun set(other: AABB): MutableAABB {
+        return set(other.min.x, other.min.y, other.min.z, other.max.x, other.max.y, other.max.z)
+    }
+
+    fun set(other: MutableAABB): MutableAABB {
+        other.values.copyInto(values)
+        return this
+    }
+
+    fun setZero(): MutableAABB {
+        values.fill(0f)
+        return this
+    }
+
+    fun sizeX() = values[MAX_X] - values[MIN_X]
+
+    fun sizeY() = values[MAX_Y] - values[MIN_Y]
+
+    fun sizeZ() = values[MAX_Z] - values[MIN_Z]
+
+    fun centerX() = (values[MIN_X] + values[MAX_X]) / 2f
+
+    fun centerY() = (values[MIN_Y] + values[MAX_Y]) / 2f
+
+    fun centerZ() = (values[MIN_Z] + values[MAX_Z]) / 2f
+
+    /**
+     * Translates the box by [x], [y], [z]
+     */
+    fun translate(x: Float, y: Float, z: Float): MutableAABB {
+        values[MIN_X] += x
+        values[MIN_Y] += y
+        values[MIN_Z] += z
+        values[MAX_X] += x
+        values[MAX_Y] += y
+        values[MAX_Z] += z
+        return this
+    }
+
+    fun translate(translation: Vector3): MutableAABB {
+        return translate(translation.x, translation.y, translation.z)
+    }
+
+    /**
+     * Scales the edges of the box by [scaleX], [scaleY], [scaleZ]
+     */
+    fun scale(scaleX: Float, scaleY: Float, scaleZ: Float): MutableAABB {
+        values[MIN_X] *= scaleX
+        values[MIN_Y] *= scaleY
+        values[MIN_Z] *= scaleZ
+        values[MAX_X] *= scaleX
+        values[MAX_Y] *= scaleY
+        values[MAX_Z] *= scaleZ
+        return this
+    }
+
+    /**
+     * Rotates the min and max edges by [rotation] and sets the box
+     * to the minimum bounding of the rotated edges
+     * (the same as [Quaternion.rotateVector] applied to both edges)
+     */
+    fun rotateEdges(rotation: Quaternion): MutableAABB {
+        val w2 = rotation.w * rotation.w
+        val x2 = rotation.x * rotation.x
+        val y2 = rotation.y * rotation.y
+        val z2 = rotation.z * rotation.z
+        val zw = rotation.z * rotation.w
+        val xy = rotation.x * rotation.y
+        val xz = rotation.x * rotation.z
+        val yw = rotation.y * rotation.w
+        val yz = rotation.y * rotation.z
+        val xw = rotation.x * rotation.w
+        val m00 = w2 + x2 - z2 - y2
+        val m01 = xy + zw + zw + xy
+        val m02 = xz - yw + xz - yw
+        val m10 = -zw + xy - zw + xy
+        val m11 = y2 - z2 + w2 - x2
+        val m12 = yz + yz + xw + xw
+        val m20 = yw + xz + xz + yw
+        val m21 = yz + yz - xw - xw
+        val m22 = z2 - y2 - x2 + w2
+
+        val ax = values[MIN_X]
+        val ay = values[MIN_Y]
+        val az = values[MIN_Z]
+        val bx = values[MAX_X]
+        val by = values[MAX_Y]
+        val bz = values[MAX_Z]
+
+        val minRotatedX = m00 * ax + m10 * ay + m20 * az
+        val minRotatedY = m01 * ax + m11 * ay + m21 * az
+        val minRotatedZ = m02 * ax + m12 * ay + m22 * az
+        val maxRotatedX = m00 * bx + m10 * by + m20 * bz
+        val maxRotatedY = m01 * bx + m11 * by + m21 * bz
+        val maxRotatedZ = m02 * bx + m12 * by + m22 * bz
+
+        return set(
+            min(minRotatedX, maxRotatedX),
+            min(minRotatedY, maxRotatedY),
+            min(minRotatedZ, maxRotatedZ),
+            max(minRotatedX, maxRotatedX),
+            max(minRotatedY, maxRotatedY),
+            max(minRotatedZ, maxRotatedZ)
+        )
+    }
+
+    /**
+     * Sets the box to its intersection with [other],
+     * or to zero box if they do not intersect (as [AABB.intersection])
+     */
+    fun intersect(other: AABB): MutableAABB {
+        val xMin = max(values[MIN_X], other.min.x)
+        val xMax = min(values[MAX_X], other.max.x)
+        val yMin = max(values[MIN_Y], other.min.y)
+        val yMax = min(values[MAX_Y], other.max.y)
+        val zMin = max(values[MIN_Z], other.min.z)
+        val zMax = min(values[MAX_Z], other.max.z)
+
+        if (xMin > xMax || yMin > yMax || zMin > zMax) {
+            return setZero()
+        }
+        return set(xMin, yMin, zMin, xMax, yMax, zMax)
+    }
+
+    /**
+     * Returns true if the box has a non-zero intersection with [other]
+     * (without modifying the box)
+     */
+    fun intersects(other: AABB): Boolean {
+        val xMin = max(values[MIN_X], other.min.x)
+        val xMax = min(values[MAX_X], other.max.x)
+        val yMin = max(values[MIN_Y], other.min.y)
+        val yMax = min(values[MAX_Y], other.max.y)
+        val zMin = max(values[MIN_Z], other.min.z)
+        val zMax = min(values[MAX_Z], other.max.z)
+
+        if (xMin > xMax || yMin > yMax || zMin > zMax) {
+            return false
+        }
+        return abs(xMin) > EPSILON || abs(yMin) > EPSILON || abs(zMin) > EPSILON
+                || abs(xMax) > EPSILON || abs(yMax) > EPSILON || abs(zMax) > EPSILON
+    }
+
+    /**
+     * Returns true if the box has no common part with [other]
+     * (touching or zero size boxes are not considered disjoint)
+     */
+    fun isDisjoint(other: AABB): Boolean {
+        return values[MIN_X] > other.max.x || values[MAX_X] < other.min.x
+                || values[MIN_Y] > other.max.y || values[MAX_Y] < other.min.y
+                || values[MIN_Z] > other.max.z || values[MAX_Z] < other.min.z
+    }
+
+    /**
+     * Returns true if the box is entirely inside [other]
+     */
+    fun isInside(other: AABB): Boolean {
+        return values[MIN_X] >= other.min.x && values[MAX_X] <= other.max.x
+                && values[MIN_Y] >= other.min.y && values[MAX_Y] <= other.max.y
+                && values[MIN_Z] >= other.min.z && values[MAX_Z] <= other.max.z
+    }
+
+    /**
+     * Returns true if all the edges are equal to zero with the accuracy of [EPSILON]
+     */
+    fun isZero(): Boolean {
+        return values.all { abs(it) <= EPSILON }
+    }
+
+    /**
+     * Compares the bounds with [other] and returns true if they are the same
+     * with the accuracy of [EPSILON]
+     */
+    fun equalInexact(other: AABB): Boolean {
+        return abs(values[MIN_X] - other.min.x) <= EPSILON
+                && abs(values[MIN_Y] - other.min.y) <= EPSILON
+                && abs(values[MIN_Z] - other.min.z) <= EPSILON
+                && abs(values[MAX_X] - other.max.x) <= EPSILON
+                && abs(values[MAX_Y] - other.max.y) <= EPSILON
+                && abs(values[MAX_Z] - other.max.z) <= EPSILON
+    }
+
+    fun equalInexact(other: MutableAABB): Boolean {
+        for (i in values.indices) {
+            if (abs(values[i] - other.values[i]) > EPSILON) {
+                return false
+            }
+        }
+        return true
+    }
+
+    /**
+     * Writes 2D bounds of the box to [out]
+     */
+    fun toBounding2d(out: Bounding): Bounding {
+        out.left = values[MIN_X]
+        out.bottom = values[MIN_Y]
+        out.right = values[MAX_X]
+        out.top = values[MAX_Y]
+        return out
+    }
+
+    fun toAABB(): AABB {
+        return AABB(
+            min = Vector3(values[MIN_X], values[MIN_Y], values[MIN_Z]),
+            max = Vector3(values[MAX_X], values[MAX_Y], values[MAX_Z])
+        )
+    }
+
+    override fun toString(): String {
+        return "MutableAABB(min=[$minX, $minY, $minZ], max=[$maxX, $maxY, $maxZ])"
+    }
+
+}
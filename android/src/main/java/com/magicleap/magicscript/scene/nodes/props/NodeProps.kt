@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes.props
+
+import android.os.Bundle
+import com.facebook.react.bridge.Arguments
+import com.facebook.react.bridge.ReadableMap
+
+/**
+ * Properties update prepared for a node: the values packed to [bundle]
+ * and the transform decoded to [transform].
+ *
+ * Use [decode] on the native modules thread, so the main thread only applies
+ * the ready values.
+ */
+class NodeProps(
+    val bundle: Bundle,
+    val transform: TransformProps
+) {
+
+    companion object {
+        @JvmStatic
+        fun decode(props: ReadableMap): NodeProps {
+            val bundle = Arguments.toBundle(props) ?: Bundle()
+            return NodeProps(bundle, TransformProps.fromMap(props))
+        }
+    }
+
+    override fun toString(): String {
+        return bundle.toString()
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes.props
+
+import android.os.Bundle
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.abs
+
+/**
+ * Compares properties update with the properties already applied to a node,
+ * so only the values that actually changed are applied again.
+ *
+ * Numbers (also inside arrays, e.g. vectors or colors) are compared
+ * with the accuracy of [EPSILON].
+ */
+object PropsDiff {
+
+    private const val EPSILON = 1e-5
+
+    private val updates = AtomicLong()
+    private val skippedUpdates = AtomicLong()
+    private val skippedProperties = AtomicLong()
+
+    /**
+     * Removes from [update] the properties which values are equal to the ones
+     * in [currentProps] (note that the [update] bundle is modified).
+     *
+     * @param alwaysApplied names of properties that should never be removed
+     * @return the changed properties or null if nothing has changed
+     */
+    fun removeUnchanged(
+        currentProps: Bundle,
+        update: NodeProps,
+        alwaysApplied: Set<String>
+    ): NodeProps? {
+        updates.incrementAndGet()
+        val bundle = update.bundle
+
+        val unchangedKeys = bundle.keySet().filter { key ->
+            key !in alwaysApplied
+                    && currentProps.containsKey(key)
+                    && valuesEqual(currentProps.get(key), bundle.get(key))
+        }
+        if (unchangedKeys.isEmpty()) {
+            return update
+        }
+
+        skippedProperties.addAndGet(unchangedKeys.size.toLong())
+        if (unchangedKeys.size == bundle.size()) {
+            skippedUpdates.incrementAndGet()
+            return null
+        }
+
+        unchangedKeys.forEach { bundle.remove(it) }
+        return NodeProps(bundle, filterTransform(update.transform, bundle))
+    }
+
+    fun getMetrics(): Metrics {
+        return Metrics(
+            updates = updates.get(),
+            skippedUpdates = skippedUpdates.get(),
+            skippedProperties = skippedProperties.get()
+        )
+    }
+
+    fun valuesEqual(first: Any?, second: Any?): Boolean {
+        if (first is Number && second is Number) {
+            return abs(first.toDouble() - second.toDouble()) <= EPSILON
+        }
+        if (first is List<*> && second is List<*>) {
+            if (first.size != second.size) {
+                return false
+            }
+            for (i in first.indices) {
+                if (!valuesEqual(first[i], second[i])) {
+                    return false
+                }
+            }
+            return true
+        }
+        if (first is Bundle && second is Bundle) {
+            if (first.keySet() != second.keySet()) {
+                return false
+            }
+            return first.keySet().all { valuesEqual(first.get(it), second.get(it)) }
+        }
+        return first == second
+    }
+
+    private fun filterTransform(transform: TransformProps, changedProps: Bundle): TransformProps {
+        if (transform == TransformProps.EMPTY) {
+            return transform
+        }
+        return TransformProps(
+            position = transform.position
+                .takeIf { changedProps.containsKey(TransformNode.PROP_LOCAL_POSITION) },
+            scale = transform.scale
+                .takeIf { changedProps.containsKey(TransformNode.PROP_LOCAL_SCALE) },
+            rotation = transform.rotation
+                .takeIf { changedProps.containsKey(TransformNode.PROP_LOCAL_ROTATION) },
+            transform = transform.transform
+                .takeIf { changedProps.containsKey(TransformNode.PROP_LOCAL_TRANSFORM) }
+        )
+    }
+
+    /**
+     * @param updates number of compared properties updates
+     * @param skippedUpdates number of updates skipped entirely (nothing has changed)
+     * @param skippedProperties number of single properties removed from the updates
+     */
+    data class Metrics(
+        val updates: Long,
+        val skippedUpdates: Long,
+        val skippedProperties: Long
+    )
+
+}
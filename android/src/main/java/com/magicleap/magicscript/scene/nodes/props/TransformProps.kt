@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes.props
+
+import android.os.Bundle
+import com.facebook.react.bridge.ReadableMap
+import com.google.ar.sceneform.math.Matrix
+import com.google.ar.sceneform.math.Quaternion
+import com.google.ar.sceneform.math.Vector3
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.utils.read
+import com.magicleap.magicscript.utils.readFloatArray
+import com.magicleap.magicscript.utils.toPureRotationMatrix
+
+/**
+ * Transform properties of [TransformNode] decoded to primitive values.
+ *
+ * It's immutable, so it can be decoded outside of the main thread
+ * and only applied to the node on the main thread.
+ * Null value means that the property is not present.
+ */
+data class TransformProps(
+    val position: Float3? = null,
+    val scale: Float3? = null,
+    val rotation: Float4? = null,
+    val transform: DecomposedTransform? = null
+) {
+
+    companion object {
+        @JvmField
+        val EMPTY = TransformProps()
+
+        fun fromMap(props: ReadableMap): TransformProps {
+            val position = props.readFloatArray(TransformNode.PROP_LOCAL_POSITION, 3)
+            val scale = props.readFloatArray(TransformNode.PROP_LOCAL_SCALE, 3)
+            val rotation = props.readFloatArray(TransformNode.PROP_LOCAL_ROTATION, 4)
+            val matrix = props.readFloatArray(TransformNode.PROP_LOCAL_TRANSFORM, 16)
+            if (position == null && scale == null && rotation == null && matrix == null) {
+                return EMPTY
+            }
+            return TransformProps(
+                position = position?.let { Float3(it[0], it[1], it[2]) },
+                scale = scale?.let { Float3(it[0], it[1], it[2]) },
+                rotation = rotation?.let { Float4(it[0], it[1], it[2], it[3]) },
+                transform = matrix?.let { DecomposedTransform.decompose(Matrix(it)) }
+            )
+        }
+
+        fun fromBundle(props: Bundle): TransformProps {
+            val position = props.read<Vector3>(TransformNode.PROP_LOCAL_POSITION)
+            val scale = props.read<Vector3>(TransformNode.PROP_LOCAL_SCALE)
+            val rotation = props.read<Quaternion>(TransformNode.PROP_LOCAL_ROTATION)
+            val matrix = props.read<Matrix>(TransformNode.PROP_LOCAL_TRANSFORM)
+            if (position == null && scale == null && rotation == null && matrix == null) {
+                return EMPTY
+            }
+            return TransformProps(
+                position = position?.let { Float3.of(it) },
+                scale = scale?.let { Float3.of(it) },
+                rotation = rotation?.let { Float4.of(it) },
+                transform = matrix?.let { DecomposedTransform.decompose(it) }
+            )
+        }
+    }
+
+}
+
+data class Float3(val x: Float, val y: Float, val z: Float) {
+
+    companion object {
+        fun of(vector: Vector3) = Float3(vector.x, vector.y, vector.z)
+    }
+
+    fun toVector3() = Vector3(x, y, z)
+}
+
+data class Float4(val x: Float, val y: Float, val z: Float, val w: Float) {
+
+    companion object {
+        fun of(quaternion: Quaternion) = Float4(quaternion.x, quaternion.y, quaternion.z, quaternion.w)
+    }
+
+    fun toQuaternion() = Quaternion(x, y, z, w)
+}
+
+/**
+ * Local transform matrix decomposed to translation, scale and rotation
+ */
+data class DecomposedTransform(
+    val position: Float3,
+    val scale: Float3,
+    val rotation: Float4
+) {
+
+    companion object {
+        /**
+         * Decomposes the [matrix] (note that the matrix is modified)
+         */
+        fun decompose(matrix: Matrix): DecomposedTransform {
+            val translation = Vector3()
+            val scale = Vector3()
+
+            matrix.decomposeTranslation(translation)
+            matrix.decomposeScale(scale)
+
+            matrix.toPureRotationMatrix(decomposedScale = scale)
+            val quaternion = Quaternion()
+            matrix.extractQuaternion(quaternion)
+
+            return DecomposedTransform(
+                Float3.of(translation),
+                Float3.of(scale),
+                Float4.of(quaternion)
+            )
+        }
+    }
+
+}
@@ -38,6 +38,9 @@ class UiSubtitlesNode(
         fontProvider: FontProvider
 ) : UiTextNode(props, context, viewRenderableLoader, nodeClipper, fontProvider) {
 
+    // using a custom layout, so not sharing the text views
+    override val recycledViewLayout: Int? = null
+
     override fun provideView(context: Context): View {
         return LayoutInflater.from(context).inflate(R.layout.subtitles, null) as TextView
     }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.magicleap.magicscript.utils
+
+import android.content.res.AssetManager
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Memoized listing of the assets directories, shared by the providers
+ * that look for optional assets (icons, fonts).
+ *
+ * Listing the assets is a slow call reading the APK, so each directory
+ * is listed only once (lazily or in background with [preloadInBackground]).
+ * The index is thread safe.
+ */
+class AssetsIndex(private val assets: AssetManager) {
+
+    private val directories = ConcurrentHashMap<String, Set<String>>()
+
+    /**
+     * Returns names of the files in the assets [directory]
+     * (empty set if the directory does not exist)
+     */
+    fun list(directory: String): Set<String> {
+        directories[directory]?.let {
+            return it
+        }
+        synchronized(directories) {
+            return directories.getOrPut(directory) { loadDirectory(directory) }
+        }
+    }
+
+    fun contains(directory: String, fileName: String): Boolean {
+        return list(directory).contains(fileName)
+    }
+
+    /**
+     * Lists the [directories] on a background thread, so the first lookups
+     * do not block the caller
+     */
+    fun preloadInBackground(vararg directories: String) {
+        Thread({ directories.forEach { list(it) } }, "AssetsIndex").start()
+    }
+
+    private fun loadDirectory(directory: String): Set<String> {
+        return try {
+            assets.list(directory)?.toHashSet() ?: emptySet()
+        } catch (e: IOException) {
+            logMessage("Cannot list assets directory $directory: $e", true)
+            emptySet()
+        }
+    }
+
+}
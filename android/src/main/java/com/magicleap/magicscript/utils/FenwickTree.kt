@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.utils
+
+import kotlin.math.max
+
+/**
+ * Fenwick tree (binary indexed tree) of float values that allows
+ * to change a value and calculate a prefix sum in O(log n)
+ */
+class FenwickTree(initialCapacity: Int = DEFAULT_CAPACITY) {
+
+    companion object {
+        private const val DEFAULT_CAPACITY = 16
+    }
+
+    // values[i] is the value at index i
+    private var values = FloatArray(initialCapacity)
+
+    // tree[i] (1-based) is the sum of values in range (i - lowestBit(i), i]
+    private var tree = FloatArray(initialCapacity + 1)
+
+    var size = 0
+        private set
+
+    /**
+     * Sum of all values
+     */
+    val total: Float
+        get() = prefixSum(size)
+
+    operator fun get(index: Int): Float {
+        checkIndex(index)
+        return values[index]
+    }
+
+    operator fun set(index: Int, value: Float) {
+        checkIndex(index)
+        val delta = value - values[index]
+        values[index] = value
+        var i = index + 1
+        while (i <= size) {
+            tree[i] += delta
+            i += lowestBit(i)
+        }
+    }
+
+    /**
+     * Adds the [value] at the end in O(log n)
+     */
+    fun add(value: Float) {
+        if (size == values.size) {
+            val capacity = max(size * 2, DEFAULT_CAPACITY)
+            values = values.copyOf(capacity)
+            tree = tree.copyOf(capacity + 1)
+        }
+        values[size] = value
+        size++
+        // the node covers the new value and the values of its child nodes
+        val i = size
+        tree[i] = value + prefixSum(i - 1) - prefixSum(i - lowestBit(i))
+    }
+
+    /**
+     * Removes the value at [index] rebuilding the tree in O(n)
+     */
+    fun removeAt(index: Int) {
+        checkIndex(index)
+        values.copyInto(values, index, index + 1, size)
+        size--
+        rebuild()
+    }
+
+    fun clear() {
+        size = 0
+    }
+
+    /**
+     * Returns sum of the first [count] values
+     */
+    fun prefixSum(count: Int): Float {
+        var sum = 0f
+        var i = count.coerceIn(0, size)
+        while (i > 0) {
+            sum += tree[i]
+            i -= lowestBit(i)
+        }
+        return sum
+    }
+
+    private fun rebuild() {
+        tree.fill(0f)
+        for (i in 1..size) {
+            tree[i] += values[i - 1]
+            val parent = i + lowestBit(i)
+            if (parent <= size) {
+                tree[parent] += tree[i]
+            }
+        }
+    }
+
+    private fun lowestBit(i: Int) = i and -i
+
+    private fun checkIndex(index: Int) {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("index: $index, size: $size")
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.utils
+
+import com.facebook.react.bridge.ReadableMap
+import com.facebook.react.bridge.ReadableType
+
+/**
+ * File containing functions that parse common nodes' properties directly
+ * from [ReadableMap] (without packing to Bundle and boxing the numbers),
+ * so they can be used on the native modules thread
+ * (see [com.magicleap.magicscript.scene.nodes.props.TransformProps.fromMap])
+ */
+
+/**
+ * Returns array of [size] floats or null if the map does not contain
+ * a numbers array of that size for a given [propertyName]
+ */
+fun ReadableMap.readFloatArray(propertyName: String, size: Int): FloatArray? {
+    if (!hasKey(propertyName) || getType(propertyName) != ReadableType.Array) {
+        return null
+    }
+    val array = getArray(propertyName) ?: return null
+    if (array.size() != size) {
+        return null
+    }
+    val result = FloatArray(size)
+    for (i in 0 until size) {
+        if (array.getType(i) != ReadableType.Number) {
+            return null
+        }
+        result[i] = array.getDouble(i).toFloat()
+    }
+    return result
+}
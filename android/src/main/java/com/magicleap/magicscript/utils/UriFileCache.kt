@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.utils
+
+import android.content.Context
+import android.net.Uri
+import android.webkit.MimeTypeMap
+import java.io.File
+import java.io.IOException
+import java.io.InputStream
+import java.net.HttpURLConnection
+import java.net.URL
+import java.security.MessageDigest
+import java.util.*
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Disk cache of files fetched from Uris, shared by all [UriFileProvider]s.
+ *
+ * Each file is stored under a name derived from the hash of its Uri, so files
+ * with the same name from different locations do not collide. Remote files
+ * are revalidated with the ETag / Last-Modified headers (the cached file is
+ * used when not modified or when the server cannot be reached), local files
+ * are copied once per process. Least recently used files are removed
+ * to keep the cache under [maxBytes].
+ *
+ * Concurrent requests for the same Uri are served by a single fetch and all
+ * the work runs on a bounded pool of [MAX_THREADS] threads.
+ */
+class UriFileCache @JvmOverloads constructor(
+    private val context: Context,
+    private val directory: File = File(context.cacheDir, DIRECTORY_NAME),
+    maxBytes: Long = DEFAULT_MAX_BYTES
+) {
+
+    companion object {
+        const val DIRECTORY_NAME = "uri_files"
+        const val DEFAULT_MAX_BYTES = 100L * 1024 * 1024
+        const val MAX_THREADS = 2
+
+        private const val READ_TIMEOUT = 5000
+        private const val CONNECT_TIMEOUT = 10000
+        private const val KEEP_ALIVE_SECONDS = 30L
+
+        private const val META_SUFFIX = ".meta"
+        private const val TEMP_SUFFIX = ".tmp"
+        private const val ETAG = "ETag"
+        private const val LAST_MODIFIED = "Last-Modified"
+    }
+
+    @Volatile
+    var maxBytes = maxBytes
+
+    private val executor = ThreadPoolExecutor(
+        MAX_THREADS,
+        MAX_THREADS,
+        KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS,
+        LinkedBlockingQueue<Runnable>()
+    ).apply {
+        allowCoreThreadTimeOut(true)
+    }
+
+    // listeners of files being fetched by file name
+    private val pending = mutableMapOf<String, MutableList<(File) -> Unit>>()
+
+    // local files that were already copied in this process
+    private val copiedFiles = Collections.synchronizedSet(mutableSetOf<String>())
+
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+    private val revalidations = AtomicLong()
+    private val deduplicated = AtomicLong()
+    private val evictions = AtomicLong()
+
+    /**
+     * Fetches the file for the [uri] in background (or reuses the cached one)
+     *
+     * @param result called on a background thread when the file is ready
+     */
+    fun getFile(uri: Uri, result: (File) -> Unit) {
+        val fileName = getFileName(uri)
+        synchronized(pending) {
+            val listeners = pending[fileName]
+            if (listeners != null) {
+                listeners.add(result)
+                deduplicated.incrementAndGet()
+                return
+            }
+            pending[fileName] = mutableListOf(result)
+        }
+        executor.execute {
+            fetch(uri, fileName)
+        }
+    }
+
+    fun getMetrics(): Metrics {
+        return Metrics(
+            hits = hits.get(),
+            misses = misses.get(),
+            revalidations = revalidations.get(),
+            deduplicated = deduplicated.get(),
+            evictions = evictions.get()
+        )
+    }
+
+    private fun fetch(uri: Uri, fileName: String) {
+        val file = try {
+            provideFile(uri, File(directory, fileName)).also {
+                it.setLastModified(System.currentTimeMillis())
+                trimToSize()
+            }
+        } catch (e: Exception) {
+            logMessage("Error during reading file $e", true)
+            null
+        }
+
+        val listeners = synchronized(pending) {
+            pending.remove(fileName)
+        }
+        if (file != null) {
+            listeners?.forEach { it(file) }
+        }
+    }
+
+    private fun provideFile(uri: Uri, file: File): File {
+        directory.mkdirs()
+        val uriString = uri.toString()
+        return when {
+            uriString.startsWith("android.resource") -> {
+                copyLocalFile(file) { getLocalInputStream(uri) }
+            }
+            uriString.startsWith("content://") -> {
+                copyLocalFile(file) { getLocalContentStream(uri) }
+            }
+            else -> {
+                downloadFile(uri, file)
+            }
+        }
+    }
+
+    private fun copyLocalFile(file: File, openStream: () -> InputStream): File {
+        if (file.exists() && copiedFiles.contains(file.name)) {
+            hits.incrementAndGet()
+            return file
+        }
+        writeFile(openStream(), file)
+        misses.incrementAndGet()
+        copiedFiles.add(file.name)
+        return file
+    }
+
+    private fun downloadFile(uri: Uri, file: File): File {
+        val connection = URL(uri.toString()).openConnection().apply {
+            readTimeout = READ_TIMEOUT
+            connectTimeout = CONNECT_TIMEOUT
+        }
+        if (connection !is HttpURLConnection) {
+            writeFile(connection.getInputStream(), file)
+            misses.incrementAndGet()
+            return file
+        }
+
+        val metaFile = File(directory, file.name + META_SUFFIX)
+        val meta = Properties()
+        if (file.exists() && metaFile.exists()) {
+            metaFile.inputStream().use { meta.load(it) }
+            meta.getProperty(ETAG)?.let { connection.setRequestProperty("If-None-Match", it) }
+            meta.getProperty(LAST_MODIFIED)?.let {
+                connection.setRequestProperty("If-Modified-Since", it)
+            }
+        }
+
+        try {
+            val responseCode = connection.responseCode
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && file.exists()) {
+                hits.incrementAndGet()
+                revalidations.incrementAndGet()
+                return file
+            }
+            if (responseCode !in 200..299) {
+                throw IOException("Unexpected response code $responseCode")
+            }
+
+            writeFile(connection.inputStream, file)
+            misses.incrementAndGet()
+            meta.clear()
+            connection.getHeaderField(ETAG)?.let { meta.setProperty(ETAG, it) }
+            connection.getHeaderField(LAST_MODIFIED)?.let { meta.setProperty(LAST_MODIFIED, it) }
+            metaFile.outputStream().use { meta.store(it, uri.toString()) }
+            return file
+        } catch (e: IOException) {
+            if (file.exists()) {
+                logMessage("Cannot revalidate $uri, using cached file: $e", true)
+                hits.incrementAndGet()
+                return file
+            }
+            throw e
+        } finally {
+            connection.disconnect()
+        }
+    }
+
+    private fun getLocalInputStream(uri: Uri): InputStream {
+        val filename = uri.path.toString().split("/").last()
+
+        val resources = context.resources
+        val identifier =
+            resources.getIdentifier(filename, "raw", context.packageName)
+
+        return resources.openRawResource(identifier)
+    }
+
+    private fun getLocalContentStream(uri: Uri): InputStream {
+        return context.contentResolver.openInputStream(uri)
+            ?: throw IOException("Cannot open $uri")
+    }
+
+    /**
+     * Writes the [inputStream] to a temporary file first, so a partially
+     * written file never replaces the cached one
+     */
+    private fun writeFile(inputStream: InputStream, file: File) {
+        val tempFile = File(directory, file.name + TEMP_SUFFIX)
+        inputStream.buffered().use { input ->
+            tempFile.outputStream().use { output ->
+                input.copyTo(output)
+            }
+        }
+        if (!tempFile.renameTo(file)) {
+            file.delete()
+            if (!tempFile.renameTo(file)) {
+                tempFile.delete()
+                throw IOException("Cannot write ${file.name}")
+            }
+        }
+    }
+
+    /**
+     * Removes least recently used files (except the ones being fetched)
+     * until the cache fits in [maxBytes]
+     */
+    private fun trimToSize() {
+        val files = directory.listFiles { file ->
+            !file.name.endsWith(META_SUFFIX) && !file.name.endsWith(TEMP_SUFFIX)
+        } ?: return
+
+        var size = files.fold(0L) { sum, file -> sum + file.length() }
+        if (size <= maxBytes) {
+            return
+        }
+
+        val fetchedNames = synchronized(pending) { pending.keys.toSet() }
+        for (file in files.sortedBy { it.lastModified() }) {
+            if (size <= maxBytes) {
+                return
+            }
+            if (file.name in fetchedNames) {
+                continue
+            }
+            val length = file.length()
+            if (file.delete()) {
+                File(directory, file.name + META_SUFFIX).delete()
+                copiedFiles.remove(file.name)
+                size -= length
+                evictions.incrementAndGet()
+            }
+        }
+    }
+
+    /**
+     * Returns the name of cached file: hash of the [uri] with extension
+     * of the original file (some players recognize a file by its extension)
+     */
+    private fun getFileName(uri: Uri): String {
+        val digest = MessageDigest.getInstance("SHA-256").digest(uri.toString().toByteArray())
+        val hash = digest.joinToString("") { "%02x".format(it) }
+        val extension = MimeTypeMap.getFileExtensionFromUrl(uri.toString())
+        return if (extension.isNullOrEmpty()) hash else "$hash.$extension"
+    }
+
+    /**
+     * @param hits number of requests served with a cached file
+     * (including the revalidated ones)
+     * @param misses number of files fetched from their source
+     * @param revalidations number of cached remote files confirmed as not modified
+     * @param deduplicated number of requests joined to a fetch in progress
+     * @param evictions number of files removed to keep the cache size
+     */
+    data class Metrics(
+        val hits: Long,
+        val misses: Long,
+        val revalidations: Long,
+        val deduplicated: Long,
+        val evictions: Long
+    )
+
+}
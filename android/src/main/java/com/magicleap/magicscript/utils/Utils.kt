@@ -26,9 +26,12 @@ import com.google.ar.sceneform.collision.CollisionShape
 import com.google.ar.sceneform.math.Quaternion
 import com.google.ar.sceneform.math.Vector3
 import com.magicleap.magicscript.ar.ModelType
+import com.magicleap.magicscript.scene.NodesProfiler
+import com.magicleap.magicscript.scene.nodes.base.Layoutable
 import com.magicleap.magicscript.scene.nodes.base.TransformNode
 import com.magicleap.magicscript.scene.nodes.props.AABB
 import com.magicleap.magicscript.scene.nodes.props.Bounding
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
 import kotlin.math.max
 import kotlin.math.min
 
@@ -39,6 +42,9 @@ class Utils {
 
     companion object {
 
+        // reused for clipping children, clipping is calculated on the main thread only
+        private val clippedChildBounds = MutableAABB()
+
         // Each text should be scaled down with this factor
         // to match Lumin's implementation
         const val FONT_SCALE_FACTOR = 0.8f
@@ -167,35 +173,49 @@ class Utils {
         }
 
         fun calculateMaterialClipping(nodeBounds: AABB, clipBounds: AABB): Bounding {
-            val intersecting = !nodeBounds.intersection(clipBounds).equalInexact(AABB())
-            if (!intersecting) {
-                return Bounding()
+            return calculateMaterialClipping(MutableAABB().set(nodeBounds), clipBounds, Bounding())
+        }
+
+        /**
+         * Calculates material clipping without allocations
+         *
+         * @param out the bounding to write the clipping to
+         * @return [out]
+         */
+        fun calculateMaterialClipping(
+            nodeBounds: MutableAABB,
+            clipBounds: AABB,
+            out: Bounding
+        ): Bounding {
+            out.left = 0f
+            out.bottom = 0f
+            out.right = 0f
+            out.top = 0f
+
+            if (!nodeBounds.intersects(clipBounds)) {
+                return out
             }
 
             // calculate 2d clipping
-            val nodeBounds2d = nodeBounds.toBounding2d()
-            val clipBounds2d = clipBounds.toBounding2d()
-            val sizeX = nodeBounds2d.size().x
-            val sizeY = nodeBounds2d.size().y
+            val sizeX = nodeBounds.sizeX()
+            val sizeY = nodeBounds.sizeY()
             if (sizeX <= 0f || sizeY <= 0f) {
-                return Bounding()
+                return out
             }
 
-            val materialClip = Bounding()
+            val offsetLeft = nodeBounds.minX - clipBounds.min.x
+            out.left = max(-0.5f - offsetLeft / sizeX, -0.5f)
 
-            val offsetLeft = nodeBounds2d.left - clipBounds2d.left
-            materialClip.left = max(-0.5f - offsetLeft / sizeX, -0.5f)
+            val offsetRight = nodeBounds.maxX - clipBounds.max.x
+            out.right = min(0.5f - offsetRight / sizeX, 0.5f)
 
-            val offsetRight = nodeBounds2d.right - clipBounds2d.right
-            materialClip.right = min(0.5f - offsetRight / sizeX, 0.5f)
+            val offsetBottom = nodeBounds.minY - clipBounds.min.y
+            out.bottom = max(-offsetBottom / sizeY, 0.0f)
 
-            val offsetBottom = nodeBounds2d.bottom - clipBounds2d.bottom
-            materialClip.bottom = max(-offsetBottom / sizeY, 0.0f)
+            val offsetTop = nodeBounds.maxY - clipBounds.max.y
+            out.top = min(1.0f - offsetTop / sizeY, 1.0f)
 
-            val offsetTop = nodeBounds2d.top - clipBounds2d.top
-            materialClip.top = min(1.0f - offsetTop / sizeY, 1.0f)
-
-            return materialClip
+            return out
         }
 
         fun detectModelType(modelUri: Uri, context: Context): ModelType {
@@ -269,13 +289,50 @@ class Utils {
             val scaleY = 1 / scale.y
             val scaleZ = 1 / scale.z
 
+            val start = NodesProfiler.start()
             val localBounds = clipBounds
                 .translated(-parent.getContentPosition())
                 .scaled(scaleX, scaleY, scaleZ)
 
-            parent.contentNode.children
-                .filterIsInstance<TransformNode>()
-                .forEach { it.clipBounds = localBounds }
+            for (child in parent.contentNode.children) {
+                if (child is TransformNode) {
+                    clipChild(child, localBounds)
+                }
+            }
+            NodesProfiler.stop(parent, NodesProfiler.Metric.CLIP, start)
+        }
+
+        /**
+         * Sets [clipBounds] on the [child] only if it may change the clipping result:
+         * - a child entirely outside the bounds is culled (its subtree is not clipped),
+         * - a child entirely inside both the current and the new bounds is skipped,
+         * - a child which clip bounds have not changed is skipped.
+         *
+         * The first two apply only when the child bounds contain its subtree
+         * (layouts or nodes without children).
+         */
+        private fun clipChild(child: TransformNode, clipBounds: AABB) {
+            val bounds = child.getBounding(clippedChildBounds)
+            val boundsContainSubtree = bounds.sizeX() > 0 && bounds.sizeY() > 0
+                    && (child is Layoutable || child.contentNode.children.none { it is TransformNode })
+
+            if (boundsContainSubtree && bounds.isDisjoint(clipBounds)) {
+                child.isCulled = true
+                return
+            }
+
+            val wasCulled = child.isCulled
+            child.isCulled = false
+
+            val currentBounds = child.clipBounds
+            if (!wasCulled && currentBounds != null) {
+                val notClipped = boundsContainSubtree
+                        && bounds.isInside(currentBounds) && bounds.isInside(clipBounds)
+                if (notClipped || currentBounds.equalInexact(clipBounds)) {
+                    return
+                }
+            }
+            child.clipBounds = clipBounds
         }
 
         fun createPose(position: Vector3, rotation: Quaternion): Pose {
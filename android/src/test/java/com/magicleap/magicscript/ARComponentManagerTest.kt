@@ -35,16 +35,22 @@ import com.magicleap.magicscript.scene.nodes.toggle.ToggleGroupNode
 import com.magicleap.magicscript.scene.nodes.toggle.UiToggleNode
 import com.magicleap.magicscript.scene.nodes.video.MediaPlayerPool
 import com.magicleap.magicscript.scene.nodes.video.VideoNode
+import com.nhaarman.mockitokotlin2.any
 import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.inOrder
 import com.nhaarman.mockitokotlin2.isA
 import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.verifyZeroInteractions
 import com.nhaarman.mockitokotlin2.whenever
+import org.amshove.kluent.shouldEqual
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.Mock
 import org.mockito.MockitoAnnotations
+import org.robolectric.Robolectric
 import org.robolectric.RobolectricTestRunner
+import org.robolectric.shadows.ShadowLooper
 
 @RunWith(RobolectricTestRunner::class)
 class ARComponentManagerTest {
@@ -560,4 +566,96 @@ class ARComponentManagerTest {
 
     // endregion
 
+    // region Mutations
+
+    @Test
+    fun `should register nodes created with mutations batch`() {
+        val ops = reactArrayOf(
+            reactMapOf("op", "create", "type", "view", "nodeId", "1", "props", reactMapOf()),
+            reactMapOf("op", "create", "type", "button", "nodeId", "2", "props", reactMapOf())
+        )
+
+        manager.applyMutations(ops)
+
+        verify(nodesManager).registerNode(isA<GroupNode>(), eq("1"))
+        verify(nodesManager).registerNode(isA<UiButtonNode>(), eq("2"))
+    }
+
+    @Test
+    fun `should apply mutations in order`() {
+        val ops = reactArrayOf(
+            reactMapOf("op", "create", "type", "view", "nodeId", "1", "props", reactMapOf()),
+            reactMapOf("op", "create", "type", "text", "nodeId", "2", "props", reactMapOf()),
+            reactMapOf("op", "add", "nodeId", "2", "parentId", "1"),
+            reactMapOf("op", "addToRoot", "nodeId", "1"),
+            reactMapOf("op", "update", "nodeId", "2", "props", reactMapOf().text("abc")),
+            reactMapOf("op", "subscribe", "nodeId", "2", "event", "onActivate"),
+            reactMapOf("op", "remove", "nodeId", "2")
+        )
+
+        manager.applyMutations(ops)
+
+        inOrder(nodesManager, eventsManager) {
+            verify(nodesManager).registerNode(isA<GroupNode>(), eq("1"))
+            verify(nodesManager).registerNode(isA<UiTextNode>(), eq("2"))
+            verify(nodesManager).addNodeToParent("2", "1")
+            verify(nodesManager).addNodeToRoot("1")
+            verify(nodesManager).updateNode(eq("2"), any())
+            verify(eventsManager).addOnActivateEventHandler("2")
+            verify(nodesManager).removeNode("2")
+        }
+    }
+
+    @Test
+    fun `should post single main thread message for mutations batch`() {
+        ShadowLooper.pauseMainLooper()
+        val ops = reactArrayOf(
+            reactMapOf("op", "create", "type", "view", "nodeId", "1", "props", reactMapOf()),
+            reactMapOf("op", "create", "type", "view", "nodeId", "2", "props", reactMapOf()),
+            reactMapOf("op", "add", "nodeId", "2", "parentId", "1")
+        )
+
+        manager.applyMutations(ops)
+
+        Robolectric.getForegroundThreadScheduler().size() shouldEqual 1
+        ShadowLooper.unPauseMainLooper()
+    }
+
+    @Test
+    fun `should apply whole mutations batch in one pass even over frame budget`() {
+        ShadowLooper.pauseMainLooper()
+        manager.setFrameBudget(1e-6)
+        val ops = reactArrayOf(
+            reactMapOf("op", "create", "type", "view", "nodeId", "1", "props", reactMapOf()),
+            reactMapOf("op", "create", "type", "view", "nodeId", "2", "props", reactMapOf()),
+            reactMapOf("op", "add", "nodeId", "2", "parentId", "1")
+        )
+
+        manager.applyMutations(ops)
+        val scheduler = Robolectric.getForegroundThreadScheduler()
+        scheduler.runOneTask()
+
+        verify(nodesManager).registerNode(isA<GroupNode>(), eq("1"))
+        verify(nodesManager).registerNode(isA<GroupNode>(), eq("2"))
+        verify(nodesManager).addNodeToParent("2", "1")
+        scheduler.size() shouldEqual 0
+        ShadowLooper.unPauseMainLooper()
+    }
+
+    @Test
+    fun `should skip invalid mutations`() {
+        val ops = reactArrayOf(
+            reactMapOf("op", "create", "type", "unknown", "nodeId", "1"),
+            reactMapOf("op", "add", "nodeId", "1"),
+            reactMapOf("op", "unknown", "nodeId", "1"),
+            reactMapOf("nodeId", "1")
+        )
+
+        manager.applyMutations(ops)
+
+        verifyZeroInteractions(nodesManager)
+    }
+
+    // endregion
+
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.magicleap.magicscript
+
+import android.os.Bundle
+import android.os.Handler
+import android.os.Looper
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.argThat
+import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.inOrder
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import org.amshove.kluent.shouldEqual
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.shadows.ShadowLooper
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+class EventsCoalescerTest {
+
+    companion object {
+        private const val VALUE = "value"
+        private const val EVENT_SCROLL = ReactEventsManager.EVENT_SCROLL_CHANGED
+        private const val EVENT_SLIDER = ReactEventsManager.EVENT_SLIDER_VALUE_CHANGED
+    }
+
+    private val eventsEmitter: EventsEmitter = mock()
+
+    private lateinit var coalescer: EventsCoalescer
+
+    // fake clock in milliseconds
+    private var time = 1000L
+
+    @Before
+    fun setUp() {
+        ShadowLooper.pauseMainLooper()
+        coalescer = EventsCoalescer(eventsEmitter, Handler(Looper.getMainLooper())) { time }
+    }
+
+    @After
+    fun tearDown() {
+        ShadowLooper.unPauseMainLooper()
+    }
+
+    @Test
+    fun `should send only the latest value of continuous event`() {
+        val event = coalescer.createEvent("1", EVENT_SCROLL)
+
+        event.post { createParams(0.1) }
+        event.post { createParams(0.2) }
+        event.post { createParams(0.3) }
+        verify(eventsEmitter, never()).sendEvent(any(), any())
+        ShadowLooper.idleMainLooper()
+
+        verify(eventsEmitter).sendEvent(eq(EVENT_SCROLL), argThat { getDouble(VALUE) == 0.3 })
+        coalescer.getMetrics().droppedEvents shouldEqual mapOf(EVENT_SCROLL to 2L)
+    }
+
+    @Test
+    fun `should not coalesce events of different nodes`() {
+        val firstNodeEvent = coalescer.createEvent("1", EVENT_SLIDER)
+        val secondNodeEvent = coalescer.createEvent("2", EVENT_SLIDER)
+
+        firstNodeEvent.post { createParams(0.1) }
+        secondNodeEvent.post { createParams(0.2) }
+        ShadowLooper.idleMainLooper()
+
+        verify(eventsEmitter, times(2)).sendEvent(eq(EVENT_SLIDER), any())
+        coalescer.getMetrics().sentEvents shouldEqual 2L
+    }
+
+    @Test
+    fun `should send pending continuous events before discrete event`() {
+        val event = coalescer.createEvent("1", EVENT_SLIDER)
+
+        event.post { createParams(0.5) }
+        coalescer.sendEvent(ReactEventsManager.EVENT_RELEASE, Bundle())
+
+        inOrder(eventsEmitter) {
+            verify(eventsEmitter).sendEvent(eq(EVENT_SLIDER), any())
+            verify(eventsEmitter).sendEvent(eq(ReactEventsManager.EVENT_RELEASE), any())
+        }
+    }
+
+    @Test
+    fun `should not send continuous events more often than max rate`() {
+        coalescer.maxRate = 10.0 // every 100 ms
+        val event = coalescer.createEvent("1", EVENT_SCROLL)
+        event.post { createParams(0.1) }
+        ShadowLooper.idleMainLooper()
+
+        time += 50
+        event.post { createParams(0.2) }
+        ShadowLooper.idleMainLooper()
+        verify(eventsEmitter, times(1)).sendEvent(any(), any())
+
+        ShadowLooper.idleMainLooper(50, TimeUnit.MILLISECONDS)
+        verify(eventsEmitter, times(2)).sendEvent(any(), any())
+    }
+
+    private fun createParams(value: Double): Bundle {
+        return Bundle().apply { putDouble(VALUE, value) }
+    }
+
+}
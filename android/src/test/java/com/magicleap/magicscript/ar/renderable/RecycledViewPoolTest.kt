@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.ar.renderable
+
+import android.content.Context
+import android.view.View
+import android.widget.FrameLayout
+import androidx.test.core.app.ApplicationProvider
+import com.magicleap.magicscript.R
+import com.magicleap.magicscript.scene.nodes.UiListViewItemNode
+import com.magicleap.magicscript.scene.nodes.UiTextNode
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class RecycledViewPoolTest {
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    private val itemKey = RecycledViewPool.Key(UiListViewItemNode::class.java, 0)
+
+    private val textKey = RecycledViewPool.Key(UiTextNode::class.java, R.layout.text)
+
+    @Test
+    fun `should return null when pool is empty`() {
+        val pool = RecycledViewPool()
+
+        pool.acquire(itemKey) shouldBe null
+    }
+
+    @Test
+    fun `should return released view for the same key`() {
+        val pool = RecycledViewPool()
+        val view = View(context)
+        pool.release(itemKey, view)
+
+        pool.acquire(textKey) shouldBe null
+        pool.acquire(itemKey) shouldBe view
+        pool.acquire(itemKey) shouldBe null
+    }
+
+    @Test
+    fun `should detach released view from parent`() {
+        val pool = RecycledViewPool()
+        val parent = FrameLayout(context)
+        val view = View(context)
+        parent.addView(view)
+
+        pool.release(itemKey, view)
+
+        view.parent shouldBe null
+    }
+
+    @Test
+    fun `should not keep more views than limit`() {
+        val pool = RecycledViewPool(maxPerKey = 1)
+        pool.release(itemKey, View(context))
+        pool.release(itemKey, View(context))
+
+        val metrics = pool.getMetrics()
+        metrics.pooled shouldEqual 1
+        metrics.discarded shouldEqual 1L
+    }
+
+    @Test
+    fun `should count avoided inflations and pool sizes`() {
+        val pool = RecycledViewPool()
+        pool.release(itemKey, View(context))
+        pool.release(itemKey, View(context))
+        pool.release(textKey, View(context))
+
+        pool.acquire(itemKey)
+        pool.acquire(textKey)
+        pool.acquire(textKey)
+
+        val metrics = pool.getMetrics()
+        metrics.requests shouldEqual 3L
+        metrics.inflationsAvoided shouldEqual 2L
+        metrics.pooled shouldEqual 1
+        metrics.pooledPerKey shouldEqual mapOf(itemKey to 1, textKey to 0)
+    }
+
+}
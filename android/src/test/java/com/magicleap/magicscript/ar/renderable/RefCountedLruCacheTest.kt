@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.ar.renderable
+
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+
+class RefCountedLruCacheTest {
+
+    private val modelA = "model A"
+    private val modelB = "model B"
+    private val modelC = "model C"
+
+    @Test
+    fun `should return null when value is not cached`() {
+        val cache = RefCountedLruCache<String, String>(maxBytes = 100)
+
+        cache.acquire("a") shouldBe null
+        cache.getMetrics().misses shouldEqual 1L
+    }
+
+    @Test
+    fun `should return cached value for the same key`() {
+        val cache = RefCountedLruCache<String, String>(maxBytes = 100)
+        cache.put("a", modelA, bytes = 10)
+
+        cache.acquire("b") shouldBe null
+        cache.acquire("a") shouldBe modelA
+        cache.getMetrics().hits shouldEqual 1L
+    }
+
+    @Test
+    fun `should not evict values that are used`() {
+        val cache = RefCountedLruCache<String, String>(maxBytes = 100)
+        cache.put("a", modelA, bytes = 60)
+        cache.put("b", modelB, bytes = 60)
+
+        cache.acquire("a") shouldBe modelA
+        cache.acquire("b") shouldBe modelB
+        cache.getMetrics().evictions shouldEqual 0L
+    }
+
+    @Test
+    fun `should evict least recently used released value when over budget`() {
+        val cache = RefCountedLruCache<String, String>(maxBytes = 100)
+        cache.put("a", modelA, bytes = 40)
+        cache.put("b", modelB, bytes = 40)
+        cache.release("a", modelA)
+        cache.release("b", modelB)
+        cache.acquire("a")
+        cache.release("a", modelA)
+
+        cache.put("c", modelC, bytes = 40)
+
+        cache.acquire("b") shouldBe null
+        cache.acquire("a") shouldBe modelA
+        cache.getMetrics().evictions shouldEqual 1L
+        cache.getMetrics().bytes shouldEqual 80L
+    }
+
+    @Test
+    fun `should evict value when its last reference is released`() {
+        val cache = RefCountedLruCache<String, String>(maxBytes = 100)
+        cache.put("a", modelA, bytes = 60)
+        cache.acquire("a")
+        cache.put("b", modelB, bytes = 60)
+
+        cache.release("a", modelA)
+        cache.getMetrics().entries shouldEqual 2
+
+        cache.release("a", modelA)
+        cache.getMetrics().entries shouldEqual 1
+        cache.acquire("a") shouldBe null
+    }
+
+    @Test
+    fun `should ignore release of value that is no longer cached`() {
+        val cache = RefCountedLruCache<String, String>(maxBytes = 100)
+        cache.put("a", modelA, bytes = 10)
+        cache.remove("a", modelA)
+        cache.put("a", modelB, bytes = 10)
+
+        cache.release("a", modelA)
+
+        cache.getMetrics().inUse shouldEqual 1
+    }
+
+    @Test
+    fun `should evict released values when budget is reduced`() {
+        val cache = RefCountedLruCache<String, String>(maxBytes = 100)
+        cache.put("a", modelA, bytes = 40)
+        cache.put("b", modelB, bytes = 40)
+        cache.release("a", modelA)
+
+        cache.maxBytes = 50
+
+        cache.getMetrics() shouldEqual RefCountedLruCache.Metrics(
+            hits = 0,
+            misses = 0,
+            evictions = 1,
+            entries = 1,
+            inUse = 1,
+            bytes = 40,
+            maxBytes = 50
+        )
+    }
+
+}
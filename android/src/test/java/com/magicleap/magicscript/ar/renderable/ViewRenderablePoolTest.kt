@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.ar.renderable
+
+import com.google.ar.sceneform.rendering.ViewRenderable
+import com.nhaarman.mockitokotlin2.mock
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class ViewRenderablePoolTest {
+
+    private val centerKey = ViewRenderablePool.Key(
+        ViewRenderable.HorizontalAlignment.CENTER,
+        ViewRenderable.VerticalAlignment.CENTER,
+        material = 1
+    )
+
+    private val leftKey = ViewRenderablePool.Key(
+        ViewRenderable.HorizontalAlignment.LEFT,
+        ViewRenderable.VerticalAlignment.CENTER,
+        material = 1
+    )
+
+    @Test
+    fun `should return null when pool is empty`() {
+        val pool = ViewRenderablePool()
+
+        pool.acquire(centerKey) shouldBe null
+    }
+
+    @Test
+    fun `should return released renderable for the same key`() {
+        val pool = ViewRenderablePool()
+        val renderable = mock<ViewRenderable>()
+        pool.release(centerKey, renderable)
+
+        pool.acquire(leftKey) shouldBe null
+        pool.acquire(centerKey) shouldBe renderable
+        pool.acquire(centerKey) shouldBe null
+    }
+
+    @Test
+    fun `should not keep more renderables than limit`() {
+        val pool = ViewRenderablePool(maxPerKey = 1)
+        repeat(2) { pool.onCreated() }
+        pool.release(centerKey, mock())
+        pool.release(centerKey, mock())
+
+        val metrics = pool.getMetrics()
+        metrics.pooled shouldEqual 1
+        metrics.alive shouldEqual 1L
+    }
+
+    @Test
+    fun `should count hit rate`() {
+        val pool = ViewRenderablePool()
+        pool.release(centerKey, mock())
+
+        pool.acquire(centerKey)
+        pool.acquire(centerKey)
+        pool.onReused()
+        pool.acquire(leftKey)
+
+        val metrics = pool.getMetrics()
+        metrics.requests shouldEqual 4L
+        metrics.hits shouldEqual 2L
+        metrics.hitRate shouldEqual 0.5f
+    }
+
+}
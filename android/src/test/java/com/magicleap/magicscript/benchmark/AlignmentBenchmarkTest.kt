@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import android.content.Context
+import android.view.View
+import androidx.test.core.app.ApplicationProvider
+import com.magicleap.magicscript.reactMapOf
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.base.UiNode
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
+import com.magicleap.magicscript.utils.Vector2
+import com.nhaarman.mockitokotlin2.mock
+import org.amshove.kluent.shouldBeGreaterThan
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Measures with [Microbenchmark] the per-frame CPU time of updating a static
+ * 500-node scene with alignment checked only after changes, compared to
+ * checking the bounding of every node periodically (previous behavior,
+ * simulated by invalidating the bounds of all nodes each frame).
+ *
+ * The number of bounding calculations is counted, so the difference
+ * is also checked deterministically.
+ */
+@RunWith(RobolectricTestRunner::class)
+class AlignmentBenchmarkTest {
+
+    companion object {
+        private const val NODES_COUNT = 500
+        private const val FRAMES = 600
+        private const val FRAME_TIME = 1 / 60f
+    }
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    private val benchmark = Microbenchmark()
+
+    @Test
+    fun `update static scene`() {
+        val nodes = List(NODES_COUNT) {
+            BoundingCountingNode(context).apply { build() }
+        }
+        // let the alignment settle
+        repeat(FRAMES) { runFrame(nodes) }
+
+        benchmark.measure("periodic alignment check, nodes: $NODES_COUNT") {
+            runFrame(nodes) { node -> node.invalidateBounds() }
+        }
+        benchmark.measure("alignment check on change, nodes: $NODES_COUNT") {
+            runFrame(nodes)
+        }
+
+        nodes.forEach { it.boundingCalculations = 0 }
+        repeat(FRAMES) { runFrame(nodes) { node -> node.invalidateBounds() } }
+        nodes.sumBy { it.boundingCalculations } shouldBeGreaterThan 0
+
+        nodes.forEach { it.boundingCalculations = 0 }
+        repeat(FRAMES) { runFrame(nodes) }
+        nodes.sumBy { it.boundingCalculations } shouldEqual 0
+    }
+
+    private fun runFrame(
+        nodes: List<BoundingCountingNode>,
+        beforeUpdate: (TransformNode) -> Unit = {}
+    ) {
+        nodes.forEach { node ->
+            beforeUpdate(node)
+            TransformNode.Test(node).forceUpdate(FRAME_TIME)
+        }
+    }
+
+    private class BoundingCountingNode(context: Context) : UiNode(
+        reactMapOf(TransformNode.PROP_ALIGNMENT, "top-left"),
+        context,
+        mock(),
+        mock(),
+        useContentNodeAlignment = true
+    ) {
+        var boundingCalculations = 0
+
+        override fun provideView(context: Context) = View(context)
+
+        override fun provideDesiredSize() = Vector2(1f, 0.5f)
+
+        override fun getContentBounding(out: MutableAABB): MutableAABB {
+            boundingCalculations++
+            return super.getContentBounding(out)
+        }
+    }
+
+}
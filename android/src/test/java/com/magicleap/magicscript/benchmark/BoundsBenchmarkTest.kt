@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import com.facebook.react.bridge.JavaOnlyMap
+import com.magicleap.magicscript.UiNodeBuilder
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.base.UiNode
+import com.magicleap.magicscript.scene.nodes.layouts.UiLinearLayout
+import com.magicleap.magicscript.scene.nodes.layouts.manager.HorizontalLinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.LinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.VerticalLinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.props.AABB
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
+import com.sun.management.ThreadMXBean
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldBeLessThan
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.lang.management.ManagementFactory
+
+/**
+ * Compares (with [Microbenchmark]) calculating node bounds with [AABB]
+ * (allocating new boxes and vectors) with calculating them in place
+ * using [MutableAABB], and checks memory allocated by a layout scene
+ * running 60 frames.
+ */
+@RunWith(RobolectricTestRunner::class)
+class BoundsBenchmarkTest {
+
+    companion object {
+        private const val CHILDREN_COUNT = 100
+        private const val FRAMES = 60
+        private const val FRAME_TIME = 1 / 60f
+    }
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    private val threadBean = ManagementFactory.getThreadMXBean() as? ThreadMXBean
+
+    private val benchmark = Microbenchmark()
+
+    @Test
+    fun `calculate bounding`() {
+        val node = createChild()
+        val out = MutableAABB()
+
+        benchmark.measure("getBounding (AABB)") {
+            node.getBounding()
+        }
+        benchmark.measure("getBounding (MutableAABB)") {
+            node.getBounding(out)
+        }
+
+        node.getBounding(out).equalInexact(node.getBounding()) shouldBe true
+    }
+
+    @Test
+    fun `allocations of scene running 60 frames`() {
+        val layout = UiLinearLayout(JavaOnlyMap(), createLayoutManager())
+        layout.build()
+        val children = List(CHILDREN_COUNT) { createChild() }
+        children.forEach { layout.addContent(it) }
+
+        // let the layout settle (measure and position the children)
+        repeat(FRAMES) {
+            TransformNode.Test(layout).forceUpdate(FRAME_TIME)
+        }
+
+        benchmark.measure("scene frame, children: $CHILDREN_COUNT") {
+            TransformNode.Test(layout).forceUpdate(FRAME_TIME)
+        }
+
+        val sceneBytes = measureAllocations {
+            repeat(FRAMES) {
+                TransformNode.Test(layout).forceUpdate(FRAME_TIME)
+            }
+        }
+
+        // previously each frame the layout measured all children with allocating bounds
+        val remeasureBytes = measureAllocations {
+            repeat(FRAMES) {
+                children.forEach { it.getBounding() }
+            }
+        }
+
+        if (sceneBytes != null && remeasureBytes != null) {
+            sceneBytes shouldBeLessThan remeasureBytes
+        }
+    }
+
+    private fun createChild(): UiNode {
+        return UiNodeBuilder(context)
+            .withSize(1f, 0.5f)
+            .withRotation(0.0, 0.0, 0.2588, 0.9659)
+            .build()
+    }
+
+    private fun createLayoutManager() =
+        LinearLayoutManager(VerticalLinearLayoutManager(), HorizontalLinearLayoutManager())
+
+    /**
+     * Runs the [block] and returns the number of bytes allocated by the current thread
+     * or null if the JVM does not support measuring allocations
+     */
+    private fun measureAllocations(block: () -> Unit): Long? {
+        val bean = threadBean
+        if (bean == null || !bean.isThreadAllocatedMemorySupported) {
+            block()
+            return null
+        }
+        bean.isThreadAllocatedMemoryEnabled = true
+        val threadId = Thread.currentThread().id
+        val start = bean.getThreadAllocatedBytes(threadId)
+        block()
+        return bean.getThreadAllocatedBytes(threadId) - start
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import com.facebook.react.bridge.JavaOnlyMap
+import com.google.ar.sceneform.math.Vector3
+import com.magicleap.magicscript.NodeBuilder
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.props.AABB
+import org.amshove.kluent.shouldBeLessOrEqualTo
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Scrolls clip bounds over a list of 1,000 rows and counts the rows
+ * that are clipped again at each step. Only the rows crossing
+ * the viewport edges should be clipped, the others are skipped or culled.
+ * The time of a scroll step is measured with [Microbenchmark].
+ */
+@RunWith(RobolectricTestRunner::class)
+class ClipBenchmarkTest {
+
+    companion object {
+        private const val ROWS_COUNT = 1_000
+        private const val VISIBLE_ROWS = 10
+        private const val SCROLL_STEP = 0.25f
+        private const val STEPS = 3_000
+
+        // a row is clipped when it enters or leaves the viewport
+        // (one row at each edge per step with some margin)
+        private const val MAX_CLIPPED_ROWS_PER_STEP = 4
+    }
+
+    private val benchmark = Microbenchmark()
+
+    @Test
+    fun `scrolling should clip only rows near viewport edges`() {
+        val list = NodeBuilder().build()
+        val rows = List(ROWS_COUNT) { index ->
+            createRow().apply { localPosition = Vector3(0f, -index.toFloat(), 0f) }
+        }
+        rows.forEach { list.addContent(it) }
+        list.clipBounds = viewport(0f)
+
+        var maxClippedRows = 0
+        for (step in 1..STEPS) {
+            rows.forEach { it.clipsCount = 0 }
+            list.clipBounds = viewport(step * SCROLL_STEP)
+            maxClippedRows = maxOf(maxClippedRows, rows.sumBy { it.clipsCount })
+        }
+        maxClippedRows shouldBeLessOrEqualTo MAX_CLIPPED_ROWS_PER_STEP
+
+        var step = 0
+        benchmark.measure("scroll clipping, rows: $ROWS_COUNT") {
+            step++
+            list.clipBounds = viewport(step * SCROLL_STEP)
+        }
+    }
+
+    private fun viewport(offset: Float): AABB {
+        val top = 0.5f - offset % (ROWS_COUNT - VISIBLE_ROWS)
+        return AABB(
+            min = Vector3(-1f, top - VISIBLE_ROWS, -1f),
+            max = Vector3(1f, top, 1f)
+        )
+    }
+
+    private fun createRow() = ClipCountingNode().apply { build() }
+
+    private class ClipCountingNode : TransformNode(JavaOnlyMap(), false) {
+        var clipsCount = 0
+
+        override var clipBounds: AABB?
+            get() = super.clipBounds
+            set(value) {
+                clipsCount++
+                super.clipBounds = value
+            }
+
+        override fun getContentBounding(): AABB {
+            return AABB(min = Vector3(-0.5f, -0.5f, 0f), max = Vector3(0.5f, 0.5f, 0f))
+        }
+    }
+
+}
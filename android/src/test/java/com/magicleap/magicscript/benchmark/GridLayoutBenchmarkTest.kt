@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import com.google.ar.sceneform.math.Vector3
+import com.magicleap.magicscript.NodeBuilder
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.base.UiBaseLayout
+import com.magicleap.magicscript.scene.nodes.layouts.LayoutUtils
+import com.magicleap.magicscript.scene.nodes.layouts.manager.GridLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.params.GridLayoutParams
+import com.magicleap.magicscript.scene.nodes.props.AABB
+import com.magicleap.magicscript.scene.nodes.props.Alignment
+import com.magicleap.magicscript.scene.nodes.props.Padding
+import com.magicleap.magicscript.shouldEqualInexact
+import com.magicleap.magicscript.utils.Vector2
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Measures a single layout pass of square grids of a growing size with
+ * [Microbenchmark]. The time per cell should stay (roughly) constant,
+ * as the pass is linear in the number of cells.
+ */
+@RunWith(RobolectricTestRunner::class)
+class GridLayoutBenchmarkTest {
+
+    companion object {
+        private val GRID_SIDES = listOf(10, 30, 100)
+
+        private const val CELL_SIZE = 1f
+        private const val PADDING = 0.25f
+    }
+
+    private val benchmark = Microbenchmark()
+
+    @Test
+    fun `grid layout`() {
+        for (side in GRID_SIDES) {
+            val children = List(side * side) { NodeBuilder().build() }
+            val params = createLayoutParams(side, children)
+            val manager = GridLayoutManager()
+            val half = CELL_SIZE / 2
+            val bounds = children.associateWith {
+                AABB(Vector3(-half, -half, 0f), Vector3(half, half, 0f))
+            }
+
+            benchmark.measure("grid layout, grid: $side x $side") {
+                manager.layoutChildren(params, children, bounds)
+            }
+
+            // positions are calculated from the current ones and the (fixed) bounds,
+            // so restore the initial positions before checking a single pass
+            children.forEach { it.localPosition = Vector3.zero() }
+            manager.layoutChildren(params, children, bounds)
+
+            // every cell is placed in its column and row
+            val cellStep = CELL_SIZE + 2 * PADDING
+            children.forEachIndexed { index, child ->
+                val column = index % side
+                val row = index / side
+                val expectedX = column * cellStep + PADDING + half
+                val expectedY = -(row * cellStep + PADDING) - half
+                child.localPosition shouldEqualInexact Vector3(expectedX, expectedY, 0f)
+            }
+        }
+    }
+
+    private fun createLayoutParams(columns: Int, children: List<TransformNode>): GridLayoutParams {
+        val padding = Padding(PADDING, PADDING, PADDING, PADDING)
+        val alignment = Alignment(Alignment.Vertical.TOP, Alignment.Horizontal.LEFT)
+        val rows = 0 // calculated from the columns
+        return GridLayoutParams(
+            columns = columns,
+            rows = rows,
+            size = Vector2(UiBaseLayout.WRAP_CONTENT_DIMENSION, UiBaseLayout.WRAP_CONTENT_DIMENSION),
+            itemsPadding = LayoutUtils.createChildrenPaddingMap(columns, rows, children, padding),
+            itemsAlignment = LayoutUtils.createChildrenAlignmentMap(columns, rows, children, alignment)
+        )
+    }
+
+}
@@ -0,0 +1,309 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import com.google.ar.sceneform.math.Vector3
+import com.magicleap.magicscript.NodeBuilder
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.base.UiBaseLayout
+import com.magicleap.magicscript.scene.nodes.layouts.LayoutUtils
+import com.magicleap.magicscript.scene.nodes.layouts.manager.GridLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.HorizontalLinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.PageViewLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.VerticalLinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.params.GridLayoutParams
+import com.magicleap.magicscript.scene.nodes.layouts.params.LayoutParams
+import com.magicleap.magicscript.scene.nodes.layouts.params.PageViewLayoutParams
+import com.magicleap.magicscript.scene.nodes.props.AABB
+import com.magicleap.magicscript.scene.nodes.props.Alignment
+import com.magicleap.magicscript.scene.nodes.props.Bounding
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
+import com.magicleap.magicscript.scene.nodes.props.Padding
+import com.magicleap.magicscript.shouldEqualInexact
+import com.magicleap.magicscript.utils.Utils
+import com.magicleap.magicscript.utils.Vector2
+import com.magicleap.magicscript.utils.isCloseTo
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import kotlin.math.abs
+import kotlin.math.max
+import kotlin.test.assertTrue
+
+/**
+ * Baseline of the layout engine: single layout passes of the layout managers
+ * and the geometry utilities, measured with [Microbenchmark] across children
+ * counts and sizes of per-child padding and alignment maps.
+ *
+ * Children are plain [TransformNode]s with fixed bounds, so only the layout
+ * math is measured. The first pass of each case is checked against the expected
+ * positions and sizes, so a benchmark can't pass with a broken layout.
+ */
+@RunWith(RobolectricTestRunner::class)
+class LayoutEngineBenchmarkTest {
+
+    companion object {
+        private val CHILDREN_COUNTS = listOf(10, 100, 1_000)
+
+        // fraction of children with own padding and alignment (instead of the defaults)
+        private val OVERRIDES_RATIOS = listOf(0.0, 0.1, 1.0)
+
+        private const val COLUMNS = 10
+
+        private val DEFAULT_PADDING = Padding(0.1f, 0.1f, 0.1f, 0.1f)
+        private val CUSTOM_PADDING = Padding(0.2f, 0f, 0.2f, 0f)
+        private val DEFAULT_ALIGNMENT = Alignment(Alignment.Vertical.TOP, Alignment.Horizontal.LEFT)
+        private val CUSTOM_ALIGNMENT =
+            Alignment(Alignment.Vertical.CENTER, Alignment.Horizontal.CENTER)
+
+        // children bounds are 1 x 0.5 and the default padding is 0.1 at each side
+        private const val CHILD_STEP_X = 1.2f
+        private const val CHILD_STEP_Y = 0.7f
+        // position of the child in its cell (aligned to the top left corner)
+        private const val CHILD_OFFSET_X = 0.6f
+        private const val CHILD_OFFSET_Y = -0.35f
+
+        private const val POSITION_TOLERANCE = 1e-4f
+    }
+
+    private val benchmark = Microbenchmark()
+
+    @Test
+    fun `vertical linear layout`() {
+        val manager = VerticalLinearLayoutManager<LayoutParams>()
+        for (count in CHILDREN_COUNTS) {
+            val children = createChildren(count)
+            val bounds = createBounds(children)
+            val params = createLinearParams(children)
+
+            manager.layoutChildren(params, children, bounds)
+            children.forEachIndexed { index, child ->
+                child.shouldBeAt(CHILD_OFFSET_X, -CHILD_STEP_Y * index + CHILD_OFFSET_Y)
+            }
+            manager.getLayoutBounds(params).size()
+                .shouldBeCloseTo(CHILD_STEP_X, CHILD_STEP_Y * count)
+
+            benchmark.measure("vertical layout, children: $count") {
+                manager.layoutChildren(params, children, bounds)
+            }
+        }
+    }
+
+    @Test
+    fun `horizontal linear layout`() {
+        val manager = HorizontalLinearLayoutManager<LayoutParams>()
+        for (count in CHILDREN_COUNTS) {
+            val children = createChildren(count)
+            val bounds = createBounds(children)
+            val params = createLinearParams(children)
+
+            manager.layoutChildren(params, children, bounds)
+            children.forEachIndexed { index, child ->
+                child.shouldBeAt(CHILD_STEP_X * index + CHILD_OFFSET_X, CHILD_OFFSET_Y)
+            }
+            manager.getLayoutBounds(params).size()
+                .shouldBeCloseTo(CHILD_STEP_X * count, CHILD_STEP_Y)
+
+            benchmark.measure("horizontal layout, children: $count") {
+                manager.layoutChildren(params, children, bounds)
+            }
+        }
+    }
+
+    @Test
+    fun `grid layout`() {
+        val manager = GridLayoutManager()
+        for (count in CHILDREN_COUNTS) {
+            val children = createChildren(count)
+            val bounds = createBounds(children)
+            val params = createGridParams(children)
+
+            manager.layoutChildren(params, children, bounds)
+            children.forEachIndexed { index, child ->
+                val column = index % COLUMNS
+                val row = index / COLUMNS
+                child.shouldBeAt(
+                    CHILD_STEP_X * column + CHILD_OFFSET_X,
+                    -CHILD_STEP_Y * row + CHILD_OFFSET_Y
+                )
+            }
+            manager.getLayoutBounds(params).size()
+                .shouldBeCloseTo(CHILD_STEP_X * COLUMNS, CHILD_STEP_Y * (count / COLUMNS))
+
+            benchmark.measure("grid layout, children: $count, columns: $COLUMNS") {
+                manager.layoutChildren(params, children, bounds)
+            }
+        }
+    }
+
+    @Test
+    fun `page view layout`() {
+        val manager = PageViewLayoutManager()
+        for (count in CHILDREN_COUNTS) {
+            val children = createChildren(count)
+            val bounds = createBounds(children)
+            val visiblePage = count / 2
+            val params = PageViewLayoutParams(
+                visiblePage = visiblePage,
+                size = Vector2(UiBaseLayout.WRAP_CONTENT_DIMENSION, UiBaseLayout.WRAP_CONTENT_DIMENSION),
+                itemsPadding = LayoutUtils.createChildrenPaddingMap(children, DEFAULT_PADDING),
+                itemsAlignment = LayoutUtils.createChildrenAlignmentMap(children, DEFAULT_ALIGNMENT)
+            )
+
+            manager.layoutChildren(params, children, bounds)
+            children.filter { it.isVisible } shouldEqual listOf(children[visiblePage])
+            children[visiblePage].shouldBeAt(CHILD_OFFSET_X, CHILD_OFFSET_Y)
+
+            benchmark.measure("page view layout, pages: $count") {
+                manager.layoutChildren(params, children, bounds)
+            }
+        }
+    }
+
+    @Test
+    fun `layout params maps`() {
+        for (count in CHILDREN_COUNTS) {
+            val children = createChildren(count)
+            val rows = 0 // calculated from the columns
+            for (ratio in OVERRIDES_RATIOS) {
+                val overrides = (count * ratio).toInt()
+                val paddings = (0 until overrides).associate { it to CUSTOM_PADDING }
+                val alignments = (0 until overrides).associate { it to CUSTOM_ALIGNMENT }
+                val gridPaddings = (0 until overrides).associate {
+                    Pair(it % COLUMNS, it / COLUMNS) to CUSTOM_PADDING
+                }
+                val label = "children: $count, overrides: $overrides"
+
+                val paddingMap =
+                    LayoutUtils.createChildrenPaddingMap(children, DEFAULT_PADDING, paddings)
+                val alignmentMap =
+                    LayoutUtils.createChildrenAlignmentMap(children, DEFAULT_ALIGNMENT, alignments)
+                val gridPaddingMap = LayoutUtils.createChildrenPaddingMap(
+                    COLUMNS, rows, children, DEFAULT_PADDING, gridPaddings
+                )
+                paddingMap.size shouldEqual count
+                paddingMap.values.count { it == CUSTOM_PADDING } shouldEqual overrides
+                alignmentMap.size shouldEqual count
+                alignmentMap.values.count { it == CUSTOM_ALIGNMENT } shouldEqual overrides
+                gridPaddingMap shouldEqual paddingMap
+
+                benchmark.measure("padding map, $label") {
+                    LayoutUtils.createChildrenPaddingMap(children, DEFAULT_PADDING, paddings)
+                }
+                benchmark.measure("alignment map, $label") {
+                    LayoutUtils.createChildrenAlignmentMap(children, DEFAULT_ALIGNMENT, alignments)
+                }
+                benchmark.measure("grid padding map, $label") {
+                    LayoutUtils.createChildrenPaddingMap(
+                        COLUMNS, rows, children, DEFAULT_PADDING, gridPaddings
+                    )
+                }
+            }
+        }
+    }
+
+    @Test
+    fun `geometry utilities`() {
+        for (count in CHILDREN_COUNTS) {
+            val children = createChildren(count)
+            val points = List(count) { Vector3(it.toFloat(), -it.toFloat(), it % 3f) }
+
+            val last = (count - 1).toFloat()
+            Utils.findMinimumBounding(points) shouldEqual
+                    AABB(Vector3(0f, -last, 0f), Vector3(last, 0f, 2f))
+
+            benchmark.measure("calculateSumBounds, nodes: $count") {
+                Utils.calculateSumBounds(children)
+            }
+            benchmark.measure("findMinimumBounding, points: $count") {
+                Utils.findMinimumBounding(points)
+            }
+        }
+
+        val nodeBounds = AABB(Vector3(-1f, -1f, 0f), Vector3(1f, 1f, 0f))
+        val clipBounds = AABB(Vector3(-0.5f, -2f, -1f), Vector3(2f, 0.25f, 1f))
+        val mutableBounds = MutableAABB()
+        val clipping = Bounding()
+        val expectedClipping = Utils.calculateMaterialClipping(nodeBounds, clipBounds)
+        Utils.calculateMaterialClipping(mutableBounds.set(nodeBounds), clipBounds, clipping)
+        // the node is clipped by a quarter of its width on the left
+        expectedClipping.left shouldEqualInexact -0.25f
+        clipping shouldEqualInexact expectedClipping
+
+        benchmark.measure("calculateMaterialClipping") {
+            Utils.calculateMaterialClipping(nodeBounds, clipBounds)
+        }
+        benchmark.measure("calculateMaterialClipping (in place)") {
+            Utils.calculateMaterialClipping(mutableBounds.set(nodeBounds), clipBounds, clipping)
+        }
+    }
+
+    // children at the origin, so their bounds are the same as in [createBounds]
+    private fun createChildren(count: Int): List<TransformNode> {
+        return List(count) { NodeBuilder().build() }
+    }
+
+    private fun createBounds(children: List<TransformNode>): Map<TransformNode, AABB> {
+        return children.associateWith {
+            AABB(Vector3(-0.5f, -0.25f, 0f), Vector3(0.5f, 0.25f, 0f))
+        }
+    }
+
+    private fun createLinearParams(children: List<TransformNode>): LayoutParams {
+        return LayoutParams(
+            size = Vector2(UiBaseLayout.WRAP_CONTENT_DIMENSION, UiBaseLayout.WRAP_CONTENT_DIMENSION),
+            itemsPadding = LayoutUtils.createChildrenPaddingMap(children, DEFAULT_PADDING),
+            itemsAlignment = LayoutUtils.createChildrenAlignmentMap(children, DEFAULT_ALIGNMENT)
+        )
+    }
+
+    private fun createGridParams(children: List<TransformNode>): GridLayoutParams {
+        val rows = 0 // calculated from the columns
+        return GridLayoutParams(
+            columns = COLUMNS,
+            rows = rows,
+            size = Vector2(UiBaseLayout.WRAP_CONTENT_DIMENSION, UiBaseLayout.WRAP_CONTENT_DIMENSION),
+            itemsPadding = LayoutUtils.createChildrenPaddingMap(
+                COLUMNS, rows, children, DEFAULT_PADDING
+            ),
+            itemsAlignment = LayoutUtils.createChildrenAlignmentMap(
+                COLUMNS, rows, children, DEFAULT_ALIGNMENT
+            )
+        )
+    }
+
+
+    // float sums of many children are not exact, so the tolerance grows with the distance
+    private fun TransformNode.shouldBeAt(x: Float, y: Float) {
+        val tolerance = POSITION_TOLERANCE * max(1f, max(abs(x), abs(y)))
+        val position = localPosition
+        assertTrue(
+            position.x.isCloseTo(x, tolerance) && position.y.isCloseTo(y, tolerance),
+            "expected: ($x, $y), but was: $position"
+        )
+    }
+
+    private fun Vector3.shouldBeCloseTo(width: Float, height: Float) {
+        val tolerance = POSITION_TOLERANCE * max(1f, max(width, height))
+        assertTrue(
+            x.isCloseTo(width, tolerance) && y.isCloseTo(height, tolerance),
+            "expected size: ($width, $height), but was: $this"
+        )
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import com.google.ar.sceneform.math.Vector3
+import com.magicleap.magicscript.NodeBuilder
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.layouts.LayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.LayoutUtils
+import com.magicleap.magicscript.scene.nodes.layouts.manager.HorizontalLinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.VerticalLinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.params.LayoutParams
+import com.magicleap.magicscript.scene.nodes.props.AABB
+import com.magicleap.magicscript.scene.nodes.props.Alignment
+import com.magicleap.magicscript.scene.nodes.props.Padding
+import com.magicleap.magicscript.shouldEqualInexact
+import com.magicleap.magicscript.utils.Vector2
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Measures a single layout pass of the linear layout managers for
+ * a growing number of children with [Microbenchmark]. The time per child
+ * should stay (roughly) constant, as the pass is linear in the number of children.
+ */
+@RunWith(RobolectricTestRunner::class)
+class LinearLayoutBenchmarkTest {
+
+    companion object {
+        private val CHILDREN_COUNTS = listOf(10, 100, 1_000, 10_000)
+
+        // values exactly representable as floats, so positions can be compared
+        private const val CHILD_SIZE = 1f
+        private const val PADDING = 0.25f
+        private const val CHILD_STEP = CHILD_SIZE + 2 * PADDING
+    }
+
+    private val benchmark = Microbenchmark()
+
+    @Test
+    fun `vertical layout`() {
+        for (count in CHILDREN_COUNTS) {
+            val children = createChildren(count)
+            val manager = VerticalLinearLayoutManager<LayoutParams>()
+
+            measure("vertical layout", children, manager)
+
+            children.forEachIndexed { index, child ->
+                val expectedY = -(index * CHILD_STEP + PADDING) - CHILD_SIZE / 2
+                child.localPosition shouldEqualInexact Vector3(0.75f, expectedY, 0f)
+            }
+        }
+    }
+
+    @Test
+    fun `horizontal layout`() {
+        for (count in CHILDREN_COUNTS) {
+            val children = createChildren(count)
+            val manager = HorizontalLinearLayoutManager<LayoutParams>()
+
+            measure("horizontal layout", children, manager)
+
+            children.forEachIndexed { index, child ->
+                val expectedX = index * CHILD_STEP + PADDING + CHILD_SIZE / 2
+                child.localPosition shouldEqualInexact Vector3(expectedX, -0.75f, 0f)
+            }
+        }
+    }
+
+    private fun createChildren(count: Int): List<TransformNode> {
+        return List(count) { NodeBuilder().build() }
+    }
+
+    private fun createLayoutParams(children: List<TransformNode>): LayoutParams {
+        val padding = Padding(PADDING, PADDING, PADDING, PADDING)
+        val alignment = Alignment(Alignment.Vertical.TOP, Alignment.Horizontal.LEFT)
+        return LayoutParams(
+            size = Vector2(children.size * 2f, children.size * 2f),
+            itemsPadding = LayoutUtils.createChildrenPaddingMap(children, padding),
+            itemsAlignment = LayoutUtils.createChildrenAlignmentMap(children, alignment)
+        )
+    }
+
+    /**
+     * Measures the layout pass of the [children] and then lays them out
+     * once more from the initial positions, so the caller can check the result
+     * (positions are calculated from the current ones and the fixed bounds)
+     */
+    private fun measure(
+        label: String,
+        children: List<TransformNode>,
+        manager: LayoutManager<LayoutParams>
+    ) {
+        val params = createLayoutParams(children)
+        val half = CHILD_SIZE / 2
+        val bounds = children.associateWith {
+            AABB(Vector3(-half, -half, 0f), Vector3(half, half, 0f))
+        }
+
+        benchmark.measure("$label, children: ${children.size}") {
+            manager.layoutChildren(params, children, bounds)
+        }
+
+        children.forEach { it.localPosition = Vector3.zero() }
+        manager.layoutChildren(params, children, bounds)
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import kotlin.math.sqrt
+
+/**
+ * Minimal microbenchmark harness (in the spirit of JMH) for code that can run
+ * on the JVM test classpath.
+ *
+ * The operation is first warmed up while calibrating the number of operations
+ * per iteration, so a single iteration takes at least [minIterationTimeMs].
+ * Then the measured iterations report the average time per operation,
+ * its standard deviation and the best iteration. Results of the operation
+ * are consumed, so the JIT cannot eliminate the measured code.
+ */
+class Microbenchmark(
+    private val warmupIterations: Int = 3,
+    private val iterations: Int = 5,
+    private val minIterationTimeMs: Long = 5
+) {
+
+    // consumes the operation results
+    private var sink: Any? = null
+    private var consumed = 0L
+
+    fun measure(label: String, operation: () -> Any?): Result {
+        val minIterationNanos = minIterationTimeMs * 1_000_000
+        var operations = 1
+        repeat(warmupIterations) {
+            while (runIteration(operations, operation) < minIterationNanos) {
+                operations *= 2
+            }
+        }
+
+        val timesPerOperation = DoubleArray(iterations) {
+            runIteration(operations, operation).toDouble() / operations
+        }
+
+        val mean = timesPerOperation.average()
+        val variance = timesPerOperation.map { (it - mean) * (it - mean) }.average()
+        return Result(
+            label = label,
+            operationsPerIteration = operations,
+            nanosPerOperation = mean,
+            deviation = sqrt(variance),
+            bestNanosPerOperation = timesPerOperation.fold(mean) { best, time -> minOf(best, time) }
+        ).also {
+            println(it)
+        }
+    }
+
+    private fun runIteration(operations: Int, operation: () -> Any?): Long {
+        val start = System.nanoTime()
+        for (i in 0 until operations) {
+            val result = operation()
+            if (result !== sink) {
+                sink = result
+                consumed++
+            }
+        }
+        return System.nanoTime() - start
+    }
+
+    data class Result(
+        val label: String,
+        val operationsPerIteration: Int,
+        val nanosPerOperation: Double,
+        val deviation: Double,
+        val bestNanosPerOperation: Double
+    ) {
+        override fun toString(): String {
+            return "[$label] %.1f ± %.1f ns/op (best: %.1f ns/op, ops per iteration: %d)".format(
+                nanosPerOperation, deviation, bestNanosPerOperation, operationsPerIteration
+            )
+        }
+    }
+
+}
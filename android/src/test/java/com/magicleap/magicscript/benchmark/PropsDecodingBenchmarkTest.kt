@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import com.facebook.react.bridge.Arguments
+import com.facebook.react.bridge.JavaOnlyMap
+import com.magicleap.magicscript.localPosition
+import com.magicleap.magicscript.localRotation
+import com.magicleap.magicscript.localScale
+import com.magicleap.magicscript.reactArrayOf
+import com.magicleap.magicscript.reactMapOf
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.props.TransformProps
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Compares (with [Microbenchmark]) decoding the transform properties
+ * from a Bundle (the previous main thread path: [Arguments.toBundle] + boxed lists)
+ * with [TransformProps.fromMap] used by [com.magicleap.magicscript.scene.nodes.props.NodeProps],
+ * which reads them directly from the ReadableMap into primitive floats.
+ */
+@RunWith(RobolectricTestRunner::class)
+class PropsDecodingBenchmarkTest {
+
+    private val benchmark = Microbenchmark()
+
+    @Test
+    fun `decode position rotation and scale`() {
+        val props = reactMapOf()
+            .localPosition(1.0, 2.0, 3.0)
+            .localRotation(0.0, 0.7071, 0.0, 0.7071)
+            .localScale(2.0, 2.0, 2.0)
+
+        measureDecoding("position, rotation, scale", props)
+    }
+
+    @Test
+    fun `decode transform matrix`() {
+        val matrix = Array<Any>(16) { if (it % 5 == 0) 1.0 else 0.0 }
+        val props = reactMapOf(TransformNode.PROP_LOCAL_TRANSFORM, reactArrayOf(*matrix))
+
+        measureDecoding("matrix", props)
+    }
+
+    private fun measureDecoding(label: String, props: JavaOnlyMap) {
+        val fromBundle = { TransformProps.fromBundle(Arguments.toBundle(props)!!) }
+        val fromMap = { TransformProps.fromMap(props) }
+
+        benchmark.measure("TransformProps $label (bundle)", fromBundle)
+        benchmark.measure("TransformProps $label (map)", fromMap)
+
+        fromMap() shouldEqual fromBundle()
+    }
+
+}
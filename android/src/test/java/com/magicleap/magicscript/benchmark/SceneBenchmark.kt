@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import com.google.ar.sceneform.Node
+import com.magicleap.magicscript.forceUpdate
+import com.magicleap.magicscript.scene.NodesProfiler
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.sun.management.ThreadMXBean
+import java.lang.management.ManagementFactory
+
+/**
+ * Drives a [SceneFixture] frame by frame the way Sceneform does (each node
+ * of the scene tree is updated on a frame tick) and measures the frames.
+ *
+ * Layout passes are counted with [NodesProfiler], which is enabled while running.
+ * Renderables requested in a frame are delivered at the beginning of the next one.
+ */
+class SceneBenchmark(private val fixture: SceneFixture) {
+
+    companion object {
+        const val FRAME_TIME = 1 / 60f
+    }
+
+    private val threadBean = ManagementFactory.getThreadMXBean() as? ThreadMXBean
+
+    // reused between frames, so collecting the nodes does not allocate
+    private val frameNodes = ArrayList<TransformNode>()
+
+    /**
+     * Runs [frames] frames and returns the measured costs
+     *
+     * @param beforeFrame called with the frame index before each frame
+     * (e.g. to scroll the scene)
+     */
+    fun run(label: String, frames: Int, beforeFrame: (frame: Int) -> Unit = {}): Result {
+        val profilingEnabled = NodesProfiler.isEnabled
+        NodesProfiler.reset()
+        NodesProfiler.isEnabled = true
+
+        val bean = threadBean?.takeIf { it.isThreadAllocatedMemorySupported }
+        bean?.isThreadAllocatedMemoryEnabled = true
+        val threadId = Thread.currentThread().id
+        val startBytes = bean?.getThreadAllocatedBytes(threadId) ?: 0
+        val startRequests = fixture.renderableLoader.requests
+        val start = System.nanoTime()
+
+        repeat(frames) { index ->
+            beforeFrame(index)
+            frame()
+        }
+
+        val elapsed = System.nanoTime() - start
+        val allocated = bean?.let { it.getThreadAllocatedBytes(threadId) - startBytes }
+        val layoutPasses = NodesProfiler.getMetrics().nodes.values
+            .map { it[NodesProfiler.Metric.LAYOUT]?.count ?: 0L }
+            .sum()
+        NodesProfiler.isEnabled = profilingEnabled
+
+        return Result(
+            label = "${fixture.name}, $label",
+            frames = frames,
+            nanosPerFrame = elapsed / frames,
+            bytesPerFrame = allocated?.let { it / frames },
+            layoutPasses = layoutPasses,
+            renderableRequests = fixture.renderableLoader.requests - startRequests
+        ).also {
+            println(it)
+        }
+    }
+
+    /**
+     * Updates all nodes attached to the scene tree (parents before children)
+     */
+    private fun frame() {
+        fixture.renderableLoader.completeRequests()
+        frameNodes.clear()
+        collectNodes(fixture.root)
+        for (i in frameNodes.indices) {
+            frameNodes[i].forceUpdate(FRAME_TIME)
+        }
+    }
+
+    private fun collectNodes(node: Node) {
+        if (node is TransformNode) {
+            frameNodes.add(node)
+        }
+        val children = node.children
+        for (i in children.indices) {
+            collectNodes(children[i])
+        }
+    }
+
+    /**
+     * @param bytesPerFrame allocated bytes per frame or null if the JVM
+     * does not support measuring allocations
+     * @param layoutPasses number of layout passes of all layouts in the scene
+     * @param renderableRequests number of view renderables requested during the run
+     */
+    data class Result(
+        val label: String,
+        val frames: Int,
+        val nanosPerFrame: Long,
+        val bytesPerFrame: Long?,
+        val layoutPasses: Long,
+        val renderableRequests: Long
+    ) {
+        override fun toString(): String {
+            val allocations = bytesPerFrame?.let { "$it B" } ?: "not supported"
+            return "[$label] frames: $frames, per frame: $nanosPerFrame ns, " +
+                    "allocations per frame: $allocations, layout passes: $layoutPasses, " +
+                    "renderable requests: $renderableRequests"
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import com.magicleap.magicscript.reactMapOf
+import com.magicleap.magicscript.scene.NodesProfiler
+import com.magicleap.magicscript.scene.nodes.UiScrollViewNode
+import org.amshove.kluent.shouldBeGreaterThan
+import org.amshove.kluent.shouldBeLessOrEqualTo
+import org.amshove.kluent.shouldBeLessThan
+import org.amshove.kluent.shouldEqual
+import org.amshove.kluent.shouldNotBe
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Runs synthetic scenes (see [SceneFixture]) for a number of frames and reports
+ * time and allocations per frame and the number of layout passes.
+ *
+ * Each scene first settles (children are measured and positioned, renderables
+ * are loaded), then it's measured in the steady state, when a static scene should not
+ * lay out the children more than while settling, nor request new renderables.
+ */
+@RunWith(RobolectricTestRunner::class)
+class SceneBenchmarkTest {
+
+    companion object {
+        private const val SETTLE_FRAMES = 30
+        private const val FRAMES = 120
+        private const val LIST_ITEMS = 500
+    }
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    @After
+    fun tearDown() {
+        NodesProfiler.reset()
+    }
+
+    @Test
+    fun `deep tree`() {
+        runScene(SceneFixture.deepTree(context, depth = 30))
+    }
+
+    @Test
+    fun `wide grid`() {
+        runScene(SceneFixture.wideGrid(context, columns = 20, rows = 20))
+    }
+
+    @Test
+    fun `long list`() {
+        runScene(SceneFixture.longList(context, LIST_ITEMS, virtualized = false))
+    }
+
+    @Test
+    fun `long virtualized list`() {
+        val fixture = SceneFixture.longList(context, LIST_ITEMS, virtualized = true)
+        runScene(fixture)
+        val loader = fixture.renderableLoader
+        val settledLiveRequests = loader.liveRequests
+        settledLiveRequests shouldBeLessThan LIST_ITEMS.toLong()
+
+        var maxLiveRequests = 0L
+        val scrolling = SceneBenchmark(fixture).run("scrolling", FRAMES) { frame ->
+            val scrollValue = frame.toDouble() / (FRAMES - 1)
+            fixture.root.update(reactMapOf(UiScrollViewNode.PROP_SCROLL_VALUE, scrollValue))
+            maxLiveRequests = maxOf(maxLiveRequests, loader.liveRequests)
+        }
+
+        // rows scrolled into view are bound, the ones scrolled out are released
+        scrolling.renderableRequests shouldBeGreaterThan 0L
+        // overscan is added at both sides of the viewport when it's not at the list start
+        maxLiveRequests shouldBeLessOrEqualTo 2 * settledLiveRequests
+    }
+
+    @Test
+    fun `heavy text`() {
+        runScene(SceneFixture.heavyText(context, textsCount = 100, wordsCount = 200))
+    }
+
+    private fun runScene(fixture: SceneFixture): SceneBenchmark.Result {
+        fixture.nodesManager.findNodeWithId("root") shouldNotBe null
+
+        val benchmark = SceneBenchmark(fixture)
+        val settling = benchmark.run("settling", SETTLE_FRAMES)
+        val steady = benchmark.run("steady", FRAMES)
+
+        steady.renderableRequests shouldEqual 0L
+        steady.layoutPasses shouldBeLessOrEqualTo settling.layoutPasses
+        return steady
+    }
+
+}
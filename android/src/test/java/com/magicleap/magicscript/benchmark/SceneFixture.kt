@@ -0,0 +1,195 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import android.content.Context
+import android.graphics.Typeface
+import com.facebook.react.bridge.JavaOnlyMap
+import com.magicleap.magicscript.ar.clip.TextureClipper
+import com.magicleap.magicscript.ar.clip.UiNodeClipper
+import com.magicleap.magicscript.ar.clip.UiNodeColliderClipper
+import com.magicleap.magicscript.ar.renderable.RecycledViewPool
+import com.magicleap.magicscript.boundsSize
+import com.magicleap.magicscript.columns
+import com.magicleap.magicscript.font.FontProvider
+import com.magicleap.magicscript.font.FontStyle
+import com.magicleap.magicscript.font.FontWeight
+import com.magicleap.magicscript.height
+import com.magicleap.magicscript.reactMapOf
+import com.magicleap.magicscript.scene.UiNodesManager
+import com.magicleap.magicscript.scene.nodes.UiListViewItemNode
+import com.magicleap.magicscript.scene.nodes.UiListViewNode
+import com.magicleap.magicscript.scene.nodes.UiTextNode
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.base.UiNode
+import com.magicleap.magicscript.scene.nodes.layouts.UiGridLayout
+import com.magicleap.magicscript.scene.nodes.layouts.UiLinearLayout
+import com.magicleap.magicscript.scene.nodes.layouts.manager.GridLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.HorizontalLinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.LinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.VerticalLinearLayoutManager
+import com.magicleap.magicscript.text
+import com.magicleap.magicscript.width
+import java.util.*
+
+/**
+ * Synthetic scene mounted through [UiNodesManager] the same way as scenes
+ * created from JS (build, register, add to parent), using [StubViewRenderableLoader].
+ *
+ * Scenes are deterministic: the same factory parameters give the same scene,
+ * so the benchmark results can be compared between runs.
+ */
+class SceneFixture private constructor(val name: String, private val context: Context) {
+
+    companion object {
+        private const val ROOT_ID = "root"
+        private const val TEXT_SEED = 42L
+
+        private val WORDS = listOf(
+            "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit",
+            "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore"
+        )
+
+        /**
+         * Vertical layouts nested [depth] times, each one containing a text label
+         * and the next layout
+         */
+        fun deepTree(context: Context, depth: Int): SceneFixture {
+            return SceneFixture("deep tree, depth: $depth", context).apply {
+                var parentId = addNode(createLinearLayout(), null)
+                repeat(depth) { level ->
+                    addNode(createText("level $level"), parentId)
+                    parentId = addNode(createLinearLayout(), parentId)
+                }
+            }
+        }
+
+        /**
+         * Grid layout with [columns] x [rows] text cells
+         */
+        fun wideGrid(context: Context, columns: Int, rows: Int): SceneFixture {
+            return SceneFixture("wide grid, $columns x $rows", context).apply {
+                val gridId = addNode(createGridLayout(columns), null)
+                repeat(columns * rows) { index ->
+                    addNode(createText("cell $index"), gridId)
+                }
+            }
+        }
+
+        /**
+         * List view with [itemsCount] items, each one containing a text
+         */
+        fun longList(context: Context, itemsCount: Int, virtualized: Boolean): SceneFixture {
+            val name = "long list, items: $itemsCount, virtualized: $virtualized"
+            return SceneFixture(name, context).apply {
+                val listId = addNode(createListView(virtualized), null)
+                repeat(itemsCount) { index ->
+                    val itemId = addNode(createListItem(), listId)
+                    addNode(createText("item $index"), itemId)
+                }
+            }
+        }
+
+        /**
+         * Vertical layout with [textsCount] wrapped texts of [wordsCount] words each
+         */
+        fun heavyText(context: Context, textsCount: Int, wordsCount: Int): SceneFixture {
+            val name = "heavy text, texts: $textsCount, words: $wordsCount"
+            return SceneFixture(name, context).apply {
+                val random = Random(TEXT_SEED)
+                val layoutId = addNode(createLinearLayout(), null)
+                repeat(textsCount) {
+                    val text = List(wordsCount) { WORDS[random.nextInt(WORDS.size)] }
+                        .joinToString(" ")
+                    addNode(createText(text, wrapWidth = 1.0), layoutId)
+                }
+            }
+        }
+    }
+
+    val nodesManager = UiNodesManager()
+
+    val renderableLoader = StubViewRenderableLoader()
+
+    val viewPool = RecycledViewPool()
+
+    lateinit var root: TransformNode
+        private set
+
+    var nodesCount = 0
+        private set
+
+    private val clipper = UiNodeClipper(TextureClipper(), UiNodeColliderClipper())
+
+    private val fontProvider = object : FontProvider {
+        override fun provideFont(fontStyle: FontStyle?, fontWeight: FontWeight?): Typeface {
+            return Typeface.DEFAULT
+        }
+    }
+
+    override fun toString() = name
+
+    /**
+     * Builds and registers the [node] and adds it to the node with [parentId]
+     * (or makes it the root when [parentId] is null); returns the node id
+     */
+    private fun addNode(node: TransformNode, parentId: String?): String {
+        val nodeId = if (parentId == null) ROOT_ID else "node$nodesCount"
+        if (node is UiNode) {
+            node.viewPool = viewPool
+        }
+        node.build()
+        nodesManager.registerNode(node, nodeId)
+        if (parentId == null) {
+            root = node
+        } else {
+            nodesManager.addNodeToParent(nodeId, parentId)
+        }
+        nodesCount++
+        return nodeId
+    }
+
+    private fun createLinearLayout(): UiLinearLayout {
+        val layoutManager =
+            LinearLayoutManager(VerticalLinearLayoutManager(), HorizontalLinearLayoutManager())
+        return UiLinearLayout(JavaOnlyMap(), layoutManager)
+    }
+
+    private fun createGridLayout(columns: Int): UiGridLayout {
+        return UiGridLayout(reactMapOf().columns(columns), GridLayoutManager())
+    }
+
+    private fun createListView(virtualized: Boolean): UiListViewNode {
+        val props = reactMapOf(UiListViewNode.PROP_VIRTUALIZED, virtualized)
+            .width(1.0)
+            .height(1.0)
+        return UiListViewNode(props, context, renderableLoader, clipper)
+    }
+
+    private fun createListItem(): UiListViewItemNode {
+        return UiListViewItemNode(JavaOnlyMap(), context, renderableLoader, clipper)
+    }
+
+    private fun createText(text: String, wrapWidth: Double? = null): UiTextNode {
+        val props = reactMapOf().text(text)
+        if (wrapWidth != null) {
+            props.boundsSize(wrapWidth, 0.0, true)
+        }
+        return UiTextNode(props, context, renderableLoader, clipper, fontProvider)
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import androidx.test.core.app.ApplicationProvider
+import com.facebook.react.bridge.JavaOnlyArray
+import com.facebook.react.bridge.ReactApplicationContext
+import com.magicleap.magicscript.ARComponentManager
+import com.magicleap.magicscript.EventsManager
+import com.magicleap.magicscript.TestAppInfoProvider
+import com.magicleap.magicscript.ar.ArResourcesProvider
+import com.magicleap.magicscript.createCameraInfo
+import com.magicleap.magicscript.reactMapOf
+import com.magicleap.magicscript.scene.UiNodesManager
+import com.magicleap.magicscript.text
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.whenever
+import org.amshove.kluent.shouldBeGreaterThan
+import org.amshove.kluent.shouldEqual
+import org.amshove.kluent.shouldNotBe
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.shadows.ShadowLooper
+
+/**
+ * Compares mounting a panel with the per-call bridge methods
+ * and with a single [ARComponentManager.applyMutations] commit.
+ *
+ * Each path is measured with [Microbenchmark] (bridge calls and draining
+ * the main looper messages needed to apply them) and by the number of
+ * main looper passes needed to apply it. Mounting again replaces
+ * the nodes registered with the same ids, so every run ends with the same panel.
+ */
+@RunWith(RobolectricTestRunner::class)
+class SceneMutationsBenchmarkTest {
+
+    companion object {
+        private const val NODES_COUNT = 300
+        private const val ROOT_ID = "root"
+        private const val MIN_FRAME_BUDGET_MS = 1e-6
+    }
+
+    // a single mount per iteration, it takes much longer than the minimum iteration time
+    private val benchmark = Microbenchmark(warmupIterations = 1, minIterationTimeMs = 0)
+
+    private lateinit var manager: ARComponentManager
+    private lateinit var nodesManager: UiNodesManager
+
+    @Before
+    fun setUp() {
+        val arResourcesProvider = mock<ArResourcesProvider>()
+        // we have to prevent renderable loading in tests, because ARCore is not initialized
+        whenever(arResourcesProvider.isArLoaded()).thenReturn(false)
+        whenever(arResourcesProvider.getCameraInfo()).thenReturn(createCameraInfo())
+
+        val context = ReactApplicationContext(ApplicationProvider.getApplicationContext())
+        val eventsManager = mock<EventsManager>()
+        nodesManager = UiNodesManager()
+        manager = ARComponentManager(
+            context,
+            nodesManager,
+            eventsManager,
+            mock(),
+            arResourcesProvider,
+            TestAppInfoProvider()
+        )
+        ShadowLooper.pauseMainLooper()
+    }
+
+    @After
+    fun tearDown() {
+        ShadowLooper.unPauseMainLooper()
+    }
+
+    @Test
+    fun `per call mount of a panel`() {
+        benchmark.measure("per call mount, nodes: $NODES_COUNT") {
+            mountPerCall()
+            drainMainLooper()
+        }
+
+        assertPanelMounted()
+    }
+
+    @Test
+    fun `batched mount of a panel`() {
+        val ops = createMountMutations()
+        benchmark.measure("batched mount, nodes: $NODES_COUNT") {
+            manager.applyMutations(ops)
+            drainMainLooper()
+        }
+
+        assertPanelMounted()
+    }
+
+    @Test
+    fun `batched mount should be applied in one pass unlike per call mount`() {
+        // budget that fits a single work item, so each pass is one main looper message
+        manager.setFrameBudget(MIN_FRAME_BUDGET_MS)
+
+        mountPerCall()
+        val perCallMessages = drainMainLooper()
+        assertPanelMounted()
+
+        manager.applyMutations(createMountMutations())
+        val batchedMessages = drainMainLooper()
+        assertPanelMounted()
+
+        // (almost) every bridge call is applied in its own pass
+        perCallMessages shouldBeGreaterThan NODES_COUNT
+        batchedMessages shouldEqual 1
+    }
+
+    /**
+     * Mounts the panel with the per-call bridge methods
+     * (4 calls per node: create, add, update and subscribe)
+     */
+    private fun mountPerCall() {
+        manager.createGroupNode(reactMapOf(), ROOT_ID)
+        for (i in 1 until NODES_COUNT) {
+            val nodeId = i.toString()
+            manager.createTextNode(reactMapOf(), nodeId)
+            manager.addChildNode(nodeId, ROOT_ID)
+            manager.updateNode(nodeId, reactMapOf().text("item $i"))
+            manager.addOnActivateEventHandler(nodeId)
+        }
+    }
+
+    private fun createMountMutations(): JavaOnlyArray {
+        val ops = JavaOnlyArray()
+        ops.pushMap(reactMapOf("op", "create", "type", "view", "nodeId", ROOT_ID))
+        for (i in 1 until NODES_COUNT) {
+            val nodeId = i.toString()
+            ops.pushMap(reactMapOf("op", "create", "type", "text", "nodeId", nodeId))
+            ops.pushMap(reactMapOf("op", "add", "nodeId", nodeId, "parentId", ROOT_ID))
+            ops.pushMap(
+                reactMapOf(
+                    "op", "update",
+                    "nodeId", nodeId,
+                    "props", reactMapOf().text("item $i")
+                )
+            )
+            ops.pushMap(reactMapOf("op", "subscribe", "nodeId", nodeId, "event", "onActivate"))
+        }
+        return ops
+    }
+
+    /**
+     * Runs the main looper until it's empty; returns the number of executed messages
+     */
+    private fun drainMainLooper(): Int {
+        val scheduler = Robolectric.getForegroundThreadScheduler()
+        var messages = 0
+        // work that does not fit in a frame budget is re-posted, so run until empty
+        while (scheduler.size() > 0) {
+            scheduler.runOneTask()
+            messages++
+        }
+        return messages
+    }
+
+    private fun assertPanelMounted() {
+        val root = nodesManager.findNodeWithId(ROOT_ID)
+        root shouldNotBe null
+        root!!.reactChildren.size shouldEqual NODES_COUNT - 1
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.benchmark
+
+import com.google.ar.sceneform.rendering.Material
+import com.google.ar.sceneform.rendering.RenderableInstance
+import com.google.ar.sceneform.rendering.ViewRenderable
+import com.google.ar.sceneform.utilities.ChangeId
+import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader
+import com.magicleap.magicscript.ar.renderable.ViewRenderablePool
+import com.magicleap.magicscript.utils.DataResult
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.whenever
+
+/**
+ * Loader that completes the requests with stub renderables (ARCore is not available
+ * on the JVM), so the nodes are rebuilt and clipped like on a device.
+ *
+ * Requests are completed on [completeRequests], like the real loader does
+ * in a next main thread message. Released renderables are reused by next requests.
+ */
+class StubViewRenderableLoader : ViewRenderableLoader {
+
+    var requests = 0L
+        private set
+
+    /**
+     * Number of renderables used by nodes or being loaded for them
+     */
+    var liveRequests = 0L
+        private set
+
+    private val pendingRequests = LinkedHashSet<ViewRenderableLoader.LoadRequest>()
+    private val releasedRenderables = ArrayList<ViewRenderable>()
+
+    private var hits = 0L
+    private var created = 0L
+
+    override fun loadRenderable(request: ViewRenderableLoader.LoadRequest) {
+        requests++
+        if (request.reuse == null) {
+            liveRequests++
+        }
+        pendingRequests.add(request)
+    }
+
+    override fun cancel(request: ViewRenderableLoader.LoadRequest) {
+        request.cancel()
+        if (pendingRequests.remove(request) && request.reuse == null) {
+            liveRequests--
+        }
+    }
+
+    override fun release(renderable: ViewRenderable) {
+        liveRequests--
+        releasedRenderables.add(renderable)
+    }
+
+    override fun getPoolMetrics() =
+        ViewRenderablePool.Metrics(requests, hits, releasedRenderables.size, created)
+
+    /**
+     * Delivers the renderables to all pending requests
+     */
+    fun completeRequests() {
+        if (pendingRequests.isEmpty()) {
+            return
+        }
+        val completed = pendingRequests.toList()
+        pendingRequests.clear()
+        completed.forEach { request ->
+            val renderable = request.reuse?.also { hits++ } ?: acquire()
+            request.listener.invoke(DataResult.Success(renderable))
+        }
+    }
+
+    private fun acquire(): ViewRenderable {
+        if (releasedRenderables.isNotEmpty()) {
+            hits++
+            return releasedRenderables.removeAt(releasedRenderables.lastIndex)
+        }
+        created++
+        return createStubRenderable()
+    }
+
+    // the material is needed to apply the texture clipping
+    private fun createStubRenderable(): ViewRenderable {
+        val renderable = mock<ViewRenderable>()
+        val instance = mock<RenderableInstance>()
+        val material = mock<Material>()
+        whenever(renderable.createInstance(any())).thenReturn(instance)
+        whenever(renderable.id).thenReturn(ChangeId())
+        whenever(renderable.material).thenReturn(material)
+        whenever(instance.renderable).thenReturn(renderable)
+        return renderable
+    }
+
+}
@@ -20,11 +20,13 @@ import android.content.Context
 import androidx.test.core.app.ApplicationProvider
 import com.magicleap.magicscript.font.providers.AndroidFontProvider
 import com.magicleap.magicscript.font.providers.FontProviderImpl
+import org.amshove.kluent.shouldEqual
 import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
+import java.util.concurrent.Executor
 
 @RunWith(RobolectricTestRunner::class)
 class FontProviderImplTest {
@@ -56,4 +58,29 @@ class FontProviderImplTest {
         assertTrue(font1 !== font2) // comparing references
     }
 
+    @Test
+    fun `should preload each font file only once`() {
+        val tasks = mutableListOf<Runnable>()
+        val executor = Executor { tasks.add(it) }
+
+        fontProvider.preloadFonts(executor)
+        fontProvider.preloadFonts(executor)
+
+        // extra light and light weights use the same file
+        val expectedFiles = (FontWeight.values().size - 1) * FontStyle.values().size
+        tasks.size shouldEqual expectedFiles
+    }
+
+    @Test
+    fun `should return same typeface object when font is preloaded`() {
+        val tasks = mutableListOf<Runnable>()
+        fontProvider.preloadFonts(Executor { tasks.add(it) })
+        val font1 = fontProvider.provideFont(FontStyle.NORMAL, FontWeight.BOLD)
+        tasks.forEach { it.run() }
+
+        val font2 = fontProvider.provideFont(FontStyle.NORMAL, FontWeight.BOLD)
+
+        assertTrue(font1 === font2) // comparing references
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.magicleap.magicscript.icons
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.drawable.BitmapDrawable
+import androidx.test.core.app.ApplicationProvider
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldNotBe
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class DrawableStatesCacheTest {
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    @Test
+    fun `should return null when drawable is not cached`() {
+        val cache = DrawableStatesCache()
+
+        cache.get("icon") shouldBe null
+    }
+
+    @Test
+    fun `should return new drawable sharing the bitmap`() {
+        val cache = DrawableStatesCache()
+        val bitmap = Bitmap.createBitmap(4, 4, Bitmap.Config.ARGB_8888)
+        val drawable = BitmapDrawable(context.resources, bitmap)
+        cache.put("icon", drawable)
+
+        val cached = cache.get("icon") as BitmapDrawable
+
+        cached shouldNotBe drawable
+        cached.bitmap shouldBe bitmap
+    }
+
+    @Test
+    fun `should evict least recently used drawable when full`() {
+        val cache = DrawableStatesCache(maxSize = 1)
+        val bitmap = Bitmap.createBitmap(4, 4, Bitmap.Config.ARGB_8888)
+        cache.put("first", BitmapDrawable(context.resources, bitmap))
+        cache.put("second", BitmapDrawable(context.resources, bitmap))
+
+        cache.get("first") shouldBe null
+        cache.get("second") shouldNotBe null
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene
+
+import android.os.Handler
+import android.os.Looper
+import com.google.ar.sceneform.FrameTime
+import com.google.ar.sceneform.Scene
+import com.magicleap.magicscript.ar.ArResourcesProvider
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.verify
+import org.amshove.kluent.shouldEqual
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.shadows.ShadowLooper
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+class FrameWorkSchedulerTest {
+
+    private val arResourcesProvider: ArResourcesProvider = mock()
+    private lateinit var scheduler: FrameWorkScheduler
+
+    // fake clock in nanoseconds
+    private var time = 0L
+
+    @Before
+    fun setUp() {
+        scheduler = FrameWorkScheduler(arResourcesProvider, Handler(Looper.getMainLooper())) {
+            time
+        }
+        scheduler.setFrameBudget(4.0)
+    }
+
+    @After
+    fun tearDown() {
+        ShadowLooper.unPauseMainLooper()
+    }
+
+    @Test
+    fun `should execute work in scheduled order`() {
+        val executed = mutableListOf<Int>()
+
+        scheduler.schedule(Runnable { executed.add(1) })
+        scheduler.schedule(Runnable { executed.add(2) })
+        scheduler.schedule(Runnable { executed.add(3) })
+
+        executed shouldEqual listOf(1, 2, 3)
+    }
+
+    @Test
+    fun `should register for scene updates when scene changed`() {
+        val scene = mock<Scene>()
+
+        scheduler.onSceneChanged(scene)
+
+        verify(scene).addOnUpdateListener(scheduler)
+    }
+
+    @Test
+    fun `should carry over work that does not fit in frame budget`() {
+        scheduler.onSceneChanged(mock())
+        val executed = mutableListOf<Int>()
+        for (i in 1..5) {
+            scheduler.schedule(Runnable {
+                executed.add(i)
+                time += TimeUnit.MILLISECONDS.toNanos(2)
+            })
+        }
+
+        scheduler.onUpdate(FrameTime())
+        executed shouldEqual listOf(1, 2)
+
+        scheduler.onUpdate(FrameTime())
+        executed shouldEqual listOf(1, 2, 3, 4)
+
+        scheduler.onUpdate(FrameTime())
+        executed shouldEqual listOf(1, 2, 3, 4, 5)
+    }
+
+    @Test
+    fun `should execute at least one work item per frame`() {
+        scheduler.onSceneChanged(mock())
+        var executed = 0
+        scheduler.schedule(Runnable {
+            executed++
+            time += TimeUnit.MILLISECONDS.toNanos(10)
+        })
+
+        scheduler.onUpdate(FrameTime())
+
+        executed shouldEqual 1
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun `should reject frame budget that is not positive`() {
+        scheduler.setFrameBudget(0.0)
+    }
+
+    @Test
+    fun `should keep executing work after rejecting negative frame budget`() {
+        scheduler.onSceneChanged(mock())
+        try {
+            scheduler.setFrameBudget(-1.0)
+        } catch (e: IllegalArgumentException) {
+            // expected
+        }
+        val executed = mutableListOf<Int>()
+        scheduler.schedule(Runnable { executed.add(1) })
+        scheduler.schedule(Runnable { executed.add(2) })
+
+        scheduler.onUpdate(FrameTime())
+
+        executed shouldEqual listOf(1, 2)
+    }
+
+    @Test
+    fun `should count budget overruns`() {
+        scheduler.onSceneChanged(mock())
+        scheduler.schedule(Runnable { time += TimeUnit.MILLISECONDS.toNanos(10) })
+        scheduler.schedule(Runnable { time += TimeUnit.MILLISECONDS.toNanos(1) })
+
+        scheduler.onUpdate(FrameTime())
+        scheduler.onUpdate(FrameTime())
+
+        val metrics = scheduler.getMetrics()
+        metrics.budgetOverruns shouldEqual 1L
+        metrics.drainPasses shouldEqual 2L
+        metrics.carriedOverPasses shouldEqual 1L
+        metrics.executedWork shouldEqual 2L
+    }
+
+    @Test
+    fun `should report queue depth`() {
+        scheduler.onSceneChanged(mock())
+        scheduler.schedule(Runnable { time += TimeUnit.MILLISECONDS.toNanos(5) })
+        scheduler.schedule(Runnable { })
+        scheduler.schedule(Runnable { })
+
+        scheduler.getMetrics().queueDepth shouldEqual 3
+        scheduler.onUpdate(FrameTime())
+
+        val metrics = scheduler.getMetrics()
+        metrics.queueDepth shouldEqual 2
+        metrics.maxQueueDepth shouldEqual 3
+    }
+
+    @Test
+    fun `should drain the queue using main thread handler when there is no scene`() {
+        ShadowLooper.pauseMainLooper()
+        val executed = mutableListOf<Int>()
+        for (i in 1..3) {
+            scheduler.schedule(Runnable {
+                executed.add(i)
+                time += TimeUnit.MILLISECONDS.toNanos(3)
+            })
+        }
+
+        val looperScheduler = Robolectric.getForegroundThreadScheduler()
+        looperScheduler.size() shouldEqual 1
+
+        looperScheduler.runOneTask()
+        executed shouldEqual listOf(1, 2)
+
+        looperScheduler.runOneTask()
+        executed shouldEqual listOf(1, 2, 3)
+        looperScheduler.size() shouldEqual 0
+    }
+
+    @Test
+    fun `should remove pending work on clear`() {
+        scheduler.onSceneChanged(mock())
+        var executed = 0
+        scheduler.schedule(Runnable { executed++ })
+
+        scheduler.clear()
+        scheduler.onUpdate(FrameTime())
+
+        executed shouldEqual 0
+        scheduler.getMetrics().queueDepth shouldEqual 0
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene
+
+import androidx.test.core.app.ApplicationProvider
+import com.facebook.react.bridge.JavaOnlyMap
+import com.magicleap.magicscript.UiNodeBuilder
+import com.magicleap.magicscript.forceUpdate
+import com.magicleap.magicscript.scene.nodes.layouts.UiLinearLayout
+import com.magicleap.magicscript.scene.nodes.layouts.manager.HorizontalLinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.LinearLayoutManager
+import com.magicleap.magicscript.scene.nodes.layouts.manager.VerticalLinearLayoutManager
+import org.amshove.kluent.shouldBeGreaterThan
+import org.amshove.kluent.shouldEqual
+import org.json.JSONObject
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+class NodesProfilerTest {
+
+    @After
+    fun tearDown() {
+        NodesProfiler.isEnabled = false
+        NodesProfiler.reset()
+    }
+
+    @Test
+    fun `should not record anything when disabled`() {
+        val node = UiLinearLayout(JavaOnlyMap(), createLayoutManager())
+
+        val start = NodesProfiler.start()
+        NodesProfiler.stop(node, NodesProfiler.Metric.UPDATE, start)
+        NodesProfiler.recordFrame(TimeUnit.MILLISECONDS.toNanos(20))
+
+        start shouldEqual NodesProfiler.NOT_STARTED
+        val metrics = NodesProfiler.getMetrics()
+        metrics.nodes shouldEqual emptyMap()
+        metrics.frames.count shouldEqual 0L
+    }
+
+    @Test
+    fun `should record stats per node type`() {
+        NodesProfiler.isEnabled = true
+        val node = UiLinearLayout(JavaOnlyMap(), createLayoutManager())
+
+        repeat(3) {
+            val start = NodesProfiler.start()
+            NodesProfiler.stop(node, NodesProfiler.Metric.UPDATE, start)
+        }
+
+        val stats = NodesProfiler.getMetrics().nodes["UiLinearLayout"]!!
+        stats.keys shouldEqual setOf(NodesProfiler.Metric.UPDATE)
+        stats.getValue(NodesProfiler.Metric.UPDATE).count shouldEqual 3L
+        stats.getValue(NodesProfiler.Metric.UPDATE).histogram.sum() shouldEqual 3L
+    }
+
+    @Test
+    fun `should record layout passes`() {
+        NodesProfiler.isEnabled = true
+        val layout = UiLinearLayout(JavaOnlyMap(), createLayoutManager())
+        layout.build()
+        layout.addContent(
+            UiNodeBuilder(ApplicationProvider.getApplicationContext()).withSize(1f, 1f).build()
+        )
+
+        layout.forceUpdate(0.1f)
+
+        val layoutStats = NodesProfiler.getMetrics().nodes["UiLinearLayout"]!!
+        layoutStats.getValue(NodesProfiler.Metric.LAYOUT).count shouldBeGreaterThan 0L
+    }
+
+    @Test
+    fun `should count frames over budget`() {
+        NodesProfiler.isEnabled = true
+
+        NodesProfiler.recordFrame(TimeUnit.MILLISECONDS.toNanos(10))
+        NodesProfiler.recordFrame(TimeUnit.MILLISECONDS.toNanos(40))
+
+        val metrics = NodesProfiler.getMetrics()
+        metrics.frames.count shouldEqual 2L
+        metrics.frames.maxNanos shouldEqual TimeUnit.MILLISECONDS.toNanos(40)
+        metrics.framesOverBudget shouldEqual 1L
+        // 10 ms falls into the (8 ms, 16 ms] bucket and 40 ms into the last one
+        metrics.frames.histogram shouldEqual listOf(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 1L, 1L)
+    }
+
+    @Test
+    fun `should dump metrics as JSON`() {
+        NodesProfiler.isEnabled = true
+        val node = UiLinearLayout(JavaOnlyMap(), createLayoutManager())
+        NodesProfiler.stop(node, NodesProfiler.Metric.CLIP, NodesProfiler.start())
+        NodesProfiler.recordFrame(TimeUnit.MILLISECONDS.toNanos(20))
+
+        val json = JSONObject(NodesProfiler.toJson())
+
+        json.getBoolean("enabled") shouldEqual true
+        json.getInt("framesOverBudget") shouldEqual 1
+        json.getJSONObject("frames").getInt("count") shouldEqual 1
+        json.getJSONObject("nodes")
+            .getJSONObject("UiLinearLayout")
+            .getJSONObject("clip")
+            .getInt("count") shouldEqual 1
+    }
+
+    @Test
+    fun `should clear metrics on reset`() {
+        NodesProfiler.isEnabled = true
+        val node = UiLinearLayout(JavaOnlyMap(), createLayoutManager())
+        NodesProfiler.stop(node, NodesProfiler.Metric.BUILD, NodesProfiler.start())
+        NodesProfiler.recordFrame(TimeUnit.MILLISECONDS.toNanos(20))
+
+        NodesProfiler.reset()
+
+        val metrics = NodesProfiler.getMetrics()
+        metrics.nodes shouldEqual emptyMap()
+        metrics.frames.count shouldEqual 0L
+        metrics.framesOverBudget shouldEqual 0L
+    }
+
+    private fun createLayoutManager() =
+        LinearLayoutManager(VerticalLinearLayoutManager(), HorizontalLinearLayoutManager())
+
+}
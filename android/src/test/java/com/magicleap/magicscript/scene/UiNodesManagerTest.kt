@@ -31,12 +31,15 @@ import com.magicleap.magicscript.createCameraInfo
 import com.magicleap.magicscript.reactMapOf
 import com.magicleap.magicscript.scene.nodes.base.TransformNode
 import com.magicleap.magicscript.scene.nodes.prism.Prism
+import com.magicleap.magicscript.scene.nodes.props.NodeProps
 import com.nhaarman.mockitokotlin2.mock
 import com.nhaarman.mockitokotlin2.spy
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
 import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldBeLessOrEqualTo
 import org.amshove.kluent.shouldEqual
+import org.amshove.kluent.shouldNotBe
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -50,6 +53,7 @@ class UiNodesManagerTest {
     private val arResourcesProvider: ArResourcesProvider = mock()
     private lateinit var nodesManager: UiNodesManager
     private var arScene = spy<Scene>()
+    private var nodeComparisons = 0L
 
     @Before
     fun setUp() {
@@ -122,6 +126,85 @@ class UiNodesManagerTest {
         nodesManager.findNodeWithId(parentId) shouldBe null
     }
 
+    @Test
+    fun `should remove only the subtree of removed node`() {
+        nodesManager.registerNode(NodeBuilder().build(), "0")
+        nodesManager.registerNode(NodeBuilder().build(), "1")
+        nodesManager.registerNode(NodeBuilder().build(), "2")
+        nodesManager.registerNode(NodeBuilder().build(), "3")
+        nodesManager.addNodeToParent("1", "0")
+        nodesManager.addNodeToParent("2", "1")
+
+        nodesManager.removeNode("1")
+
+        nodesManager.findNodeWithId("1") shouldBe null
+        nodesManager.findNodeWithId("2") shouldBe null
+        nodesManager.findNodeWithId("0") shouldNotBe null
+        nodesManager.findNodeWithId("3") shouldNotBe null
+    }
+
+    @Test
+    fun `should remove node registered again with the same id`() {
+        val node = NodeBuilder().build()
+        nodesManager.registerNode(NodeBuilder().build(), "1")
+        nodesManager.registerNode(node, "1")
+
+        nodesManager.removeNode("1")
+
+        nodesManager.findNodeWithId("1") shouldBe null
+    }
+
+    @Test
+    fun `should remove every node of big subtree and keep other subtrees`() {
+        val subtreeSize = 5000
+        val subtreesCount = 4
+        val subtreeIds = List(subtreesCount) { subtree ->
+            val rootId = "root_$subtree"
+            nodesManager.registerNode(NodeBuilder().build(), rootId)
+            val ids = mutableListOf(rootId)
+            for (i in 1 until subtreeSize) {
+                val nodeId = "${subtree}_$i"
+                nodesManager.registerNode(NodeBuilder().build(), nodeId)
+                // every node has a few children, so the subtree is both wide and deep
+                val parentId = if (i < 4) rootId else "${subtree}_${i / 4}"
+                nodesManager.addNodeToParent(nodeId, parentId)
+                ids.add(nodeId)
+            }
+            ids
+        }
+
+        val registeredCount = { ids: List<String> ->
+            ids.count { nodesManager.findNodeWithId(it) != null }
+        }
+        for (subtree in 0 until subtreesCount) {
+            nodesManager.removeNode("root_$subtree")
+
+            registeredCount(subtreeIds[subtree]) shouldEqual 0
+            for (other in subtree + 1 until subtreesCount) {
+                registeredCount(subtreeIds[other]) shouldEqual subtreeSize
+            }
+        }
+    }
+
+    @Test
+    fun `should compare constant number of nodes per removed node regardless of nodes count`() {
+        // a node id lookup scanning the registered nodes would grow with the nodes count
+        val comparisonsPerNode = listOf(1000, 4000).map { subtreeSize ->
+            val manager = UiNodesManager()
+            registerSubtree(manager, "other", subtreeSize)
+            registerSubtree(manager, "removed", subtreeSize)
+            nodeComparisons = 0
+
+            manager.removeNode("removed_0")
+
+            manager.findNodeWithId("removed_${subtreeSize - 1}") shouldBe null
+            manager.findNodeWithId("other_${subtreeSize - 1}") shouldNotBe null
+            nodeComparisons.toDouble() / subtreeSize
+        }
+
+        comparisonsPerNode[1] shouldBeLessOrEqualTo comparisonsPerNode[0] * 1.5
+    }
+
     @Test
     fun `should remove all nodes on clear`() {
         nodesManager.registerNode(NodeBuilder().build(), "1")
@@ -192,7 +275,7 @@ class UiNodesManagerTest {
     @Test
     fun `should update node properties`() {
         val node = mock<TransformNode>()
-        val props = JavaOnlyMap.of()
+        val props = NodeProps.decode(JavaOnlyMap.of())
         nodesManager.registerNode(node, "1")
 
         nodesManager.updateNode("1", props)
@@ -248,6 +331,35 @@ class UiNodesManagerTest {
         verify(node3).onHostDestroy()
     }
 
+    /**
+     * Registers a tree of [size] nodes with ids "[prefix]_[index]" (the root has index 0),
+     * every node has a few children, so the tree is both wide and deep
+     */
+    private fun registerSubtree(manager: UiNodesManager, prefix: String, size: Int) {
+        for (i in 0 until size) {
+            val nodeId = "${prefix}_$i"
+            manager.registerNode(createComparisonsCountingNode(), nodeId)
+            if (i > 0) {
+                manager.addNodeToParent(nodeId, "${prefix}_${(i - 1) / 4}")
+            }
+        }
+    }
+
+    // counts equals and hashCode calls of the node
+    private fun createComparisonsCountingNode(): TransformNode {
+        return object : TransformNode(JavaOnlyMap(), false) {
+            override fun equals(other: Any?): Boolean {
+                nodeComparisons++
+                return super.equals(other)
+            }
+
+            override fun hashCode(): Int {
+                nodeComparisons++
+                return super.hashCode()
+            }
+        }
+    }
+
     private fun buildPrism(props: JavaOnlyMap): Prism {
         return PrismBuilder(props, context, arResourcesProvider).build()
     }
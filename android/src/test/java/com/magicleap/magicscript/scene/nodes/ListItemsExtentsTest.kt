@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes
+
+import com.magicleap.magicscript.shouldEqualInexact
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.junit.MockitoJUnitRunner
+
+@RunWith(MockitoJUnitRunner::class)
+class ListItemsExtentsTest {
+
+    @Test
+    fun `should estimate extents of items that have not been measured`() {
+        val extents = ListItemsExtents()
+        extents.add(0.1f, 1f)
+        extents.add(0.3f, 1f)
+        repeat(8) { extents.add(0f, 1f) }
+
+        extents.estimatedExtent shouldEqualInexact 0.2f
+        extents.estimatedSumBefore(2) shouldEqualInexact 0.4f
+        extents.estimatedSumBefore(10) shouldEqualInexact 2f
+        extents.sumBefore(10) shouldEqualInexact 0.4f
+    }
+
+    @Test
+    fun `should stop estimating item extent when item measured`() {
+        val extents = ListItemsExtents()
+        extents.add(0.2f, 1f)
+        extents.add(0f, 1f)
+        extents.add(0f, 1f)
+
+        extents.set(1, 0.4f, 1f)
+
+        extents.estimatedExtent shouldEqualInexact 0.3f
+        extents.estimatedSumBefore(3) shouldEqualInexact 0.9f
+    }
+
+}
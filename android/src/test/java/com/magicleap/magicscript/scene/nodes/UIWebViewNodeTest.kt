@@ -10,6 +10,7 @@ import com.magicleap.magicscript.reactMapOf
 import com.nhaarman.mockitokotlin2.eq
 import com.nhaarman.mockitokotlin2.mock
 import com.nhaarman.mockitokotlin2.spy
+import com.nhaarman.mockitokotlin2.times
 import com.nhaarman.mockitokotlin2.verify
 import com.magicleap.magicscript.scene.nodes.UIWebViewNode.Companion.ACTION_BACK
 import com.magicleap.magicscript.scene.nodes.UIWebViewNode.Companion.ACTION_FORWARD
@@ -78,6 +79,17 @@ class UIWebViewNodeTest {
         verify(containerSpy).reload()
     }
 
+    @Test
+    fun `should reload page again when the same action is sent twice`() {
+        val props = reactMapOf(PROP_ACTION, ACTION_RELOAD)
+
+        tested = createNodeWithViewSpy(props)
+        tested.build()
+        tested.update(reactMapOf(PROP_ACTION, ACTION_RELOAD))
+
+        verify(containerSpy, times(2)).reload()
+    }
+
     @Test
     fun `should forward page`() {
         val props = reactMapOf(PROP_ACTION, ACTION_FORWARD)
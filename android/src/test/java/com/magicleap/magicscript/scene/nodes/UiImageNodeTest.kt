@@ -28,10 +28,16 @@ import com.facebook.react.bridge.JavaOnlyMap
 import com.facebook.react.bridge.ReadableMap
 import com.magicleap.magicscript.R
 import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader
+import com.magicleap.magicscript.images.ImageLoader
 import com.magicleap.magicscript.reactArrayOf
 import com.magicleap.magicscript.reactMapOf
+import com.magicleap.magicscript.utils.Utils
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.argThat
+import com.nhaarman.mockitokotlin2.eq
 import com.nhaarman.mockitokotlin2.mock
 import com.nhaarman.mockitokotlin2.spy
+import com.nhaarman.mockitokotlin2.times
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
 import junit.framework.Assert.assertEquals
@@ -52,11 +58,13 @@ class UiImageNodeTest {
     private lateinit var containerSpy: FrameLayout
     private lateinit var imageViewSpy: ImageView
     private lateinit var viewRenderableLoader: ViewRenderableLoader
+    private lateinit var imageLoader: ImageLoader
 
     @Before
     fun setUp() {
         this.context = ApplicationProvider.getApplicationContext()
         this.viewRenderableLoader = mock()
+        this.imageLoader = mock()
         this.containerSpy = spy(FrameLayout(context))
         this.imageViewSpy = spy(ImageView(context))
         whenever(containerSpy.image_view).thenReturn(imageViewSpy)
@@ -147,11 +155,58 @@ class UiImageNodeTest {
 
         node.build()
 
-        verify(imageViewSpy).scaleType = ImageView.ScaleType.CENTER
+        verify(imageViewSpy).scaleType = ImageView.ScaleType.CENTER_CROP
+    }
+
+    @Test
+    fun `should load image decoded for node size`() {
+        val props = reactMapOf(
+            UiImageNode.PROP_FILE_PATH, "http://sample-image.com",
+            UiImageNode.PROP_WIDTH, 0.2,
+            UiImageNode.PROP_HEIGHT, 0.1,
+            UiImageNode.PROP_CONTENT_MODE, UiImageNode.CONTENT_MODE_FILL
+        )
+        val node = createNodeWithViewSpy(props)
+
+        node.build()
+
+        val expectedWidth = Utils.metersToPx(0.2f, context)
+        val expectedHeight = Utils.metersToPx(0.1f, context)
+        verify(imageLoader).loadImage(argThat {
+            widthPx == expectedWidth && heightPx == expectedHeight
+                    && scaleMode == ImageLoader.ScaleMode.ASPECT_FILL
+        }, eq(imageViewSpy))
+    }
+
+    @Test
+    fun `should decode original image when node size is not specified`() {
+        val props = reactMapOf(UiImageNode.PROP_FILE_PATH, "http://sample-image.com")
+        val node = createNodeWithViewSpy(props)
+
+        node.build()
+
+        verify(imageLoader).loadImage(argThat {
+            widthPx == ImageLoader.Request.ORIGINAL_SIZE
+                    && heightPx == ImageLoader.Request.ORIGINAL_SIZE
+        }, eq(imageViewSpy))
+    }
+
+    @Test
+    fun `should load image again when content mode changes`() {
+        val props = reactMapOf(UiImageNode.PROP_FILE_PATH, "http://sample-image.com")
+        val node = createNodeWithViewSpy(props)
+        node.build()
+
+        node.update(reactMapOf(UiImageNode.PROP_CONTENT_MODE, UiImageNode.CONTENT_MODE_FIT))
+
+        verify(imageLoader, times(2)).loadImage(any(), eq(imageViewSpy))
+        verify(imageLoader).loadImage(argThat {
+            scaleMode == ImageLoader.ScaleMode.ASPECT_FIT
+        }, eq(imageViewSpy))
     }
 
     private fun createNodeWithViewSpy(props: ReadableMap): UiImageNode {
-        return object : UiImageNode(props, context, mock(), mock(), mock()) {
+        return object : UiImageNode(props, context, mock(), mock(), mock(), imageLoader) {
             override fun provideView(context: Context): View {
                 return containerSpy
             }
@@ -23,7 +23,12 @@ import androidx.test.core.app.ApplicationProvider
 import com.facebook.react.bridge.JavaOnlyMap
 import com.facebook.react.bridge.ReadableMap
 import com.google.ar.sceneform.math.Vector3
+import com.google.ar.sceneform.rendering.ViewRenderable
 import com.magicleap.magicscript.R
+import com.magicleap.magicscript.ar.renderable.RecycledViewPool
+import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader
+import com.magicleap.magicscript.ar.renderable.ViewRenderablePool
+import com.magicleap.magicscript.forceUpdate
 import com.magicleap.magicscript.reactArrayOf
 import com.magicleap.magicscript.reactMapOf
 import com.magicleap.magicscript.scene.nodes.base.TransformNode
@@ -31,12 +36,18 @@ import com.magicleap.magicscript.scene.nodes.base.UiBaseLayout
 import com.magicleap.magicscript.scene.nodes.layouts.UiLinearLayout
 import com.magicleap.magicscript.scene.nodes.views.CustomScrollView
 import com.magicleap.magicscript.shouldEqualInexact
+import com.magicleap.magicscript.utils.Vector2
+import com.nhaarman.mockitokotlin2.argThat
 import com.nhaarman.mockitokotlin2.mock
 import com.nhaarman.mockitokotlin2.spy
 import com.nhaarman.mockitokotlin2.verify
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldBeGreaterThan
 import org.amshove.kluent.shouldBeInstanceOf
+import org.amshove.kluent.shouldBeLessOrEqualTo
 import org.amshove.kluent.shouldContain
 import org.amshove.kluent.shouldEqual
+import org.amshove.kluent.shouldNotContain
 import org.amshove.kluent.shouldNotBeLessThan
 import org.junit.Before
 import org.junit.Test
@@ -147,6 +158,116 @@ class UiListViewNodeTest {
         containerNode.getProperty(UiBaseLayout.PROP_SKIP_INVISIBLE_ITEMS) shouldEqual true
     }
 
+    @Test
+    fun `list item should be removed from the container`() {
+        val node = createNodeWithViewSpy(reactMapOf())
+        node.build()
+        val listItem = UiListViewItemNode(reactMapOf(), context, mock(), mock())
+        listItem.build()
+        node.addContent(listItem)
+
+        node.removeContent(listItem)
+
+        val containerNode = node.contentNode.children.first() as UiLinearLayout
+        containerNode.childrenList shouldNotContain listItem
+    }
+
+    @Test
+    fun `should scroll to item using measured items sizes`() {
+        val props = reactMapOf(UiListViewNode.PROP_WIDTH, 1.0, UiListViewNode.PROP_HEIGHT, 1.0)
+        val node = createNodeWithViewSpy(props)
+        node.build()
+        repeat(20) { node.addContent(createListItem(mock())) }
+        val container = node.contentNode.children.first() as UiLinearLayout
+        container.forceUpdate(0.1f)
+        node.forceUpdate(0.1f)
+
+        node.update(reactMapOf(UiListViewNode.PROP_SCROLL_TO_ITEM, 5))
+
+        // 5 items of 0.1m before the item, max travel is 20 * 0.1m - 1m
+        verify(viewSpy).updateScrollValue(argThat { y.isCloseTo(0.5f, 0.1f) })
+    }
+
+    @Test
+    fun `should keep bounded number of renderables when scrolling virtualized list`() {
+        val loader = RenderablesCountingLoader()
+        val viewPool = RecycledViewPool()
+        val props = reactMapOf(
+            UiListViewNode.PROP_WIDTH, 1.0,
+            UiListViewNode.PROP_HEIGHT, 1.0,
+            UiListViewNode.PROP_VIRTUALIZED, true,
+            UiListViewNode.PROP_OVERSCAN, 2
+        )
+        val scrollView =
+            LayoutInflater.from(context).inflate(R.layout.scroll_view, null) as CustomScrollView
+        val node = object : UiListViewNode(props, context, loader, mock()) {
+            override fun provideView(context: Context) = scrollView
+        }
+        // list (1 renderable) with 10 visible rows of 0.1m and 2 rows overscan at each side
+        val maxLiveRenderables = 1 + 10 + 2 + 2 * 2
+        node.build()
+        loader.buildPending()
+        // each row is built right before it's added, like when mounted from React
+        val items = List(10_000) {
+            val item = createListItem(loader, viewPool)
+            node.addContent(item)
+            loader.buildPending()
+            item
+        }
+        loader.peakLiveRenderables shouldBeLessOrEqualTo maxLiveRenderables
+        loader.builtRenderables shouldBeLessOrEqualTo maxLiveRenderables
+
+        val container = node.contentNode.children.first() as UiLinearLayout
+        val scrollSteps = 200
+        for (step in 0..scrollSteps) {
+            scrollView.updateScrollValue(Vector2(0f, step.toFloat() / scrollSteps))
+            container.forceUpdate(0.1f)
+            node.forceUpdate(0.1f)
+            loader.buildPending()
+        }
+
+        loader.peakLiveRenderables shouldBeLessOrEqualTo maxLiveRenderables
+        items.first().isViewReleased shouldBe true
+        items.last().isViewReleased shouldBe false
+        // rows scrolled into view use the views of rows scrolled out
+        viewPool.getMetrics().inflationsAvoided shouldBeGreaterThan 0L
+    }
+
+    @Test
+    fun `should bind all items when virtualization disabled`() {
+        val loader = RenderablesCountingLoader()
+        val props = reactMapOf(
+            UiListViewNode.PROP_WIDTH, 1.0,
+            UiListViewNode.PROP_HEIGHT, 1.0,
+            UiListViewNode.PROP_VIRTUALIZED, true
+        )
+        val node = object : UiListViewNode(props, context, loader, mock()) {
+            override fun provideView(context: Context) = viewSpy
+        }
+        node.build()
+        val items = List(100) { createListItem(loader) }
+        items.forEach { node.addContent(it) }
+        val container = node.contentNode.children.first() as UiLinearLayout
+        container.forceUpdate(0.1f)
+        node.forceUpdate(0.1f)
+
+        node.update(reactMapOf(UiListViewNode.PROP_VIRTUALIZED, false))
+
+        items.none { it.isViewReleased } shouldBe true
+    }
+
+    private fun createListItem(
+        loader: ViewRenderableLoader,
+        viewPool: RecycledViewPool? = null
+    ): UiListViewItemNode {
+        return object : UiListViewItemNode(reactMapOf(), context, loader, mock()) {
+            override fun provideDesiredSize() = Vector2(1f, 0.1f)
+        }.apply {
+            this.viewPool = viewPool
+            build()
+        }
+    }
+
     private fun createNodeWithViewSpy(props: ReadableMap): UiListViewNode {
         return object : UiListViewNode(props, context, mock(), mock()) {
             override fun provideView(context: Context): View {
@@ -155,4 +276,47 @@ class UiListViewNodeTest {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Loader that does not complete the requests and counts the renderables
+     * built for requests that have not been cancelled.
+     * Like the real loader, it builds the renderables in a separate pass ([buildPending]),
+     * so requests cancelled before the pass build nothing.
+     */
+    private class RenderablesCountingLoader : ViewRenderableLoader {
+        private val pendingRequests = LinkedHashSet<ViewRenderableLoader.LoadRequest>()
+        private val builtRequests = HashSet<ViewRenderableLoader.LoadRequest>()
+
+        var builtRenderables = 0
+            private set
+
+        var peakLiveRenderables = 0
+            private set
+
+        val liveRenderables: Int
+            get() = builtRequests.size
+
+        override fun loadRenderable(request: ViewRenderableLoader.LoadRequest) {
+            pendingRequests.add(request)
+        }
+
+        override fun cancel(request: ViewRenderableLoader.LoadRequest) {
+            pendingRequests.remove(request)
+            builtRequests.remove(request)
+        }
+
+        override fun release(renderable: ViewRenderable) {
+            // requests are never completed, so nodes do not hold renderables
+        }
+
+        fun buildPending() {
+            builtRenderables += pendingRequests.size
+            builtRequests.addAll(pendingRequests)
+            pendingRequests.clear()
+            peakLiveRenderables = maxOf(peakLiveRenderables, liveRenderables)
+        }
+
+        override fun getPoolMetrics() =
+            ViewRenderablePool.Metrics(0, 0, 0, liveRenderables.toLong())
+    }
+
+}
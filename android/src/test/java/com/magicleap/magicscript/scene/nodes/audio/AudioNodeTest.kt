@@ -131,6 +131,14 @@ class AudioNodeTest {
         verify(audioEngine).pause()
     }
 
+    @Test
+    fun `should apply the same action again when it is sent twice`() {
+        tested.update(reactMapOf().action(AudioAction.START))
+        tested.update(reactMapOf().action(AudioAction.START))
+
+        verify(audioEngine, times(2)).play()
+    }
+
     @Test
     fun `should pause audio when node is paused`() {
         tested.onHostPause()
@@ -22,6 +22,8 @@ import com.google.ar.sceneform.math.Vector3
 import com.magicleap.magicscript.*
 import com.magicleap.magicscript.scene.nodes.props.AABB
 import com.magicleap.magicscript.scene.nodes.props.Alignment
+import com.magicleap.magicscript.scene.nodes.props.MutableAABB
+import com.magicleap.magicscript.scene.nodes.props.PropsDiff
 import org.amshove.kluent.shouldBe
 import org.amshove.kluent.shouldEqual
 import org.junit.Assert.*
@@ -318,5 +320,162 @@ class TransformNodeTest {
         listenerCalled shouldBe false
     }
 
+    @Test
+    fun `should skip update but notify listener when properties have not changed`() {
+        var updated = false
+        val node = NodeBuilder()
+            .withProps(reactMapOf().text("abc"))
+            .withPosition(2.0, 1.5, -1.0)
+            .build()
+        node.onUpdatedListener = { updated = true }
+        val skippedBefore = PropsDiff.getMetrics().skippedUpdates
+
+        node.update(reactMapOf().localPosition(2.0, 1.500001, -1.0).text("abc"))
+
+        // JS onUpdate event is sent for every update
+        updated shouldBe true
+        PropsDiff.getMetrics().skippedUpdates shouldEqual skippedBefore + 1
+    }
+
+    @Test
+    fun `should apply only changed properties on update`() {
+        val node = NodeBuilder()
+            .withPosition(2.0, 1.5, -1.0)
+            .build()
+        val skippedBefore = PropsDiff.getMetrics().skippedProperties
+
+        node.update(reactMapOf().localPosition(2.0, 1.5, -1.0).localScale(2.0, 2.0, 2.0))
+
+        PropsDiff.getMetrics().skippedProperties shouldEqual skippedBefore + 1
+        node.localScale shouldEqual Vector3(2f, 2f, 2f)
+    }
+
+    @Test
+    fun `should not measure bounding for alignment when nothing has changed`() {
+        val node = createMeasureCountingNode()
+        node.forceUpdate(0.1f)
+        node.measures = 0
+
+        repeat(10) { node.forceUpdate(0.1f) }
+
+        node.measures shouldEqual 0
+    }
+
+    @Test
+    fun `should measure bounding for alignment after local transform change`() {
+        val node = createMeasureCountingNode()
+        node.forceUpdate(0.1f)
+        node.measures = 0
+
+        node.localScale = Vector3(2f, 2f, 2f)
+        node.forceUpdate(0.1f)
+
+        node.measures shouldEqual 1
+    }
+
+    @Test
+    fun `should keep measuring bounding for alignment while renderable is settling`() {
+        val node = createMeasureCountingNode()
+        node.forceUpdate(0.1f)
+        node.measures = 0
+
+        node.contentNode.renderable = null
+        repeat(5) { node.forceUpdate(0.1f) }
+
+        node.measures shouldEqual 5
+    }
+
+    @Test
+    fun `should cull child that is outside clip bounds`() {
+        val node = NodeBuilder().build()
+        val child = createClipCountingNode()
+        child.localPosition = Vector3(5f, 0f, 0f)
+        node.addContent(child)
+
+        node.clipBounds = AABB(min = Vector3(-1f, -1f, -1f), max = Vector3(1f, 1f, 1f))
+
+        child.isCulled shouldBe true
+        child.contentNode.isEnabled shouldBe false
+        child.clipsCount shouldEqual 0
+    }
+
+    @Test
+    fun `should restore culled child when it gets inside clip bounds`() {
+        val node = NodeBuilder().build()
+        val child = createClipCountingNode()
+        node.addContent(child)
+        node.clipBounds = AABB(min = Vector3(4f, -1f, -1f), max = Vector3(6f, 1f, 1f))
+
+        val clipBounds = AABB(min = Vector3(-1f, -1f, -1f), max = Vector3(1f, 1f, 1f))
+        node.clipBounds = clipBounds
+
+        child.isCulled shouldBe false
+        child.contentNode.isEnabled shouldBe true
+        child.clipBounds shouldEqual clipBounds
+    }
+
+    @Test
+    fun `should not clip child again when it stays inside clip bounds`() {
+        val node = NodeBuilder().build()
+        val child = createClipCountingNode()
+        node.addContent(child)
+        node.clipBounds = AABB(min = Vector3(-1f, -1f, -1f), max = Vector3(1f, 1f, 1f))
+
+        node.clipBounds = AABB(min = Vector3(-2f, -1f, -1f), max = Vector3(1f, 2f, 1f))
+
+        child.clipsCount shouldEqual 1
+    }
+
+    @Test
+    fun `should not clip child again when its clip bounds have not changed`() {
+        val node = NodeBuilder().build()
+        val child = createClipCountingNode()
+        node.addContent(child)
+        val clipBounds = AABB(min = Vector3(0f, 0f, -1f), max = Vector3(1f, 1f, 1f))
+        node.clipBounds = clipBounds
+
+        node.clipBounds = clipBounds.copy()
+
+        child.clipsCount shouldEqual 1
+    }
+
+    @Test
+    fun `should clip child again after it has moved`() {
+        val node = NodeBuilder().build()
+        val child = createClipCountingNode()
+        node.addContent(child)
+        node.clipBounds = AABB(min = Vector3(-1f, -1f, -1f), max = Vector3(1f, 1f, 1f))
+
+        child.localPosition = Vector3(5f, 0f, 0f)
+        node.forceUpdate(0.1f)
+
+        child.isCulled shouldBe true
+    }
+
+    private fun createClipCountingNode() =
+        object : TransformNode(JavaOnlyMap(), false) {
+            var clipsCount = 0
+
+            override var clipBounds: AABB?
+                get() = super.clipBounds
+                set(value) {
+                    clipsCount++
+                    super.clipBounds = value
+                }
+
+            override fun getContentBounding(): AABB {
+                return AABB(min = Vector3(-0.5f, -0.5f, 0f), max = Vector3(0.5f, 0.5f, 0f))
+            }
+        }.apply { build() }
+
+    private fun createMeasureCountingNode() =
+        object : TransformNode(JavaOnlyMap(), true) {
+            var measures = 0
+
+            override fun getContentBounding(out: MutableAABB): MutableAABB {
+                measures++
+                return super.getContentBounding(out)
+            }
+        }.apply { build() }
 
-}
\ No newline at end of file
+}
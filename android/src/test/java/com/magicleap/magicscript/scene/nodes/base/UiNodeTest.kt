@@ -17,11 +17,17 @@
 package com.magicleap.magicscript.scene.nodes.base
 
 import android.content.Context
+import android.view.View
 import androidx.test.core.app.ApplicationProvider
 import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.ReadableMap
 import com.google.ar.sceneform.collision.Box
 import com.google.ar.sceneform.math.Vector3
+import com.google.ar.sceneform.rendering.ViewRenderable
 import com.magicleap.magicscript.UiNodeBuilder
+import com.magicleap.magicscript.forceUpdate
+import com.magicleap.magicscript.reactMapOf
+import com.magicleap.magicscript.ar.renderable.RecycledViewPool
 import com.magicleap.magicscript.ar.renderable.ViewRenderableLoader
 import com.magicleap.magicscript.ar.clip.Clipper
 import com.magicleap.magicscript.ar.clip.TextureClipper
@@ -30,6 +36,8 @@ import com.magicleap.magicscript.ar.clip.UiNodeColliderClipper
 import com.magicleap.magicscript.scene.nodes.props.AABB
 import com.magicleap.magicscript.shouldEqualInexact
 import com.magicleap.magicscript.update
+import com.magicleap.magicscript.utils.DataResult
+import com.magicleap.magicscript.utils.Vector2
 import com.nhaarman.mockitokotlin2.*
 import org.amshove.kluent.shouldBe
 import org.amshove.kluent.shouldBeInstanceOf
@@ -301,4 +309,127 @@ class UiNodeTest {
         verify(viewRenderableLoader).loadRenderable(any())
     }
 
-}
\ No newline at end of file
+    @Test
+    fun `should release the view renderable on destroy`() {
+        val renderable = mock<ViewRenderable>()
+        val viewRenderableLoader = createLoaderReturning(renderable)
+        val node = buildHiddenNode(viewRenderableLoader)
+
+        node.onDestroy()
+
+        verify(viewRenderableLoader).release(renderable)
+    }
+
+    @Test
+    fun `should reuse the view renderable on rebuild`() {
+        val renderable = mock<ViewRenderable>()
+        val viewRenderableLoader = createLoaderReturning(renderable)
+        val node = buildHiddenNode(viewRenderableLoader)
+
+        node.setNeedsRebuild(force = true)
+        node.forceUpdate(0.1f)
+
+        verify(viewRenderableLoader).loadRenderable(argThat { reuse == null })
+        verify(viewRenderableLoader).loadRenderable(argThat { reuse === renderable })
+    }
+
+    @Test
+    fun `should give back the view renderable when view released`() {
+        val renderable = mock<ViewRenderable>()
+        val viewRenderableLoader = createLoaderReturning(renderable)
+        val node = buildHiddenNode(viewRenderableLoader)
+
+        node.releaseView()
+
+        verify(viewRenderableLoader).release(renderable)
+        node.isViewReleased shouldBe true
+    }
+
+    @Test
+    fun `should not load a renderable on rebuild when view released`() {
+        val viewRenderableLoader = createLoaderReturning(mock())
+        val node = buildHiddenNode(viewRenderableLoader)
+        node.releaseView()
+
+        node.setNeedsRebuild(force = true)
+        node.forceUpdate(0.1f)
+
+        verify(viewRenderableLoader, times(1)).loadRenderable(any())
+    }
+
+    @Test
+    fun `should load a new renderable when view bound again`() {
+        val renderable = mock<ViewRenderable>()
+        val viewRenderableLoader = createLoaderReturning(renderable)
+        val node = buildHiddenNode(viewRenderableLoader)
+        node.releaseView()
+
+        node.bindView()
+
+        verify(viewRenderableLoader, times(2)).loadRenderable(argThat { reuse == null })
+        node.isViewReleased shouldBe false
+    }
+
+    @Test
+    fun `should recycle the view when view released`() {
+        val viewPool = mock<RecycledViewPool>()
+        val node = buildRecyclableNode(createLoaderReturning(mock()), viewPool)
+
+        node.releaseView()
+
+        verify(viewPool).release(any(), any())
+    }
+
+    @Test
+    fun `should use a recycled view when built`() {
+        val viewPool = mock<RecycledViewPool>()
+        val recycledView = View(context)
+        whenever(viewPool.acquire(any())).thenReturn(recycledView)
+
+        val node = buildRecyclableNode(createLoaderReturning(mock()), viewPool)
+
+        node.currentView() shouldBe recycledView
+    }
+
+    // not attaching the mocked renderable to the node
+    private fun buildHiddenNode(viewRenderableLoader: ViewRenderableLoader): UiNode {
+        return UiNodeBuilder(context, viewRenderableLoader = viewRenderableLoader)
+            .withProps(reactMapOf(TransformNode.PROP_VISIBLE, false))
+            .build() as UiNode
+    }
+
+    private fun buildRecyclableNode(
+        viewRenderableLoader: ViewRenderableLoader,
+        viewPool: RecycledViewPool
+    ): RecyclableNode {
+        val props = reactMapOf(TransformNode.PROP_VISIBLE, false)
+        return RecyclableNode(props, viewRenderableLoader).apply {
+            this.viewPool = viewPool
+            build()
+        }
+    }
+
+    private fun createLoaderReturning(renderable: ViewRenderable): ViewRenderableLoader {
+        val loader = mock<ViewRenderableLoader>()
+        whenever(loader.loadRenderable(any())).thenAnswer {
+            val request = it.getArgument<ViewRenderableLoader.LoadRequest>(0)
+            request.listener.invoke(DataResult.Success(renderable))
+        }
+        return loader
+    }
+
+    private inner class RecyclableNode(
+        props: ReadableMap,
+        viewRenderableLoader: ViewRenderableLoader
+    ) : UiNode(props, context, viewRenderableLoader, mock()) {
+
+        override val recycledViewLayout: Int? = 0
+
+        fun currentView() = view
+
+        override fun provideView(context: Context) = View(context)
+
+        override fun provideDesiredSize() = Vector2(1f, 1f)
+    }
+
+}
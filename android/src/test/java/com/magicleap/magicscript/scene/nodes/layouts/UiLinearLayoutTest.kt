@@ -28,6 +28,7 @@ import com.magicleap.magicscript.scene.nodes.props.AABB
 import com.magicleap.magicscript.scene.nodes.props.Padding
 import com.magicleap.magicscript.shouldEqualInexact
 import com.nhaarman.mockitokotlin2.*
+import org.amshove.kluent.shouldBe
 import org.amshove.kluent.shouldEqual
 import org.junit.Before
 import org.junit.Test
@@ -120,6 +121,34 @@ class UiLinearLayoutTest {
         verify(layoutManager).layoutChildren(any(), eq(childrenList), any())
     }
 
+    @Test
+    fun `should not lay out children again when their bounds have not been invalidated`() {
+        val node = createNode(JavaOnlyMap())
+        node.addContent(NodeBuilder().build())
+        TransformNode.Test(node).forceUpdate(0.1f)
+        clearInvocations(layoutManager)
+
+        TransformNode.Test(node).forceUpdate(0.1f)
+
+        verify(layoutManager, never()).layoutChildren(any(), any(), any())
+    }
+
+    @Test
+    fun `should measure a child again when its bounds have been invalidated`() {
+        val node = createNode(JavaOnlyMap())
+        val child = NodeBuilder().build()
+        node.addContent(child)
+        TransformNode.Test(node).forceUpdate(0.1f)
+        clearInvocations(layoutManager)
+
+        child.localPosition = Vector3(1f, 0f, 0f)
+        child.isBoundsDirty shouldBe true
+        TransformNode.Test(node).forceUpdate(0.1f)
+
+        child.isBoundsDirty shouldBe false
+        verify(layoutManager).layoutChildren(any(), eq(listOf(child)), any())
+    }
+
     private fun createNode(props: JavaOnlyMap): UiLinearLayout {
         return UiLinearLayout(props, layoutManager).apply {
             build()
@@ -160,6 +160,20 @@ class GridLayoutManagerTest {
         layoutBounds shouldEqualInexact AABB(Vector3(0f, -2.9f, 0f), Vector3(7.5f, 0f, 0f))
     }
 
+    @Test
+    fun `should not use sizes of children from previous layout pass`() {
+        size = Vector2(WRAP_CONTENT_DIMENSION, WRAP_CONTENT_DIMENSION)
+        manager.layoutUntilStableBounds(childrenList, childrenBounds, getLayoutParams(), 10)
+
+        val remainingChild = childrenList[1]
+        childrenList = listOf(remainingChild)
+        childrenBounds.keys.retainAll(childrenList)
+        manager.layoutUntilStableBounds(childrenList, childrenBounds, getLayoutParams(), 10)
+
+        val layoutBounds = manager.getLayoutBounds(getLayoutParams())
+        layoutBounds shouldEqualInexact AABB(Vector3(0f, -1f, 0f), Vector3(1f, 0f, 0f))
+    }
+
     private fun getLayoutParams() =
         GridLayoutParams(
             columns = columns,
@@ -0,0 +1,50 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes.props
+
+import com.magicleap.magicscript.scene.nodes.GroupNode
+import com.magicleap.magicscript.scene.nodes.UiListViewNode
+import com.magicleap.magicscript.scene.nodes.UiScrollViewNode
+import com.magicleap.magicscript.scene.nodes.UiSliderNode
+import org.amshove.kluent.shouldContain
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class AlwaysAppliedPropsTest {
+
+    @Test
+    fun `should return properties declared for node type`() {
+        AlwaysAppliedProps.of(UiSliderNode::class.java) shouldEqual setOf(UiSliderNode.PROP_VALUE)
+    }
+
+    @Test
+    fun `should include properties declared for super types`() {
+        val props = AlwaysAppliedProps.of(UiListViewNode::class.java)
+
+        props shouldContain UiListViewNode.PROP_SCROLL_TO_ITEM
+        props shouldContain UiScrollViewNode.PROP_SCROLL_VALUE
+    }
+
+    @Test
+    fun `should return empty set for node type with no declared properties`() {
+        AlwaysAppliedProps.of(GroupNode::class.java) shouldEqual emptySet()
+    }
+
+}
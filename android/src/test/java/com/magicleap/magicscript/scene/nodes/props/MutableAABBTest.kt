@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes.props
+
+import com.google.ar.sceneform.math.Quaternion
+import com.google.ar.sceneform.math.Vector3
+import com.magicleap.magicscript.shouldEqualInexact
+import com.magicleap.magicscript.utils.Utils
+import com.magicleap.magicscript.utils.rotatedBy
+import org.amshove.kluent.shouldBe
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.junit.MockitoJUnitRunner
+
+@RunWith(MockitoJUnitRunner::class)
+class MutableAABBTest {
+
+    private val aabb = AABB(min = Vector3(-2f, 1f, -0.5f), max = Vector3(1f, 3f, 0.5f))
+
+    @Test
+    fun `should return correct size and center`() {
+        val tested = MutableAABB().set(aabb)
+
+        Vector3(tested.sizeX(), tested.sizeY(), tested.sizeZ()) shouldEqualInexact aabb.size()
+        Vector3(tested.centerX(), tested.centerY(), tested.centerZ()) shouldEqualInexact
+                aabb.center()
+    }
+
+    @Test
+    fun `should translate and scale in place`() {
+        val tested = MutableAABB().set(aabb)
+
+        tested.translate(1f, 1f, 1f).scale(0.5f, 2f, 1f)
+
+        val expected = aabb.translated(Vector3(1f, 1f, 1f)).scaled(0.5f, 2f, 1f)
+        tested.toAABB() shouldEqualInexact expected
+    }
+
+    @Test
+    fun `should rotate edges the same as rotating vectors`() {
+        val rotation = Quaternion.axisAngle(Vector3(0f, 0f, 1f), 30f)
+        val tested = MutableAABB().set(aabb)
+
+        tested.rotateEdges(rotation)
+
+        val expected = Utils.findMinimumBounding(
+            listOf(aabb.min.rotatedBy(rotation), aabb.max.rotatedBy(rotation))
+        )
+        tested.toAABB() shouldEqualInexact expected
+    }
+
+    @Test
+    fun `should intersect the same as immutable box`() {
+        val other = AABB(min = Vector3(0f, 0f, 0f), max = Vector3(4f, 2f, 1f))
+        val tested = MutableAABB().set(aabb)
+
+        tested.intersects(other) shouldBe true
+        tested.intersect(other)
+
+        tested.toAABB() shouldEqualInexact aabb.intersection(other)
+    }
+
+    @Test
+    fun `should not intersect with distant box`() {
+        val other = AABB(min = Vector3(5f, 5f, 5f), max = Vector3(6f, 6f, 6f))
+        val tested = MutableAABB().set(aabb)
+
+        tested.intersects(other) shouldBe false
+        tested.intersect(other).isZero() shouldBe true
+    }
+
+    @Test
+    fun `should compare with accuracy of epsilon`() {
+        val tested = MutableAABB().set(aabb)
+        val close = AABB(min = Vector3(-2.000007f, 1f, -0.5f), max = Vector3(1f, 3f, 0.5f))
+        val distant = AABB(min = Vector3(-2.07f, 1f, -0.5f), max = Vector3(1f, 3f, 0.5f))
+
+        tested.equalInexact(close) shouldBe true
+        tested.equalInexact(distant) shouldBe false
+        tested.equalInexact(MutableAABB().set(close)) shouldBe true
+    }
+
+    @Test
+    fun `should write 2d bounding`() {
+        val tested = MutableAABB().set(aabb)
+
+        tested.toBounding2d(Bounding()) shouldEqualInexact aabb.toBounding2d()
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.scene.nodes.props
+
+import com.facebook.react.bridge.Arguments
+import com.magicleap.magicscript.color
+import com.magicleap.magicscript.localPosition
+import com.magicleap.magicscript.reactMapOf
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.text
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldEqual
+import org.amshove.kluent.shouldNotBe
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class PropsDiffTest {
+
+    @Test
+    fun `should consider numbers equal with epsilon accuracy`() {
+        PropsDiff.valuesEqual(1.0, 1.000001) shouldBe true
+        PropsDiff.valuesEqual(1.0, 1.001) shouldBe false
+    }
+
+    @Test
+    fun `should compare arrays and maps by values`() {
+        val current = Arguments.toBundle(reactMapOf().color(1.0, 0.5, 0.0, 1.0))!!
+        val same = Arguments.toBundle(reactMapOf().color(1.0, 0.5, 0.0, 1.0))!!
+        val other = Arguments.toBundle(reactMapOf().color(1.0, 0.4, 0.0, 1.0))!!
+
+        PropsDiff.valuesEqual(current.get("color"), same.get("color")) shouldBe true
+        PropsDiff.valuesEqual(current.get("color"), other.get("color")) shouldBe false
+        PropsDiff.valuesEqual(current, same) shouldBe true
+    }
+
+    @Test
+    fun `should remove unchanged properties`() {
+        val current = Arguments.toBundle(reactMapOf().text("abc").localPosition(1.0, 2.0, 3.0))!!
+        val update = NodeProps.decode(reactMapOf().text("abc").localPosition(1.0, 2.0, 4.0))
+
+        val result = PropsDiff.removeUnchanged(current, update, emptySet())
+
+        result shouldNotBe null
+        result!!.bundle.keySet() shouldEqual setOf(TransformNode.PROP_LOCAL_POSITION)
+        result.transform.position shouldEqual Float3(1f, 2f, 4f)
+    }
+
+    @Test
+    fun `should remove unchanged transform values`() {
+        val current = Arguments.toBundle(reactMapOf().text("abc").localPosition(1.0, 2.0, 3.0))!!
+        val update = NodeProps.decode(reactMapOf().text("abcd").localPosition(1.0, 2.0, 3.0))
+
+        val result = PropsDiff.removeUnchanged(current, update, emptySet())
+
+        result!!.bundle.keySet() shouldEqual setOf("text")
+        result.transform.position shouldBe null
+    }
+
+    @Test
+    fun `should return null when nothing has changed`() {
+        val current = Arguments.toBundle(reactMapOf().text("abc"))!!
+        val update = NodeProps.decode(reactMapOf().text("abc"))
+
+        PropsDiff.removeUnchanged(current, update, emptySet()) shouldBe null
+    }
+
+    @Test
+    fun `should not remove always applied properties`() {
+        val current = Arguments.toBundle(reactMapOf().text("abc"))!!
+        val update = NodeProps.decode(reactMapOf().text("abc"))
+
+        val result = PropsDiff.removeUnchanged(current, update, setOf("text"))
+
+        result shouldNotBe null
+        result!!.bundle.keySet() shouldEqual setOf("text")
+    }
+
+}
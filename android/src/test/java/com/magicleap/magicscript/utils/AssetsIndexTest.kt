@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.magicleap.magicscript.utils
+
+import android.content.res.AssetManager
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.doThrow
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+import java.io.IOException
+
+class AssetsIndexTest {
+
+    @Test
+    fun `should return true when file exists in directory`() {
+        val assets = mock<AssetManager> {
+            on { list("icons") } doReturn arrayOf("Add.png", "Close.png")
+        }
+        val index = AssetsIndex(assets)
+
+        index.contains("icons", "Close.png") shouldBe true
+        index.contains("icons", "Edit.png") shouldBe false
+    }
+
+    @Test
+    fun `should list directory only once`() {
+        val assets = mock<AssetManager> {
+            on { list("fonts") } doReturn arrayOf("Lomino-Regular.otf")
+        }
+        val index = AssetsIndex(assets)
+
+        index.contains("fonts", "Lomino-Regular.otf")
+        index.contains("fonts", "Lomino-Bold.otf")
+        index.list("fonts")
+
+        verify(assets, times(1)).list("fonts")
+    }
+
+    @Test
+    fun `should return empty set when directory cannot be listed`() {
+        val assets = mock<AssetManager> {
+            on { list("fonts") } doThrow IOException()
+        }
+        val index = AssetsIndex(assets)
+
+        index.list("fonts") shouldEqual emptySet()
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.magicleap.magicscript.utils
+
+import com.magicleap.magicscript.shouldEqualInexact
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.junit.MockitoJUnitRunner
+
+@RunWith(MockitoJUnitRunner::class)
+class FenwickTreeTest {
+
+    @Test
+    fun `should calculate prefix sums of added values`() {
+        val tree = FenwickTree(initialCapacity = 2)
+        val values = List(100) { it * 0.5f }
+
+        values.forEach { tree.add(it) }
+
+        tree.size shouldEqual 100
+        for (count in 0..values.size) {
+            tree.prefixSum(count) shouldEqualInexact values.take(count).sum()
+        }
+        tree.total shouldEqualInexact values.sum()
+    }
+
+    @Test
+    fun `should update prefix sums when value changed`() {
+        val tree = FenwickTree()
+        repeat(10) { tree.add(1f) }
+
+        tree[3] = 2.5f
+
+        tree[3] shouldEqualInexact 2.5f
+        tree.prefixSum(3) shouldEqualInexact 3f
+        tree.prefixSum(4) shouldEqualInexact 5.5f
+        tree.total shouldEqualInexact 11.5f
+    }
+
+    @Test
+    fun `should update prefix sums when value removed`() {
+        val tree = FenwickTree()
+        listOf(1f, 2f, 3f, 4f, 5f).forEach { tree.add(it) }
+
+        tree.removeAt(1)
+
+        tree.size shouldEqual 4
+        tree[1] shouldEqualInexact 3f
+        tree.prefixSum(2) shouldEqualInexact 4f
+        tree.total shouldEqualInexact 13f
+    }
+
+    @Test
+    fun `should start from zero after clear`() {
+        val tree = FenwickTree()
+        listOf(1f, 2f, 3f).forEach { tree.add(it) }
+
+        tree.clear()
+        tree.add(4f)
+        tree.add(5f)
+
+        tree.prefixSum(1) shouldEqualInexact 4f
+        tree.total shouldEqualInexact 9f
+    }
+
+    @Test(expected = IndexOutOfBoundsException::class)
+    fun `should throw exception when index out of bounds`() {
+        val tree = FenwickTree()
+        tree.add(1f)
+
+        tree[1] = 2f
+    }
+
+}
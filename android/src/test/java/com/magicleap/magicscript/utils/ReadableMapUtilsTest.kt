@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.utils
+
+import com.facebook.react.bridge.Arguments
+import com.magicleap.magicscript.localPosition
+import com.magicleap.magicscript.localRotation
+import com.magicleap.magicscript.reactArrayOf
+import com.magicleap.magicscript.reactMapOf
+import com.magicleap.magicscript.scene.nodes.base.TransformNode
+import com.magicleap.magicscript.scene.nodes.props.Float3
+import com.magicleap.magicscript.scene.nodes.props.TransformProps
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldEqual
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class ReadableMapUtilsTest {
+
+    @Test
+    fun `should read float array`() {
+        val props = reactMapOf().localPosition(1.0, 2.5, -3.0)
+
+        val array = props.readFloatArray(TransformNode.PROP_LOCAL_POSITION, 3)
+
+        array?.toList() shouldEqual listOf(1f, 2.5f, -3f)
+    }
+
+    @Test
+    fun `should return null for array of wrong size`() {
+        val props = reactMapOf("vector", reactArrayOf(1.0, 2.0))
+
+        props.readFloatArray("vector", 3) shouldBe null
+    }
+
+    @Test
+    fun `should return null for non number elements`() {
+        val props = reactMapOf("vector", reactArrayOf(1.0, "2", 3.0))
+
+        props.readFloatArray("vector", 3) shouldBe null
+    }
+
+    @Test
+    fun `should read the same matrix data as from bundle`() {
+        val matrixData = Array<Any>(16) { (it + 1) * 0.5 }
+        val props = reactMapOf("matrix", reactArrayOf(*matrixData))
+        val bundle = Arguments.toBundle(props)!!
+
+        val data = props.readFloatArray("matrix", 16)!!
+
+        data.toList() shouldEqual readMatrix(bundle, "matrix")!!.data.toList()
+    }
+
+    @Test
+    fun `should decode the same transform props as from bundle`() {
+        val props = reactMapOf()
+            .localPosition(1.0, 2.0, 3.0)
+            .localRotation(0.0, 0.7071, 0.0, 0.7071)
+        val bundle = Arguments.toBundle(props)!!
+
+        val decoded = TransformProps.fromMap(props)
+
+        decoded shouldEqual TransformProps.fromBundle(bundle)
+        decoded.position shouldEqual Float3(1f, 2f, 3f)
+    }
+
+    @Test
+    fun `should return empty transform props when map has no transform`() {
+        val props = reactMapOf("text", "abc")
+
+        TransformProps.fromMap(props) shouldBe TransformProps.EMPTY
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ *  Copyright (c) 2020 Magic Leap, Inc. All Rights Reserved
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.magicleap.magicscript.utils
+
+import android.content.Context
+import android.net.Uri
+import androidx.test.core.app.ApplicationProvider
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldBeLessOrEqualTo
+import org.amshove.kluent.shouldEqual
+import org.amshove.kluent.shouldNotBe
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.io.File
+import java.net.InetSocketAddress
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Tests the cache against a local HTTP server
+ */
+@RunWith(RobolectricTestRunner::class)
+class UriFileCacheTest {
+
+    companion object {
+        private const val ETAG = "\"v1\""
+        private const val TIMEOUT_SECONDS = 5L
+    }
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    private lateinit var server: HttpServer
+    private lateinit var cacheDirectory: File
+
+    // number of responses with a body
+    private val downloads = AtomicInteger()
+    private val notModifiedResponses = AtomicInteger()
+
+    // responds with an error when true
+    @Volatile
+    private var serverFailing = false
+
+    // holds the responses until counted down
+    private var responseLatch = CountDownLatch(0)
+
+    @Before
+    fun setUp() {
+        cacheDirectory = temporaryFolder.newFolder()
+        server = HttpServer.create(InetSocketAddress("127.0.0.1", 0), 0)
+        server.createContext("/") { exchange -> respond(exchange) }
+        server.start()
+    }
+
+    @After
+    fun tearDown() {
+        server.stop(0)
+    }
+
+    @Test
+    fun `should download file`() {
+        val cache = UriFileCache(context, cacheDirectory)
+
+        val file = getFile(cache, fileUri("audio.mp3"))
+
+        file.readText() shouldEqual "/audio.mp3"
+        file.parentFile shouldEqual cacheDirectory
+        file.name.endsWith(".mp3") shouldBe true
+        downloads.get() shouldEqual 1
+    }
+
+    @Test
+    fun `should revalidate cached file instead of downloading it again`() {
+        val cache = UriFileCache(context, cacheDirectory)
+        val uri = fileUri("audio.mp3")
+
+        val first = getFile(cache, uri)
+        val second = getFile(cache, uri)
+
+        second shouldEqual first
+        second.readText() shouldEqual "/audio.mp3"
+        downloads.get() shouldEqual 1
+        notModifiedResponses.get() shouldEqual 1
+        cache.getMetrics().revalidations shouldEqual 1L
+    }
+
+    @Test
+    fun `should not mix files with the same name from different locations`() {
+        val cache = UriFileCache(context, cacheDirectory)
+
+        val first = getFile(cache, fileUri("first/audio.mp3"))
+        val second = getFile(cache, fileUri("second/audio.mp3"))
+
+        first shouldNotBe second
+        first.readText() shouldEqual "/first/audio.mp3"
+        second.readText() shouldEqual "/second/audio.mp3"
+    }
+
+    @Test
+    fun `should download file only once for concurrent requests`() {
+        val cache = UriFileCache(context, cacheDirectory)
+        val uri = fileUri("audio.mp3")
+        responseLatch = CountDownLatch(1)
+        val resultLatch = CountDownLatch(3)
+        val files = mutableListOf<File>()
+
+        repeat(3) {
+            cache.getFile(uri) { file ->
+                synchronized(files) {
+                    files.add(file)
+                }
+                resultLatch.countDown()
+            }
+        }
+        responseLatch.countDown()
+
+        resultLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS) shouldBe true
+        files.distinct().size shouldEqual 1
+        downloads.get() shouldEqual 1
+        cache.getMetrics().deduplicated shouldEqual 2L
+    }
+
+    @Test
+    fun `should use cached file when revalidation fails`() {
+        val cache = UriFileCache(context, cacheDirectory)
+        val uri = fileUri("audio.mp3")
+        val first = getFile(cache, uri)
+
+        serverFailing = true
+        val second = getFile(cache, uri)
+
+        second shouldEqual first
+        second.readText() shouldEqual "/audio.mp3"
+    }
+
+    @Test
+    fun `should evict least recently used files when over size`() {
+        // each downloaded file has 10 or 11 bytes (its path)
+        val cache = UriFileCache(context, cacheDirectory, maxBytes = 25)
+
+        val first = getFile(cache, fileUri("first.mp3"))
+        val second = getFile(cache, fileUri("second.mp3"))
+        first.setLastModified(1000)
+        second.setLastModified(2000)
+        val third = getFile(cache, fileUri("third.mp3"))
+
+        first.exists() shouldBe false
+        second.exists() shouldBe true
+        third.exists() shouldBe true
+        cache.getMetrics().evictions shouldEqual 1L
+        val cachedSize = cacheDirectory.listFiles { file -> file.name.endsWith(".mp3") }!!
+            .fold(0L) { sum, file -> sum + file.length() }
+        cachedSize shouldBeLessOrEqualTo 25L
+    }
+
+    private fun fileUri(path: String): Uri {
+        return Uri.parse("http://127.0.0.1:${server.address.port}/$path")
+    }
+
+    private fun getFile(cache: UriFileCache, uri: Uri): File {
+        val latch = CountDownLatch(1)
+        var result: File? = null
+        cache.getFile(uri) { file ->
+            result = file
+            latch.countDown()
+        }
+        latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS) shouldBe true
+        return result!!
+    }
+
+    private fun respond(exchange: HttpExchange) {
+        responseLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        exchange.responseHeaders.add("ETag", ETAG)
+        if (serverFailing) {
+            exchange.sendResponseHeaders(500, -1)
+        } else if (exchange.requestHeaders.getFirst("If-None-Match") == ETAG) {
+            notModifiedResponses.incrementAndGet()
+            exchange.sendResponseHeaders(304, -1)
+        } else {
+            // the file content is its path, so it's different for each file
+            val body = exchange.requestURI.path.toByteArray()
+            downloads.incrementAndGet()
+            exchange.sendResponseHeaders(200, body.size.toLong())
+            exchange.responseBody.use { it.write(body) }
+        }
+        exchange.close()
+    }
+
+}